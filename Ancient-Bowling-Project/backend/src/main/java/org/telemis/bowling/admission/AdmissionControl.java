@@ -0,0 +1,209 @@
+package org.telemis.bowling.admission;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.service.GameService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Sheds requests before they reach the games, so that a misbehaving client or lane cannot slow down the others.
+ * <p>
+ * A request is checked against a token bucket of its client, then of its game, see {@link RateLimiter},
+ * then against the number of requests being served. A request shed by a later check gives back the tokens
+ * it took, so that it does not count against its client or game. Each check is a compare-and-set on a single
+ * counter, so admission takes no lock and a shed request never waits: rather than queueing, it is answered
+ * with a delay after which the client may retry. Limits can be changed while requests are served, see
+ * {@link #setLimits(AdmissionLimits)}.
+ * </p>
+ * <p>
+ * Only games that exist have a bucket: requests on unknown IDs are answered by the controllers
+ * without filling the limiter with buckets of games that will never be played.
+ * </p>
+ * <p>
+ * Enabled by setting {@code bowling.admission.enabled} to {@code true}. Clients are told apart by their
+ * address, so every client behind the same proxy or NAT shares one bucket, unless
+ * {@code bowling.admission.client-header} names a header identifying them, see {@link AdmissionInterceptor}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.admission", name = "enabled", havingValue = "true")
+public class AdmissionControl {
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private final LongSupplier nanoClock;
+    private final Predicate<String> gameExists;
+    private final RateLimiter perClient;
+    private final RateLimiter perGame;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int maxConcurrent;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedPerClient = new LongAdder();
+    private final LongAdder rejectedPerGame = new LongAdder();
+    private final LongAdder rejectedOverloaded = new LongAdder();
+
+    @Autowired
+    public AdmissionControl(GameService gameService,
+                            @Value("${bowling.admission.max-concurrent:256}") int maxConcurrent,
+                            @Value("${bowling.admission.per-game.rate:50}") double perGameRate,
+                            @Value("${bowling.admission.per-game.burst:100}") int perGameBurst,
+                            @Value("${bowling.admission.per-client.rate:200}") double perClientRate,
+                            @Value("${bowling.admission.per-client.burst:400}") int perClientBurst) {
+        this(new AdmissionLimits(maxConcurrent, new RateLimit(perGameRate, perGameBurst),
+                new RateLimit(perClientRate, perClientBurst)), gameService::hasGame, System::nanoTime);
+    }
+
+    AdmissionControl(AdmissionLimits limits, Predicate<String> gameExists, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.gameExists = gameExists;
+        this.perClient = new RateLimiter(limits.perClient());
+        this.perGame = new RateLimiter(limits.perGame());
+        this.maxConcurrent = limits.maxConcurrent();
+    }
+
+    /**
+     * Admits a request, which must then be {@link #release() released} once served.
+     *
+     * @param client the address or identifier of the client
+     * @param gameId the ID of the game of the request, null if it concerns no single game; not limited if unknown
+     * @throws AdmissionRejectedException if a limit is reached
+     */
+    public void admit(String client, String gameId) {
+        long now = nanoClock.getAsLong();
+        long wait = perClient.tryAcquire(client, now);
+        if (wait > 0) {
+            rejectedPerClient.increment();
+            throw new AdmissionRejectedException(Reason.CLIENT_RATE, toRetryAfterSeconds(wait));
+        }
+        boolean gameLimited = gameId != null && gameExists.test(gameId);
+        if (gameLimited) {
+            wait = perGame.tryAcquire(gameId, now);
+            if (wait > 0) {
+                perClient.refund(client);
+                rejectedPerGame.increment();
+                throw new AdmissionRejectedException(Reason.GAME_RATE, toRetryAfterSeconds(wait));
+            }
+        }
+        while (true) {
+            int current = inFlight.get();
+            int max = maxConcurrent;
+            if (max > 0 && current >= max) {
+                perClient.refund(client);
+                if (gameLimited) {
+                    perGame.refund(gameId);
+                }
+                rejectedOverloaded.increment();
+                throw new AdmissionRejectedException(Reason.OVERLOADED, 1);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Admits a throw received from a lane sensor, only limited by the rate of its game: the throw is applied
+     * at once on the thread that received it, so it is neither released nor counted as a request being served.
+     *
+     * @param gameId the ID of the game of the throw; not limited if unknown
+     * @return 0 if admitted, otherwise the delay in nanoseconds before the game has a token again
+     */
+    public long tryAdmitGame(String gameId) {
+        if (gameExists.test(gameId)) {
+            long wait = perGame.tryAcquire(gameId, nanoClock.getAsLong());
+            if (wait > 0) {
+                rejectedPerGame.increment();
+                return wait;
+            }
+        }
+        admitted.increment();
+        return 0;
+    }
+
+    /**
+     * Ends a request admitted by {@link #admit(String, String)}.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public AdmissionLimits getLimits() {
+        return new AdmissionLimits(maxConcurrent, perGame.getLimit(), perClient.getLimit());
+    }
+
+    /**
+     * Replaces the limits. Buckets keep their state, so clients that were throttled stay so for their
+     * current delay, and requests already admitted are served even if the concurrency limit was lowered.
+     */
+    public void setLimits(AdmissionLimits limits) {
+        perClient.setLimit(limits.perClient());
+        perGame.setLimit(limits.perGame());
+        maxConcurrent = limits.maxConcurrent();
+        log.info("Admission limits changed to {}", limits);
+    }
+
+    /**
+     * Drops the state of the clients and games that have been quiet long enough for their buckets to refill.
+     */
+    @Scheduled(fixedDelayString = "${bowling.admission.sweep-interval:PT1M}",
+               initialDelayString = "${bowling.admission.sweep-interval:PT1M}")
+    public void sweep() {
+        long now = nanoClock.getAsLong();
+        perClient.sweep(now);
+        perGame.sweep(now);
+    }
+
+    public AdmissionStatus status() {
+        return new AdmissionStatus(getLimits(), inFlight.get(), admitted.sum(), rejectedPerClient.sum(),
+                rejectedPerGame.sum(), rejectedOverloaded.sum(), perClient.size(), perGame.size());
+    }
+
+    private static long toRetryAfterSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Why a request was shed.
+     */
+    public enum Reason {
+        CLIENT_RATE("Too many requests from this client"),
+        GAME_RATE("Too many requests on this game"),
+        OVERLOADED("Server is overloaded");
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+
+        public String message() {
+            return message;
+        }
+    }
+
+    /**
+     * Admission state since startup.
+     *
+     * @param limits             the current limits
+     * @param inFlight           the number of requests being served
+     * @param admitted           the number of requests admitted
+     * @param rejectedPerClient  the number of requests shed by the rate limit of their client
+     * @param rejectedPerGame    the number of requests shed by the rate limit of their game
+     * @param rejectedOverloaded the number of requests shed by the concurrency limit
+     * @param trackedClients     the number of clients whose bucket is not full
+     * @param trackedGames       the number of games whose bucket is not full
+     */
+    public record AdmissionStatus(AdmissionLimits limits, int inFlight, long admitted, long rejectedPerClient,
+                                  long rejectedPerGame, long rejectedOverloaded, int trackedClients,
+                                  int trackedGames) {}
+}
@@ -0,0 +1,53 @@
+package org.telemis.bowling.admission;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admission")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "bowling.admission", name = "enabled", havingValue = "true")
+@Tag(name = "Admission", description = "Rate and concurrency limits shedding requests before they reach the games")
+public class AdmissionController {
+    private final AdmissionControl admissionControl;
+
+    public AdmissionController(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Operation(summary = "Get admission state", description = "Retrieves the limits and the number of requests admitted and shed")
+    @GetMapping
+    public AdmissionControl.AdmissionStatus getStatus() {
+        return admissionControl.status();
+    }
+
+    @Operation(summary = "Change admission limits",
+               description = "Replaces the given limits at once, the others are kept; a rate of 0 or a maximum of 0 removes the limit")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Limits changed, returns the new limits"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    @PutMapping("/limits")
+    public AdmissionLimits setLimits(
+            @Parameter(description = "Requests served at once") @RequestParam(required = false) Integer maxConcurrent,
+            @Parameter(description = "Requests per second on a game") @RequestParam(required = false) Double perGameRate,
+            @Parameter(description = "Burst of requests on a game") @RequestParam(required = false) Integer perGameBurst,
+            @Parameter(description = "Requests per second from a client") @RequestParam(required = false) Double perClientRate,
+            @Parameter(description = "Burst of requests from a client") @RequestParam(required = false) Integer perClientBurst) {
+        AdmissionLimits current = admissionControl.getLimits();
+        AdmissionLimits limits = new AdmissionLimits(
+                maxConcurrent != null ? maxConcurrent : current.maxConcurrent(),
+                new RateLimit(perGameRate != null ? perGameRate : current.perGame().perSecond(),
+                        perGameBurst != null ? perGameBurst : current.perGame().burst()),
+                new RateLimit(perClientRate != null ? perClientRate : current.perClient().perSecond(),
+                        perClientBurst != null ? perClientBurst : current.perClient().burst()));
+        admissionControl.setLimits(limits);
+        return limits;
+    }
+}
@@ -0,0 +1,57 @@
+package org.telemis.bowling.admission;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.telemis.bowling.util.Clients;
+
+import java.util.Map;
+
+/**
+ * Admits the API requests through {@link AdmissionControl}, before any controller or game is reached.
+ * <p>
+ * A client is identified by the header named at construction if the request has it, and by its address
+ * otherwise, see {@link Clients}.
+ * </p>
+ * <p>
+ * Asynchronous requests, such as throws applied through the pipeline, are dispatched a second time once
+ * their result is ready: they are only admitted on the first dispatch and released after the last one.
+ * </p>
+ */
+class AdmissionInterceptor implements HandlerInterceptor {
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".admitted";
+
+    private final AdmissionControl admissionControl;
+    private final String clientHeader;
+
+    /**
+     * @param clientHeader the header identifying the client, null or empty to use the client address
+     */
+    AdmissionInterceptor(AdmissionControl admissionControl, String clientHeader) {
+        this.admissionControl = admissionControl;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String gameId = variables != null ? variables.get("gameId") : null;
+        admissionControl.admit(Clients.of(request, clientHeader), gameId); // Rejections are answered by GlobalExceptionHandler
+        request.setAttribute(ADMITTED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) != null && !request.isAsyncStarted()) {
+            request.removeAttribute(ADMITTED);
+            admissionControl.release();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.telemis.bowling.admission;
+
+/**
+ * Limits applied by {@link AdmissionControl}.
+ *
+ * @param maxConcurrent the number of requests served at once, 0 for no limit
+ * @param perGame       the rate of requests on a single game
+ * @param perClient     the rate of requests from a single client address
+ */
+public record AdmissionLimits(int maxConcurrent, RateLimit perGame, RateLimit perClient) {
+
+    public AdmissionLimits {
+        if (maxConcurrent < 0) {
+            throw new IllegalArgumentException("Maximum concurrent requests must be positive, or 0");
+        }
+        if (perGame == null || perClient == null) {
+            throw new IllegalArgumentException("Rate limits per game and per client are required");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.telemis.bowling.admission;
+
+/**
+ * Thrown when a request is shed by {@link AdmissionControl} before reaching the games.
+ * The client should retry after the given delay.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+    private final AdmissionControl.Reason reason;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(AdmissionControl.Reason reason, long retryAfterSeconds) {
+        super(reason.message());
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public AdmissionControl.Reason getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
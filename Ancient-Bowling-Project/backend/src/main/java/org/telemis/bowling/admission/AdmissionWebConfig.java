@@ -0,0 +1,44 @@
+package org.telemis.bowling.admission;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Sheds the API requests beyond the limits of {@link AdmissionControl}, see {@link AdmissionInterceptor}.
+ * The admission, cluster, replication, traffic and memory endpoints are not limited, so that operators
+ * and other nodes are still served while clients are shed. The reactive stack has the same admission,
+ * see {@code AdmissionWebFilter}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionWebConfig implements WebMvcConfigurer {
+    /**
+     * Paths below {@code /api} that are not limited.
+     */
+    public static final List<String> UNLIMITED_PATHS = List.of("/api/admission/**", "/api/cluster/**",
+            "/api/replication/**", "/api/traffic/**", "/api/memory/**");
+
+    private final AdmissionControl admissionControl;
+    private final String clientHeader;
+
+    public AdmissionWebConfig(ObjectProvider<AdmissionControl> admissionControl,
+                              @Value("${bowling.admission.client-header:}") String clientHeader) {
+        this.admissionControl = admissionControl.getIfAvailable();
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (admissionControl != null) {
+            registry.addInterceptor(new AdmissionInterceptor(admissionControl, clientHeader))
+                    .addPathPatterns("/api/**")
+                    .excludePathPatterns(UNLIMITED_PATHS.toArray(String[]::new));
+        }
+    }
+}
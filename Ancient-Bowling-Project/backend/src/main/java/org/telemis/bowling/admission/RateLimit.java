@@ -0,0 +1,28 @@
+package org.telemis.bowling.admission;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Rate allowed by a token bucket.
+ *
+ * @param perSecond the sustained number of requests per second, 0 for no limit
+ * @param burst     the number of requests allowed at once after a quiet period, at least 1
+ */
+public record RateLimit(double perSecond, int burst) {
+    public static final double MIN_PER_SECOND = 0.001;
+    public static final RateLimit UNLIMITED = new RateLimit(0, 1);
+
+    public RateLimit {
+        if (!(perSecond == 0 || perSecond >= MIN_PER_SECOND) || Double.isInfinite(perSecond)) {
+            throw new IllegalArgumentException("Rate must be at least " + MIN_PER_SECOND + " requests per second, or 0");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+    }
+
+    @JsonIgnore
+    public boolean isUnlimited() {
+        return perSecond == 0;
+    }
+}
@@ -0,0 +1,109 @@
+package org.telemis.bowling.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key, evaluated with the generic cell rate algorithm (GCRA).
+ * <p>
+ * Rather than a token count and a refill time, a bucket is a single theoretical arrival time: the time at which
+ * it would be full again if no more requests came. A request pushes it one emission interval further, and is
+ * admitted unless that moves it more than a burst of intervals ahead of now. The time is an {@link AtomicLong}
+ * updated by compare-and-set, so admitting a request takes no lock, and looking up an existing bucket
+ * in the {@link ConcurrentHashMap} takes none either.
+ * </p>
+ * <p>
+ * A bucket whose arrival time has passed is full, the same as a missing one, so {@link #sweep()} drops them.
+ * A request racing with the sweep may be counted in a dropped bucket, which at worst admits it for free.
+ * Beyond {@value #MAX_KEYS} keys, new keys are admitted without being tracked rather than growing the map.
+ * </p>
+ */
+final class RateLimiter {
+    static final int MAX_KEYS = 1 << 20;
+    private static final long MAX_TOLERANCE = Long.MAX_VALUE / 4; // Keeps the arrival times far from overflowing
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private volatile Rate rate;
+
+    RateLimiter(RateLimit limit) {
+        setLimit(limit);
+    }
+
+    void setLimit(RateLimit limit) {
+        long interval = limit.isUnlimited() ? 0 : Math.max(1, Math.round(1e9 / limit.perSecond()));
+        long tolerance = interval > MAX_TOLERANCE / limit.burst() ? MAX_TOLERANCE : interval * limit.burst();
+        this.rate = new Rate(limit, interval, tolerance);
+    }
+
+    RateLimit getLimit() {
+        return rate.limit();
+    }
+
+    /**
+     * Takes a token from the bucket of a key.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 if the request is admitted, otherwise the nanoseconds to wait before a token is available
+     */
+    long tryAcquire(String key, long now) {
+        Rate current = rate;
+        if (current.interval() == 0) {
+            return 0;
+        }
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= MAX_KEYS) {
+                return 0;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival == Long.MIN_VALUE || arrival - now < 0 ? now : arrival) + current.interval();
+            long excess = next - now - current.tolerance();
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire(String, long)}, for a request shed by a later check.
+     */
+    void refund(String key) {
+        long interval = rate.interval();
+        AtomicLong bucket = buckets.get(key);
+        if (interval == 0 || bucket == null) {
+            return; // Not limited, not tracked, or swept: the bucket is already full
+        }
+        while (true) {
+            long arrival = bucket.get();
+            if (arrival == Long.MIN_VALUE || bucket.compareAndSet(arrival, arrival - interval)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again.
+     */
+    void sweep(long now) {
+        buckets.values().removeIf(bucket -> {
+            long arrival = bucket.get();
+            return arrival == Long.MIN_VALUE || arrival - now <= 0;
+        });
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * @param interval  the nanoseconds between two requests at the sustained rate, 0 for no limit
+     * @param tolerance the nanoseconds a bucket can run ahead of now, one interval per request of the burst
+     */
+    private record Rate(RateLimit limit, long interval, long tolerance) {}
+}
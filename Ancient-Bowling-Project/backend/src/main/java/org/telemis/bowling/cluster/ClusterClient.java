@@ -0,0 +1,28 @@
+package org.telemis.bowling.cluster;
+
+import org.telemis.bowling.model.GameEvent;
+
+import java.util.List;
+
+/**
+ * Calls made by a node to the other nodes of the cluster.
+ */
+public interface ClusterClient {
+
+    /**
+     * Sends the members of the cluster to a node, which adopts them as its own view.
+     *
+     * @param node    the URL of the node
+     * @param members the URLs of all the members
+     */
+    void sendMembers(String node, List<String> members);
+
+    /**
+     * Moves a game to a node, which rebuilds it from its events.
+     *
+     * @param node   the URL of the node
+     * @param gameId the ID of the game
+     * @param events the events of the game, from its creation
+     */
+    void sendGame(String node, String gameId, List<GameEvent> events);
+}
@@ -0,0 +1,94 @@
+package org.telemis.bowling.cluster;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.telemis.bowling.model.GameEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Membership of the cluster and the internal endpoints the nodes call on each other.
+ * Served by both the MVC and the reactive stack.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnProperty(prefix = "bowling.cluster", name = "enabled", havingValue = "true")
+@Tag(name = "Cluster", description = "Nodes sharing the games")
+public class ClusterController {
+    private final ClusterRouter clusterRouter;
+
+    public ClusterController(ClusterRouter clusterRouter) {
+        this.clusterRouter = clusterRouter;
+    }
+
+    @Operation(summary = "Get cluster members", description = "Retrieves this node and the members of its cluster")
+    @GetMapping
+    public ClusterView getCluster() {
+        return new ClusterView(clusterRouter.self(), clusterRouter.members());
+    }
+
+    @Operation(summary = "Get game owner", description = "Retrieves the node owning a game, existing or not")
+    @GetMapping("/owners/{gameId}")
+    public String getOwner(@Parameter(description = "ID of the game") @PathVariable String gameId) {
+        return clusterRouter.ownerOf(gameId);
+    }
+
+    @Operation(summary = "Add a node", description = "Adds a node to the cluster, which moves the games it now owns to it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Node added, games are moved in the background")
+    })
+    @PostMapping("/nodes")
+    public ResponseEntity<Void> join(@Parameter(description = "URL of the node") @RequestParam String url) {
+        clusterRouter.join(url);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Remove a node", description = "Removes a node from the cluster, which moves its games to the other nodes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Node removed, games are moved in the background"),
+        @ApiResponse(responseCode = "400", description = "Last node of the cluster")
+    })
+    @DeleteMapping("/nodes")
+    public ResponseEntity<Void> leave(@Parameter(description = "URL of the node") @RequestParam String url) {
+        clusterRouter.leave(url);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Set cluster members", description = "Internal, sent by the node whose members changed")
+    @PutMapping("/members")
+    public ResponseEntity<Void> setMembers(@RequestBody List<String> members) {
+        clusterRouter.applyMembers(members);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Receive a game", description = "Internal, sent by the node moving one of its games to this node")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Game rebuilt from its events"),
+        @ApiResponse(responseCode = "400", description = "Game already on this node or invalid events")
+    })
+    @PutMapping("/games/{gameId}")
+    public ResponseEntity<Void> receiveGame(@Parameter(description = "ID of the game") @PathVariable String gameId,
+                                            @RequestBody List<TransferredEvent> events) {
+        List<GameEvent> gameEvents = new ArrayList<>(events.size());
+        for (TransferredEvent event : events) {
+            gameEvents.add(event.toEvent());
+        }
+        clusterRouter.importGame(gameId, gameEvents);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * A node and the members of its cluster.
+     *
+     * @param self    the URL of the node
+     * @param members the URLs of the members, sorted
+     */
+    public record ClusterView(String self, List<String> members) {}
+}
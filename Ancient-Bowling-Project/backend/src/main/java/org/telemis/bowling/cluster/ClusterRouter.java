@@ -0,0 +1,243 @@
+package org.telemis.bowling.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.model.GameEvent;
+import org.telemis.bowling.service.GameIdAllocator;
+import org.telemis.bowling.service.GameService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Membership of this node in a cluster of nodes sharing the games, each game living on a single node.
+ * <p>
+ * The owner of a game is given by a {@link HashRing} of the member URLs, which every node computes
+ * from the same members. Requests for a game owned by another node are redirected to it,
+ * see {@link OwnerRedirectInterceptor}. When the members change, the games this node no longer owns
+ * are moved to their new owner, with their events, and removed from this node.
+ * </p>
+ * <p>
+ * Enabled by setting {@code bowling.cluster.enabled} to {@code true}, along with the URL and ID of this node,
+ * the URLs of the initial members and the {@code bowling.ids.secret} shared by all the members.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.cluster", name = "enabled", havingValue = "true")
+public class ClusterRouter {
+    private static final Logger log = LoggerFactory.getLogger(ClusterRouter.class);
+
+    private final GameService gameService;
+    private final ClusterClient clusterClient;
+    private final GameIdAllocator gameIdAllocator;
+    private final String self;
+    private final int virtualNodes;
+    private final ExecutorService rebalancer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile HashRing ring;
+
+    @Autowired
+    public ClusterRouter(GameService gameService, ClusterClient clusterClient, GameIdAllocator gameIdAllocator,
+                         @Value("${bowling.cluster.self-url}") String self,
+                         @Value("${bowling.cluster.node-id}") int nodeId,
+                         @Value("${bowling.cluster.nodes}") String[] nodes,
+                         @Value("${bowling.cluster.virtual-nodes:" + HashRing.DEFAULT_VIRTUAL_NODES + "}") int virtualNodes) {
+        if (gameIdAllocator.node() != nodeId) {
+            throw new IllegalArgumentException("Game IDs must be allocated for node " + nodeId
+                    + ", not " + gameIdAllocator.node());
+        }
+        if (!gameIdAllocator.hasSharedSecret()) {
+            // With a random key per node, two nodes may allocate the same ID
+            throw new IllegalArgumentException("bowling.ids.secret must be set to the same value on every node of the cluster");
+        }
+        this.gameService = gameService;
+        this.clusterClient = clusterClient;
+        this.gameIdAllocator = gameIdAllocator;
+        this.self = normalize(self);
+        this.virtualNodes = virtualNodes;
+        List<String> members = new ArrayList<>();
+        for (String node : nodes) {
+            members.add(normalize(node));
+        }
+        this.ring = new HashRing(members, virtualNodes);
+    }
+
+    @PostConstruct
+    void logMembership() {
+        log.info("Node {} joined cluster of {}", self, ring.nodes());
+    }
+
+    /**
+     * Returns the URL of the node owning a game, which may be this node.
+     */
+    public String ownerOf(String gameId) {
+        return ring.ownerOf(gameId);
+    }
+
+    public boolean isLocal(String gameId) {
+        return self.equals(ring.ownerOf(gameId));
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public List<String> members() {
+        return ring.nodes();
+    }
+
+    /**
+     * Creates a game on this node, with an ID owned by this node.
+     * <p>
+     * Candidate IDs are allocated for this node, see {@link GameIdAllocator}, so that two nodes never
+     * create the same ID. Candidates owned by another node are skipped: with n nodes, n candidates
+     * are tried on average.
+     * </p>
+     *
+     * @return the ID of the game
+     * @throws IllegalStateException if this node is no longer a member of the cluster
+     */
+    public String createGame() {
+        HashRing current = ring;
+        if (!current.nodes().contains(self)) {
+            throw new IllegalStateException("Node " + self + " is not a member of the cluster");
+        }
+        while (true) {
+            String gameId = String.valueOf(gameIdAllocator.next());
+            if (self.equals(current.ownerOf(gameId))) {
+                gameService.createGame(gameId);
+                return gameId;
+            }
+        }
+    }
+
+    /**
+     * Adds a node to the cluster and sends the new members to every node.
+     */
+    public void join(String node) {
+        List<String> members = new ArrayList<>(ring.nodes());
+        members.add(normalize(node));
+        publishMembers(members);
+    }
+
+    /**
+     * Removes a node from the cluster and sends the new members to every node, the removed one included,
+     * so that it moves its games away.
+     */
+    public void leave(String node) {
+        List<String> members = new ArrayList<>(ring.nodes());
+        members.remove(normalize(node));
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("The last member cannot leave the cluster");
+        }
+        List<String> recipients = new ArrayList<>(ring.nodes());
+        applyMembers(members);
+        sendMembers(recipients, members);
+    }
+
+    private void publishMembers(List<String> members) {
+        applyMembers(members);
+        sendMembers(members, members);
+    }
+
+    private void sendMembers(List<String> recipients, List<String> members) {
+        for (String node : recipients) {
+            if (!node.equals(self)) {
+                try {
+                    clusterClient.sendMembers(node, members);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to send cluster members to {}", node, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adopts the members sent by another node and moves the games this node no longer owns, in the background.
+     */
+    public void applyMembers(List<String> members) {
+        List<String> normalized = new ArrayList<>(members.size());
+        for (String member : members) {
+            normalized.add(normalize(member));
+        }
+        HashRing updated = new HashRing(normalized, virtualNodes);
+        if (!updated.nodes().equals(ring.nodes())) {
+            ring = updated;
+            log.info("Cluster members of {} changed to {}", self, updated.nodes());
+            rebalancer.execute(this::rebalance);
+        }
+    }
+
+    /**
+     * Adds a game moved from another node.
+     */
+    public void importGame(String gameId, List<GameEvent> events) {
+        gameService.importGame(gameId, events);
+    }
+
+    /**
+     * Moves every game owned by another node to it. Also run periodically, to retry the moves that failed.
+     */
+    @Scheduled(fixedDelayString = "${bowling.cluster.rebalance-interval:PT30S}")
+    public void rebalance() {
+        int moved = 0;
+        for (String gameId : gameService.getGameIds()) {
+            String owner = ring.ownerOf(gameId);
+            if (!owner.equals(self) && move(gameId, owner)) {
+                moved++;
+            }
+        }
+        if (moved > 0) {
+            log.info("Moved {} games from {}", moved, self);
+        }
+    }
+
+    /**
+     * Sends a game to its owner then removes it, while holding its lock so that no change is lost in between.
+     */
+    private boolean move(String gameId, String owner) {
+        Game game;
+        try {
+            game = gameService.getGame(gameId);
+        } catch (IllegalArgumentException e) {
+            return false; // Deleted in the meantime
+        }
+        game.lock().lock();
+        try {
+            if (!owner.equals(ring.ownerOf(gameId)) || !gameService.hasGame(gameId)) {
+                return false; // Members changed again, left to the next rebalance, or game already moved
+            }
+            clusterClient.sendGame(owner, gameId, game.eventsSince(0));
+            gameService.deleteGame(gameId);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to move game {} to {}, will retry", gameId, owner, e);
+            return false;
+        } finally {
+            game.lock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        rebalancer.shutdownNow();
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,27 @@
+package org.telemis.bowling.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Routes the requests for a game to the node owning it, see {@link OwnerRedirectInterceptor}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "bowling.cluster", name = "enabled", havingValue = "true")
+public class ClusterWebConfig implements WebMvcConfigurer {
+    private final ClusterRouter clusterRouter;
+
+    public ClusterWebConfig(ClusterRouter clusterRouter) {
+        this.clusterRouter = clusterRouter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new OwnerRedirectInterceptor(clusterRouter))
+                .addPathPatterns("/api/games/*", "/api/games/*/**");
+    }
+}
@@ -0,0 +1,95 @@
+package org.telemis.bowling.cluster;
+
+import org.telemis.bowling.util.Hashing;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent hash ring mapping game IDs to the nodes owning them.
+ * <p>
+ * Each node is placed at many points of the ring (virtual nodes), and a game belongs to the node
+ * of the first point at or after the hash of its ID. Adding or removing a node therefore only moves
+ * the games between that node and the others, about 1/n of them, and spreads them evenly.
+ * </p>
+ * <p>
+ * The points are kept in sorted arrays, so finding the owner of a game is a binary search
+ * that allocates nothing.
+ * </p>
+ */
+public final class HashRing {
+    static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final List<String> nodes;
+    private final int virtualNodes;
+    private final long[] points;
+    private final int[] owners; // Index in nodes of the owner of each point
+
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Number of virtual nodes must be positive");
+        }
+        this.nodes = List.copyOf(new TreeSet<>(nodes));
+        this.virtualNodes = virtualNodes;
+
+        int count = this.nodes.size() * virtualNodes;
+        long[] unsorted = new long[count];
+        for (int node = 0; node < this.nodes.size(); node++) {
+            for (int i = 0; i < virtualNodes; i++) {
+                unsorted[node * virtualNodes + i] = Hashing.hash(this.nodes.get(node) + '#' + i);
+            }
+        }
+        // Sorts the points along with their owner: by point, then by node for the unlikely collisions
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> unsorted[i]).thenComparingInt(i -> i));
+        this.points = new long[count];
+        this.owners = new int[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = unsorted[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /**
+     * Returns the node owning a game.
+     *
+     * @param gameId the ID of the game
+     * @return the node, as given to the ring
+     */
+    public String ownerOf(String gameId) {
+        long hash = Hashing.hash(gameId);
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1; // Insertion point: the first point after the hash
+        }
+        return nodes.get(owners[index == points.length ? 0 : index]);
+    }
+
+    /**
+     * Returns the nodes of the ring, sorted.
+     */
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    public HashRing withNode(String node) {
+        TreeSet<String> updated = new TreeSet<>(nodes);
+        updated.add(node);
+        return new HashRing(updated, virtualNodes);
+    }
+
+    public HashRing withoutNode(String node) {
+        TreeSet<String> updated = new TreeSet<>(nodes);
+        updated.remove(node);
+        return new HashRing(updated, virtualNodes);
+    }
+}
@@ -0,0 +1,71 @@
+package org.telemis.bowling.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.model.GameEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ClusterClient} calling the internal endpoints of {@link ClusterController} over HTTP.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.cluster", name = "enabled", havingValue = "true")
+public class HttpClusterClient implements ClusterClient {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    private final ObjectMapper objectMapper;
+
+    public HttpClusterClient(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void sendMembers(String node, List<String> members) {
+        put(node + "/api/cluster/members", members);
+    }
+
+    @Override
+    public void sendGame(String node, String gameId, List<GameEvent> events) {
+        List<TransferredEvent> body = new ArrayList<>(events.size());
+        for (GameEvent event : events) {
+            body.add(TransferredEvent.of(event));
+        }
+        put(node + "/api/cluster/games/" + URLEncoder.encode(gameId, StandardCharsets.UTF_8), body);
+    }
+
+    private void put(String url, Object body) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("PUT " + url + " failed with status " + response.statusCode()
+                        + ": " + response.body());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize the body of PUT " + url, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("PUT " + url + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during PUT " + url, e);
+        }
+    }
+}
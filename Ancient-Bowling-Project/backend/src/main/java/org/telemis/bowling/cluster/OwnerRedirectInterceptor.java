@@ -0,0 +1,41 @@
+package org.telemis.bowling.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Redirects the requests for a game owned by another node to that node.
+ * <p>
+ * The redirect is a 307, so that clients resend the same method and body to the owner. Requests for
+ * a game are then served by its owner alone, without the nodes calling each other.
+ * The reactive stack has the same redirect, see {@code OwnerRedirectWebFilter}.
+ * </p>
+ */
+class OwnerRedirectInterceptor implements HandlerInterceptor {
+    private final ClusterRouter clusterRouter;
+
+    OwnerRedirectInterceptor(ClusterRouter clusterRouter) {
+        this.clusterRouter = clusterRouter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String gameId = variables != null ? variables.get("gameId") : null;
+        if (gameId == null || clusterRouter.isLocal(gameId)) {
+            return true;
+        }
+        String location = clusterRouter.ownerOf(gameId) + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, location);
+        return false;
+    }
+}
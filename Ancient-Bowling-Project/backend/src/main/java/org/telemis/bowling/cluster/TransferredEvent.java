@@ -0,0 +1,39 @@
+package org.telemis.bowling.cluster;
+
+import org.telemis.bowling.model.GameEvent;
+
+/**
+ * JSON form of a {@link GameEvent} sent to another node, with the fields of every type of event.
+ *
+ * @param type        the type of the event, the simple name of its record
+ * @param playerName  the name of the player, for added players and corrections
+ * @param frameNumber the frame of a corrected throw
+ * @param throwNumber the number of a corrected throw in its frame
+ * @param pins        the pins of a throw or correction
+ */
+public record TransferredEvent(String type, String playerName, Integer frameNumber, Integer throwNumber, Integer pins) {
+
+    public static TransferredEvent of(GameEvent event) {
+        if (event instanceof GameEvent.PlayerAdded added) {
+            return new TransferredEvent("PlayerAdded", added.playerName(), null, null, null);
+        } else if (event instanceof GameEvent.ThrowMade made) {
+            return new TransferredEvent("ThrowMade", null, null, null, made.pins());
+        } else if (event instanceof GameEvent.ThrowCorrected corrected) {
+            return new TransferredEvent("ThrowCorrected", corrected.playerName(), corrected.frameNumber(),
+                    corrected.throwNumber(), corrected.pins());
+        }
+        return new TransferredEvent(event.getClass().getSimpleName(), null, null, null, null);
+    }
+
+    public GameEvent toEvent() {
+        return switch (type) {
+            case "Created" -> new GameEvent.Created();
+            case "PlayerAdded" -> new GameEvent.PlayerAdded(playerName);
+            case "Started" -> new GameEvent.Started();
+            case "ThrowMade" -> new GameEvent.ThrowMade(pins);
+            case "ThrowCorrected" -> new GameEvent.ThrowCorrected(playerName, frameNumber, throwNumber, pins);
+            case "Reset" -> new GameEvent.Reset();
+            default -> throw new IllegalArgumentException("Unknown game event: " + type);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package org.telemis.bowling.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background tasks, such as the statistics checkpoints.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
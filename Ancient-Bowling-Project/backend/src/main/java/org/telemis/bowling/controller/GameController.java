@@ -7,21 +7,42 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.telemis.bowling.cluster.ClusterRouter;
 import org.telemis.bowling.model.Game;
+import org.telemis.bowling.service.GameIndex;
 import org.telemis.bowling.service.GameService;
+import org.telemis.bowling.service.ThrowPipeline;
+import org.telemis.bowling.service.WinProbabilityEngine;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/games")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // Replaced by ReactiveGameController
 @Tag(name = "Game", description = "The Ancient African Bowling Game API")
 public class GameController {
+    public static final String DUPLICATE_THROW_HEADER = "X-Duplicate-Throw";
+
     private final GameService gameService;
+    private final WinProbabilityEngine winProbabilityEngine;
+    private final GameIndex gameIndex;
+    private final ThrowPipeline throwPipeline;
+    private final ClusterRouter clusterRouter;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, WinProbabilityEngine winProbabilityEngine, GameIndex gameIndex,
+                          ObjectProvider<ThrowPipeline> throwPipeline, ObjectProvider<ClusterRouter> clusterRouter) {
         this.gameService = gameService;
+        this.winProbabilityEngine = winProbabilityEngine;
+        this.gameIndex = gameIndex;
+        this.throwPipeline = throwPipeline.getIfAvailable();
+        this.clusterRouter = clusterRouter.getIfAvailable();
     }
 
     @Operation(summary = "Create a new game", description = "Creates a new bowling game and returns its ID")
@@ -32,10 +53,31 @@ public class GameController {
     })
     @PostMapping
     public ResponseEntity<String> createGame() {
-        String gameId = gameService.createGame();
+        // In a cluster, the ID must be owned by this node for the game to be found again
+        String gameId = clusterRouter != null ? clusterRouter.createGame() : gameService.createGame();
         return ResponseEntity.ok(gameId);
     }
 
+    @Operation(summary = "List games",
+               description = "Retrieves a page of the games matching the filters, newest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Games listed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid state, cursor or limit")
+    })
+    @GetMapping
+    public GameIndex.GamePage listGames(
+            @Parameter(description = "State of the games: lobby, in_progress or complete") @RequestParam(required = false) String state,
+            @Parameter(description = "Name of a player of the games") @RequestParam(required = false) String player,
+            @Parameter(description = "Earliest creation time, inclusive (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdAfter,
+            @Parameter(description = "Latest creation time, exclusive (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdBefore,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of games") @RequestParam(defaultValue = "50") int limit) {
+        GameIndex.GameQuery query = new GameIndex.GameQuery(GameIndex.State.parse(state), player, createdAfter, createdBefore);
+        return gameIndex.list(query, cursor, limit);
+    }
+
     @Operation(summary = "Add a player to the game", description = "Adds a new player to an existing game")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Player added successfully"),
@@ -63,30 +105,75 @@ public class GameController {
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "Make a throw", description = "Records a throw for the current player")
+    @Operation(summary = "Make a throw",
+               description = "Records a throw for the current player. With a sequence number, a resent throw is "
+                       + "acknowledged without being recorded twice, flagged by the " + DUPLICATE_THROW_HEADER + " header")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Throw recorded successfully"),
+        @ApiResponse(responseCode = "200", description = "Throw recorded successfully, or already recorded"),
         @ApiResponse(responseCode = "404", description = "Game not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid number of pins or game not started")
+        @ApiResponse(responseCode = "400", description = "Invalid number of pins or game not started"),
+        @ApiResponse(responseCode = "409", description = "Earlier throws of the game not received yet")
     })
     @PostMapping("/{gameId}/throw")
-    public ResponseEntity<Void> makeThrow(
+    public CompletableFuture<ResponseEntity<Void>> makeThrow(
             @Parameter(description = "ID of the game") @PathVariable String gameId,
-            @Parameter(description = "Number of pins knocked down (0-15)") @RequestParam int pins) {
-        gameService.addThrow(gameId, pins);
+            @Parameter(description = "Number of pins knocked down (0-15)") @RequestParam int pins,
+            @Parameter(description = "Sequence number of the throw in the game, starting at 1")
+            @RequestParam(required = false) Long sequence) {
+        CompletableFuture<Boolean> applied;
+        if (throwPipeline != null) {
+            // Answered once applied by the pipeline, without holding the request thread
+            applied = sequence == null
+                    ? throwPipeline.submit(gameId, pins)
+                    : throwPipeline.submit(gameId, pins, sequence);
+        } else if (sequence == null) {
+            gameService.addThrow(gameId, pins);
+            applied = CompletableFuture.completedFuture(true);
+        } else {
+            applied = CompletableFuture.completedFuture(gameService.addThrow(gameId, pins, sequence));
+        }
+        return applied.thenApply(GameController::throwResponse);
+    }
+
+    private static ResponseEntity<Void> throwResponse(boolean applied) {
+        return applied
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.ok().header(DUPLICATE_THROW_HEADER, "true").build();
+    }
+
+    @Operation(summary = "Correct a throw",
+               description = "Replaces the pins of a throw already made and rescores the frames of the player from it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Throw corrected successfully"),
+        @ApiResponse(responseCode = "404", description = "Game, player or throw not found"),
+        @ApiResponse(responseCode = "400", description = "Correction making this throw or a later one illegal")
+    })
+    @PutMapping("/{gameId}/players/{playerName}/frames/{frameNumber}/throws/{throwNumber}")
+    public ResponseEntity<Void> correctThrow(
+            @Parameter(description = "ID of the game") @PathVariable String gameId,
+            @Parameter(description = "Name of the player who made the throw") @PathVariable String playerName,
+            @Parameter(description = "Number of the frame (1-5)") @PathVariable int frameNumber,
+            @Parameter(description = "Number of the throw in the frame, starting at 1") @PathVariable int throwNumber,
+            @Parameter(description = "Corrected number of pins knocked down (0-15)") @RequestParam int pins) {
+        gameService.correctThrow(gameId, playerName, frameNumber, throwNumber, pins);
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "Get game state", description = "Retrieves the current state of the game")
+    @Operation(summary = "Get game state",
+               description = "Retrieves the current state of the game, or its state at a past version for replays")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Game state retrieved successfully",
                     content = @Content(schema = @Schema(implementation = Game.class))),
-        @ApiResponse(responseCode = "404", description = "Game not found")
+        @ApiResponse(responseCode = "404", description = "Game not found"),
+        @ApiResponse(responseCode = "400", description = "Version never reached by the game")
     })
     @GetMapping("/{gameId}")
     public ResponseEntity<Game> getGame(
-            @Parameter(description = "ID of the game") @PathVariable String gameId) {
-        Game game = gameService.getGame(gameId);
+            @Parameter(description = "ID of the game") @PathVariable String gameId,
+            @Parameter(description = "Past version of the game, the current state when omitted")
+            @RequestParam(required = false) Long version) {
+        // Serialized from a copy, the live game may change while the response is written
+        Game game = version == null ? gameService.forkGame(gameId) : gameService.getGameAt(gameId, version);
         return ResponseEntity.ok(game);
     }
 
@@ -98,8 +185,35 @@ public class GameController {
     @GetMapping("/{gameId}/scoreboard")
     public List<Game.PlayerScore> getScoreboard(
             @Parameter(description = "ID of the game") @PathVariable String gameId) {
-        Game game = gameService.getGame(gameId);
-        return game.getScoreboard();
+        return gameService.forkGame(gameId).getScoreboard();
+    }
+
+    @Operation(summary = "Get throw projections",
+               description = "Retrieves the projected scoreboard for every legal next throw of the current player")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Projections computed successfully"),
+        @ApiResponse(responseCode = "404", description = "Game not found"),
+        @ApiResponse(responseCode = "400", description = "Game not started or already complete")
+    })
+    @GetMapping("/{gameId}/projections")
+    public List<Game.ThrowProjection> getProjections(
+            @Parameter(description = "ID of the game") @PathVariable String gameId) {
+        return gameService.projectNextThrows(gameId);
     }
-}
 
+    @Operation(summary = "Get win probabilities",
+               description = "Estimates the win probability of each player by simulating the rest of the game")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Win probabilities estimated successfully"),
+        @ApiResponse(responseCode = "404", description = "Game not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid number of simulations or game not started")
+    })
+    @GetMapping("/{gameId}/win-probabilities")
+    public CompletableFuture<WinProbabilityEngine.WinProbabilities> getWinProbabilities(
+            @Parameter(description = "ID of the game") @PathVariable String gameId,
+            @Parameter(description = "Number of simulated games") @RequestParam(defaultValue = "100000") int simulations,
+            @Parameter(description = "Seed of the simulations") @RequestParam(defaultValue = "0") long seed) {
+        // Answered once simulated, without holding the request thread
+        return winProbabilityEngine.estimateAsync(gameId, simulations, seed);
+    }
+}
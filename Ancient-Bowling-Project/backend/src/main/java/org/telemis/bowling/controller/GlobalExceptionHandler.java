@@ -1,9 +1,13 @@
 package org.telemis.bowling.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.telemis.bowling.admission.AdmissionRejectedException;
+import org.telemis.bowling.replication.StandbyNotPromotedException;
+import org.telemis.bowling.service.ThrowSequenceGapException;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -26,7 +30,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
         Map<String, Object> error = Map.of(
-                "error", ex.getMessage(),
+                "error", messageOf(ex),
                 "timestamp", LocalDateTime.now(),
                 "status", HttpStatus.BAD_REQUEST.value()
         );
@@ -42,17 +46,73 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<String> handleIllegalStateException(IllegalStateException ex) {
         Map<String, Object> error = Map.of(
-                "error", ex.getMessage(),
+                "error", messageOf(ex),
                 "timestamp", LocalDateTime.now(),
                 "status", HttpStatus.BAD_REQUEST.value()
         );
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    /**
+     * Handles ThrowSequenceGapException by converting it to a CONFLICT response,
+     * with the sequence number the client should resend from.
+     *
+     * @param ex The ThrowSequenceGapException that was thrown
+     * @return ResponseEntity containing the error and expected sequence number, with CONFLICT status
+     */
+    @ExceptionHandler(ThrowSequenceGapException.class)
+    public ResponseEntity<Map<String, Object>> handleThrowSequenceGapException(ThrowSequenceGapException ex) {
+        Map<String, Object> error = Map.of(
+                "error", messageOf(ex),
+                "expectedSequence", ex.getExpectedSequence(),
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.CONFLICT.value()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Handles StandbyNotPromotedException by converting it to a SERVICE_UNAVAILABLE response:
+     * the change must be sent to the primary.
+     *
+     * @param ex The StandbyNotPromotedException that was thrown
+     * @return ResponseEntity containing the error, with SERVICE_UNAVAILABLE status
+     */
+    @ExceptionHandler(StandbyNotPromotedException.class)
+    public ResponseEntity<Map<String, Object>> handleStandbyNotPromotedException(StandbyNotPromotedException ex) {
+        Map<String, Object> error = Map.of(
+                "error", messageOf(ex),
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    /**
+     * Handles AdmissionRejectedException by converting it to a TOO_MANY_REQUESTS response,
+     * with a Retry-After header giving the seconds the client should wait.
+     *
+     * @param ex The AdmissionRejectedException that was thrown
+     * @return ResponseEntity containing the error and the reason of the rejection, with TOO_MANY_REQUESTS status
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleAdmissionRejectedException(AdmissionRejectedException ex) {
+        Map<String, Object> error = Map.of(
+                "error", messageOf(ex),
+                "reason", ex.getReason(),
+                "retryAfterSeconds", ex.getRetryAfterSeconds(),
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.value()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException e) {
         Map<String, Object> error = Map.of(
-                "error", e.getMessage(),
+                "error", messageOf(e),
                 "timestamp", LocalDateTime.now(),
                 "status", HttpStatus.BAD_REQUEST.value()
         );
@@ -62,10 +122,17 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception e) {
         Map<String, Object> error = Map.of(
-                "error", "Internal server error: " + e.getMessage(),
+                "error", "Internal server error: " + messageOf(e),
                 "timestamp", LocalDateTime.now(),
                 "status", HttpStatus.INTERNAL_SERVER_ERROR.value()
         );
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the message of an exception, or its type when it has none, such as a cancellation.
+     */
+    private static String messageOf(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+}
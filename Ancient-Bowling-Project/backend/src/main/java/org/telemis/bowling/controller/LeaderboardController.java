@@ -0,0 +1,56 @@
+package org.telemis.bowling.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.*;
+import org.telemis.bowling.service.LeaderboardService;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@Tag(name = "Leaderboard", description = "Best scores across all the games of the center")
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Operation(summary = "Get top scores", description = "Retrieves the best scores of the time window, highest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Top scores retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid time window or limit")
+    })
+    @GetMapping
+    public List<LeaderboardService.LeaderboardEntry> getTopScores(
+            @Parameter(description = "Time window: tonight or week") @RequestParam(defaultValue = "tonight") String window,
+            @Parameter(description = "Maximum number of scores") @RequestParam(defaultValue = "10") int limit) {
+        return leaderboardService.top(parseWindow(window), limit);
+    }
+
+    @Operation(summary = "Get player rank", description = "Retrieves the rank of the best score of a player in the time window")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rank retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid time window or no score for the player")
+    })
+    @GetMapping("/players/{playerName}")
+    public LeaderboardService.PlayerRank getPlayerRank(
+            @Parameter(description = "Name of the player") @PathVariable String playerName,
+            @Parameter(description = "Time window: tonight or week") @RequestParam(defaultValue = "tonight") String window) {
+        return leaderboardService.rank(playerName, parseWindow(window))
+                .orElseThrow(() -> new IllegalArgumentException("No score recorded for player: " + playerName));
+    }
+
+    private static LeaderboardService.Window parseWindow(String window) {
+        try {
+            return LeaderboardService.Window.valueOf(window.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid time window: " + window);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.telemis.bowling.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.*;
+import org.telemis.bowling.service.PlayerLocator;
+import org.telemis.bowling.service.PlayerStatisticsService;
+import org.telemis.bowling.service.ThrowDistributionEstimator;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/players")
+@Tag(name = "Player", description = "Statistics of the players across games")
+public class PlayerController {
+    private final ThrowDistributionEstimator throwDistributionEstimator;
+    private final PlayerStatisticsService playerStatisticsService;
+    private final PlayerLocator playerLocator;
+
+    public PlayerController(ThrowDistributionEstimator throwDistributionEstimator,
+                            PlayerStatisticsService playerStatisticsService,
+                            PlayerLocator playerLocator) {
+        this.throwDistributionEstimator = throwDistributionEstimator;
+        this.playerStatisticsService = playerStatisticsService;
+        this.playerLocator = playerLocator;
+    }
+
+    @Operation(summary = "Search players",
+               description = "Retrieves the active games of the players whose name starts with the prefix, for autocompletion")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Players found successfully"),
+        @ApiResponse(responseCode = "400", description = "Empty prefix or invalid limit")
+    })
+    @GetMapping("/search")
+    public List<PlayerLocator.PlayerLocation> searchPlayers(
+            @Parameter(description = "Start of the player name") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "10") int limit) {
+        return playerLocator.search(prefix, limit);
+    }
+
+    @Operation(summary = "Get active games", description = "Retrieves the games a player is currently playing in")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Games retrieved successfully")
+    })
+    @GetMapping("/{playerName}/games")
+    public List<PlayerLocator.PlayerLocation> getActiveGames(
+            @Parameter(description = "Name of the player") @PathVariable String playerName) {
+        return playerLocator.find(playerName);
+    }
+
+    @Operation(summary = "Get season statistics",
+               description = "Retrieves the games played, average, high game, strike and spare rates and average pins per frame of a player")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "No frame completed by the player")
+    })
+    @GetMapping("/{playerName}/statistics")
+    public PlayerStatisticsService.PlayerStatistics getStatistics(
+            @Parameter(description = "Name of the player") @PathVariable String playerName) {
+        return playerStatisticsService.getStatistics(playerName)
+                .orElseThrow(() -> new IllegalArgumentException("No statistics recorded for player: " + playerName));
+    }
+
+    @Operation(summary = "Get throw distribution",
+               description = "Retrieves the pins knocked down by a player, per throw of the frame, and their strike and spare rates")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Throw distribution retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "No throw recorded for the player")
+    })
+    @GetMapping("/{playerName}/throw-distribution")
+    public ThrowDistributionEstimator.PlayerThrowStatistics getThrowDistribution(
+            @Parameter(description = "Name of the player") @PathVariable String playerName) {
+        return throwDistributionEstimator.getStatistics(playerName)
+                .orElseThrow(() -> new IllegalArgumentException("No throw recorded for player: " + playerName));
+    }
+}
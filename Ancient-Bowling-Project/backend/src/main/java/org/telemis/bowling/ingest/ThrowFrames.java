@@ -0,0 +1,67 @@
+package org.telemis.bowling.ingest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary format of the throw ingest protocol. All values are big-endian.
+ * <p>
+ * A sensor sends fixed-size throw frames of {@value #FRAME_SIZE} bytes:
+ * the game ID (long), the sequence number of the throw in its game (int), the pins knocked down (byte)
+ * and 3 reserved bytes. The server answers with response frames of {@value #RESPONSE_SIZE} bytes:
+ * a type (int), a sequence number (int) and a value (int).
+ * </p>
+ * <p>
+ * The n-th throw of a game has the sequence number n, see
+ * {@link org.telemis.bowling.service.GameService#addThrow(String, int, long)}: a sensor resending frames
+ * after a lost connection has the throws already recorded acknowledged again without adding them twice.
+ * </p>
+ * <ul>
+ *     <li>{@link #ACK}: the frames received since the previous acknowledgement have been processed, the value
+ *     being their number and the sequence number that of the last one. Acknowledgements are sent once per batch.</li>
+ *     <li>{@link #REJECT}: a throw of the batch was not applied, the sequence number being its own and the value
+ *     the reason, {@link #UNKNOWN_GAME}, {@link #INVALID_THROW}, {@link #SEQUENCE_GAP} if earlier throws of its game
+ *     were not recorded, or {@link #RATE_LIMITED} if its game sends too many throws. The sensor may resend the
+ *     throws of its game from the rejected one. It is sent before the acknowledgement of its batch.</li>
+ * </ul>
+ */
+public final class ThrowFrames {
+    public static final int FRAME_SIZE = 16;
+    public static final int RESPONSE_SIZE = 12;
+
+    public static final int ACK = 0;
+    public static final int REJECT = 1;
+
+    public static final int UNKNOWN_GAME = 1;
+    public static final int INVALID_THROW = 2;
+    public static final int SEQUENCE_GAP = 3;
+    public static final int RATE_LIMITED = 4;
+
+    private static final int RESERVED_BYTES = 3;
+
+    private ThrowFrames() {
+    }
+
+    /**
+     * Writes a throw frame.
+     */
+    public static void putThrow(ByteBuffer buffer, long gameId, int sequence, int pins) {
+        buffer.putLong(gameId).putInt(sequence).put((byte) pins);
+        for (int i = 0; i < RESERVED_BYTES; i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    /**
+     * Writes a response frame.
+     */
+    static void putResponse(ByteBuffer buffer, int type, int sequence, int value) {
+        buffer.putInt(type).putInt(sequence).putInt(value);
+    }
+
+    /**
+     * Skips the reserved bytes at the end of a throw frame, once its fields have been read.
+     */
+    static void skipReserved(ByteBuffer buffer) {
+        buffer.position(buffer.position() + RESERVED_BYTES);
+    }
+}
@@ -0,0 +1,153 @@
+package org.telemis.bowling.ingest;
+
+import org.telemis.bowling.service.GameService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local load generator of the throw ingest protocol.
+ * <p>
+ * Starts a listener on the loopback interface in front of a bare {@link GameService}, creates games
+ * of 2 players, and has each sensor connection stream the 30 misses of its games as fast as the
+ * listener acknowledges them. Usage:
+ * {@code java -cp <classpath> org.telemis.bowling.ingest.ThrowIngestLoadGenerator [connections] [games per connection] [event loops]}
+ * </p>
+ */
+public final class ThrowIngestLoadGenerator {
+    private static final int THROWS_PER_GAME = 30; // 2 players, 5 frames of 3 misses
+    private static final int BATCH_FRAMES = 1024;
+
+    private ThrowIngestLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int gamesPerConnection = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int eventLoops = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        Result result = run(connections, gamesPerConnection, eventLoops);
+        System.out.printf("%,d throws over %d connections and %d event loops in %.2fs: %,.0f throws/s (%d rejected)%n",
+                result.throwCount(), connections, eventLoops, result.seconds(), result.throughput(), result.rejected());
+    }
+
+    /**
+     * Runs the load against a new local listener.
+     */
+    public static Result run(int connections, int gamesPerConnection, int eventLoops) throws IOException, InterruptedException {
+        GameService gameService = new GameService();
+        long[][] games = new long[connections][gamesPerConnection];
+        for (long[] connectionGames : games) {
+            for (int i = 0; i < connectionGames.length; i++) {
+                String gameId = gameService.createGame();
+                gameService.addPlayer(gameId, "Player 1");
+                gameService.addPlayer(gameId, "Player 2");
+                gameService.startGame(gameId);
+                connectionGames[i] = Long.parseLong(gameId);
+            }
+        }
+
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (ThrowIngestServer server = new ThrowIngestServer(gameService, loopback, eventLoops)) {
+            server.start();
+            AtomicLong rejected = new AtomicLong();
+            List<Thread> sensors = new ArrayList<>();
+            long start = System.nanoTime();
+            for (long[] connectionGames : games) {
+                Thread sensor = new Thread(() -> sense(server, connectionGames, rejected), "sensor");
+                sensor.start();
+                sensors.add(sensor);
+            }
+            for (Thread sensor : sensors) {
+                sensor.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long throwCount = (long) connections * gamesPerConnection * THROWS_PER_GAME;
+            return new Result(throwCount, rejected.get(), seconds);
+        }
+    }
+
+    /**
+     * Streams the throws of the games from one thread and reads the responses from another.
+     */
+    private static void sense(ThrowIngestServer server, long[] games, AtomicLong rejected) {
+        try (SocketChannel channel = SocketChannel.open(server.address())) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            long expected = (long) games.length * THROWS_PER_GAME;
+            Thread reader = new Thread(() -> readResponses(channel, expected, rejected), "sensor-reader");
+            reader.start();
+
+            ByteBuffer frames = ByteBuffer.allocateDirect(BATCH_FRAMES * ThrowFrames.FRAME_SIZE);
+            for (int round = 0; round < THROWS_PER_GAME; round++) {
+                for (long gameId : games) {
+                    ThrowFrames.putThrow(frames, gameId, round + 1, 0);
+                    if (!frames.hasRemaining()) {
+                        send(channel, frames);
+                    }
+                }
+            }
+            send(channel, frames);
+            reader.join();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(SocketChannel channel, ByteBuffer frames) throws IOException {
+        frames.flip();
+        while (frames.hasRemaining()) {
+            channel.write(frames);
+        }
+        frames.clear();
+    }
+
+    private static void readResponses(SocketChannel channel, long expected, AtomicLong rejected) {
+        ByteBuffer responses = ByteBuffer.allocateDirect(64 * 1024);
+        long acknowledged = 0;
+        try {
+            while (acknowledged < expected) {
+                if (channel.read(responses) < 0) {
+                    throw new IOException("Connection closed after " + acknowledged + " acknowledgements");
+                }
+                responses.flip();
+                while (responses.remaining() >= ThrowFrames.RESPONSE_SIZE) {
+                    int type = responses.getInt();
+                    responses.getInt(); // Sequence
+                    int value = responses.getInt();
+                    if (type == ThrowFrames.ACK) {
+                        acknowledged += value;
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+                responses.compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Outcome of a load run.
+     *
+     * @param throwCount the number of throws sent and acknowledged
+     * @param rejected   the number of throws rejected
+     * @param seconds    the time taken to send them all and get their acknowledgements
+     */
+    public record Result(long throwCount, long rejected, double seconds) {
+
+        public double throughput() {
+            return throwCount / seconds;
+        }
+    }
+}
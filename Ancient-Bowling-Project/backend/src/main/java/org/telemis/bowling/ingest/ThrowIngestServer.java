@@ -0,0 +1,325 @@
+package org.telemis.bowling.ingest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.admission.AdmissionControl;
+import org.telemis.bowling.service.GameNotFoundException;
+import org.telemis.bowling.service.GameService;
+import org.telemis.bowling.service.ThrowSequenceGapException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * TCP listener receiving throws from the lane sensors in the binary format of {@link ThrowFrames}.
+ * <p>
+ * Connections are spread over a few event loops, each one a thread with its own selector.
+ * Frames are decoded in place from a direct buffer per connection and applied with
+ * {@link GameService#addThrow(String, int, long)}, so that a sensor resending its frames after a lost
+ * connection does not add them twice; decoding allocates nothing, and the ID of the last game
+ * of a connection is kept so that a lane sending throws for the same game does not allocate either.
+ * </p>
+ * <p>
+ * With {@link AdmissionControl}, each throw goes through the rate limit of its game, see
+ * {@link AdmissionControl#tryAdmitGame(String)}. The limits per client and on concurrent requests
+ * only apply to the HTTP API: a sensor is a single client, and its throws are applied by the event loops.
+ * </p>
+ * <p>
+ * Every batch of frames read at once is acknowledged by a single response frame. When a sensor
+ * does not read its responses, the connection stops reading its frames until they are sent.
+ * A connection whose frames fail unexpectedly is closed without affecting the others of its event loop.
+ * </p>
+ * <p>
+ * Enabled by setting {@code bowling.ingest.port}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.ingest", name = "port")
+public class ThrowIngestServer implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ThrowIngestServer.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GameService gameService;
+    private final AdmissionControl admissionControl;
+    private final InetSocketAddress bindAddress;
+    private final EventLoop[] eventLoops;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running;
+
+    @Autowired
+    public ThrowIngestServer(GameService gameService, ObjectProvider<AdmissionControl> admissionControl,
+                             @Value("${bowling.ingest.port}") int port,
+                             @Value("${bowling.ingest.event-loops:0}") int eventLoops) {
+        this(gameService, admissionControl.getIfAvailable(), new InetSocketAddress(port),
+                eventLoops > 0 ? eventLoops : Runtime.getRuntime().availableProcessors());
+    }
+
+    public ThrowIngestServer(GameService gameService, InetSocketAddress bindAddress, int eventLoops) {
+        this(gameService, null, bindAddress, eventLoops);
+    }
+
+    /**
+     * @param admissionControl the rate limits of the games, null to apply every throw
+     */
+    public ThrowIngestServer(GameService gameService, AdmissionControl admissionControl,
+                             InetSocketAddress bindAddress, int eventLoops) {
+        if (eventLoops < 1) {
+            throw new IllegalArgumentException("Number of event loops must be positive");
+        }
+        this.gameService = gameService;
+        this.admissionControl = admissionControl;
+        this.bindAddress = bindAddress;
+        this.eventLoops = new EventLoop[eventLoops];
+    }
+
+    /**
+     * Binds the listener and starts accepting sensors.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(bindAddress);
+        running = true;
+        for (int i = 0; i < eventLoops.length; i++) {
+            eventLoops[i] = new EventLoop(i);
+        }
+        Thread acceptor = new Thread(this::accept, "throw-ingest-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Throw ingest listening on {} with {} event loops", address(), eventLoops.length);
+    }
+
+    /**
+     * Returns the address the listener is bound to, with the actual port when bound to port 0.
+     */
+    public InetSocketAddress address() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop != null) {
+                eventLoop.selector.wakeup();
+            }
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                eventLoops[next++ % eventLoops.length].register(channel);
+            } catch (ClosedChannelException e) {
+                return; // Closed by close()
+            } catch (IOException e) {
+                log.warn("Failed to accept a sensor connection", e);
+            }
+        }
+    }
+
+    /**
+     * Thread serving the connections assigned to it.
+     */
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> newChannels = new ConcurrentLinkedQueue<>();
+        private final Consumer<SelectionKey> handler = this::handle;
+
+        EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            Thread thread = new Thread(this, "throw-ingest-" + index);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void register(SocketChannel channel) {
+            newChannels.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try (selector) {
+                while (running) {
+                    selector.select(handler);
+                    SocketChannel channel;
+                    while ((channel = newChannels.poll()) != null) {
+                        try {
+                            channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+                        } catch (ClosedChannelException e) {
+                            // Closed by the sensor before being served
+                        }
+                    }
+                }
+                for (SelectionKey key : selector.keys()) {
+                    key.channel().close();
+                }
+            } catch (IOException e) {
+                log.error("Throw ingest event loop failed", e);
+            }
+        }
+
+        private void handle(SelectionKey key) {
+            Connection connection = (Connection) key.attachment();
+            try {
+                boolean open = true;
+                if (key.isWritable()) {
+                    connection.process();
+                } else if (key.isReadable()) {
+                    open = connection.read();
+                }
+                if (!open) {
+                    key.channel().close();
+                } else {
+                    // Stop reading frames while responses cannot be sent
+                    key.interestOps(connection.hasPendingResponses() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+                }
+            } catch (IOException e) {
+                log.debug("Closing sensor connection", e);
+                close(key);
+            } catch (RuntimeException e) {
+                // Only this sensor is dropped, the other connections of the event loop are still served
+                log.warn("Failed to process frames of sensor connection, closing it", e);
+                close(key);
+            }
+        }
+
+        private void close(SelectionKey key) {
+            key.cancel();
+            try {
+                key.channel().close();
+            } catch (IOException ignored) {
+                // Already closing
+            }
+        }
+    }
+
+    /**
+     * Buffers and last game of a sensor connection, only used by its event loop.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer frames = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final ByteBuffer responses = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long lastGameId;
+        private String lastGameKey;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads the available frames and processes them.
+         *
+         * @return {@code false} if the sensor closed the connection
+         */
+        boolean read() throws IOException {
+            if (channel.read(frames) < 0) {
+                return false;
+            }
+            process();
+            return true;
+        }
+
+        /**
+         * Applies the buffered frames, as long as their responses can be sent.
+         */
+        void process() throws IOException {
+            frames.flip();
+            while (flush() && frames.remaining() >= ThrowFrames.FRAME_SIZE) {
+                decodeBatch();
+            }
+            frames.compact();
+        }
+
+        boolean hasPendingResponses() {
+            return responses.position() > 0;
+        }
+
+        private void decodeBatch() {
+            int acknowledged = 0;
+            int lastSequence = 0;
+            // Keep room for a rejection and the acknowledgement of the batch
+            while (frames.remaining() >= ThrowFrames.FRAME_SIZE
+                    && responses.remaining() >= 2 * ThrowFrames.RESPONSE_SIZE) {
+                long gameId = frames.getLong();
+                int sequence = frames.getInt();
+                int pins = frames.get();
+                ThrowFrames.skipReserved(frames);
+
+                int rejection = apply(gameId, pins, sequence);
+                if (rejection != 0) {
+                    ThrowFrames.putResponse(responses, ThrowFrames.REJECT, sequence, rejection);
+                }
+                lastSequence = sequence;
+                acknowledged++;
+            }
+            if (acknowledged > 0) {
+                ThrowFrames.putResponse(responses, ThrowFrames.ACK, lastSequence, acknowledged);
+            }
+        }
+
+        /**
+         * @return the reason of the rejection of the throw, 0 if it was applied
+         */
+        private int apply(long gameId, int pins, int sequence) {
+            if (lastGameKey == null || gameId != lastGameId) {
+                lastGameId = gameId;
+                lastGameKey = Long.toString(gameId);
+            }
+            if (admissionControl != null && admissionControl.tryAdmitGame(lastGameKey) > 0) {
+                return ThrowFrames.RATE_LIMITED;
+            }
+            try {
+                gameService.addThrow(lastGameKey, pins, sequence); // A resent throw is acknowledged without a rejection
+                return 0;
+            } catch (GameNotFoundException e) {
+                return ThrowFrames.UNKNOWN_GAME;
+            } catch (ThrowSequenceGapException e) {
+                return ThrowFrames.SEQUENCE_GAP;
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return ThrowFrames.INVALID_THROW;
+            }
+        }
+
+        /**
+         * Sends the pending responses.
+         *
+         * @return {@code true} if they were all sent
+         */
+        private boolean flush() throws IOException {
+            responses.flip();
+            channel.write(responses);
+            boolean sent = !responses.hasRemaining();
+            responses.compact();
+            return sent;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.telemis.bowling.memory;
+
+import org.openjdk.jol.info.GraphStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.model.GameEvent;
+import org.telemis.bowling.service.GameService;
+
+import java.util.List;
+
+/**
+ * Measures the heap retained by live games, with JOL walking their object graphs.
+ * <p>
+ * A game is not measured in place: it is rebuilt from its events, see {@link Game#replay(List)}, and the replica
+ * is measured. The replica has the same players, frames and history, so the same size, but the walk never races
+ * with changes to the game, and never follows its lock to a thread holding it, which would reach the whole heap.
+ * Objects shared between games, such as cached integers and events, are counted in every game that reaches them.
+ * Sizes depend on the JVM: these are for the compressed references used by heaps under 32 GB.
+ * </p>
+ * <p>
+ * JOL reads field offsets with {@code Unsafe}, which refuses records unless JOL guesses them from the class
+ * layout. The JVM must be started with {@code -Djol.magicFieldOffset=true}, as {@code mvn spring-boot:run}
+ * and the tests are; JOL reads it once, so it cannot be set from here.
+ * </p>
+ */
+@Component
+public class GameFootprintMeter {
+    static final int MAX_SAMPLE_SIZE = 10_000;
+    private static final Logger log = LoggerFactory.getLogger(GameFootprintMeter.class);
+
+    private final GameService gameService;
+
+    public GameFootprintMeter(GameService gameService) {
+        this.gameService = gameService;
+        if (!Boolean.getBoolean("jol.magicFieldOffset")) {
+            log.warn("Game footprints cannot be measured: start the JVM with -Djol.magicFieldOffset=true");
+        }
+    }
+
+    /**
+     * Returns the bytes retained by a game that is not being changed, its history included.
+     */
+    public static long retainedSize(Game game) {
+        return GraphStats.parseInstance(game).totalSize();
+    }
+
+    /**
+     * Measures a sample of the live games.
+     *
+     * @param sampleSize the maximum number of games measured
+     * @throws IllegalArgumentException if the sample size is not between 1 and {@value #MAX_SAMPLE_SIZE}
+     */
+    public GameFootprint measure(int sampleSize) {
+        if (sampleSize < 1 || sampleSize > MAX_SAMPLE_SIZE) {
+            throw new IllegalArgumentException("Sample size must be between 1 and " + MAX_SAMPLE_SIZE);
+        }
+        int liveGames = gameService.getGameCount();
+        List<Game> sample = gameService.sampleGames(sampleSize);
+        long total = 0;
+        long max = 0;
+        for (Game game : sample) {
+            List<GameEvent> events;
+            game.lock().lock();
+            try {
+                events = game.eventsSince(0);
+            } finally {
+                game.lock().unlock();
+            }
+            long size = retainedSize(Game.replay(events));
+            total += size;
+            max = Math.max(max, size);
+        }
+        long average = sample.isEmpty() ? 0 : total / sample.size();
+        Runtime runtime = Runtime.getRuntime();
+        return new GameFootprint(liveGames, sample.size(), average, max, average * liveGames,
+                runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    /**
+     * Heap retained by the live games.
+     *
+     * @param liveGames           the number of live games
+     * @param sampledGames        the number of games measured
+     * @param averageBytes        the average bytes per game measured
+     * @param maxBytes            the bytes of the largest game measured
+     * @param estimatedTotalBytes the average times the number of live games
+     * @param heapUsedBytes       the heap currently used, by the games and everything else
+     */
+    public record GameFootprint(int liveGames, int sampledGames, long averageBytes, long maxBytes,
+                                long estimatedTotalBytes, long heapUsedBytes) {}
+}
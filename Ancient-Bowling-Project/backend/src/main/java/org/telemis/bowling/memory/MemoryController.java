@@ -0,0 +1,36 @@
+package org.telemis.bowling.memory;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/memory")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Memory", description = "Heap retained by the live games, for capacity planning")
+public class MemoryController {
+    private final GameFootprintMeter gameFootprintMeter;
+
+    public MemoryController(GameFootprintMeter gameFootprintMeter) {
+        this.gameFootprintMeter = gameFootprintMeter;
+    }
+
+    @Operation(summary = "Get bytes per live game",
+               description = "Measures the heap retained by a sample of the live games and extrapolates it to all of them")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Games measured successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sample size")
+    })
+    @GetMapping("/games")
+    public GameFootprintMeter.GameFootprint getGameFootprint(
+            @Parameter(description = "Maximum number of games measured") @RequestParam(defaultValue = "100") int sample) {
+        return gameFootprintMeter.measure(sample);
+    }
+}
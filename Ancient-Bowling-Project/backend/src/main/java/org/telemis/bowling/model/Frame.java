@@ -12,8 +12,11 @@ import java.util.List;
 public class Frame {
     private static final int MAX_PINS = 15;
     private static final int MAX_THROWS = 3;
+    private static final int MAX_LAST_FRAME_THROWS = MAX_THROWS + 2; // 3 throws for spare + 2 bonus throws
 
-    private final List<Integer> throwList;
+    // Pins of each throw, so that recording and scoring throws neither boxes nor copies them
+    private final int[] throwPins;
+    private int throwCount;
     private boolean isCompleted;
     private final boolean isLastFrame;
     private boolean isStrike;
@@ -24,7 +27,7 @@ public class Frame {
      * Initializes an empty throw list and sets completion status to false.
      */
     public Frame() {
-        this.throwList = new ArrayList<>(3);
+        this.throwPins = new int[MAX_THROWS];
         this.isCompleted = false;
         this.isLastFrame = false;
         this.isStrike = false;
@@ -37,13 +40,37 @@ public class Frame {
      * @param isLastFrame true if this is the last frame (5th frame), false otherwise
      */
     public Frame(boolean isLastFrame) {
-        this.throwList = new ArrayList<>();
+        this.throwPins = new int[isLastFrame ? MAX_LAST_FRAME_THROWS : MAX_THROWS];
         this.isCompleted = false;
         this.isLastFrame = isLastFrame;
         this.isStrike = false;
         this.isSpare = false;
     }
 
+    /**
+     * Creates a copy of the given frame with its own throw list.
+     *
+     * @param other the frame to copy
+     */
+    private Frame(Frame other) {
+        this.throwPins = other.throwPins.clone();
+        this.throwCount = other.throwCount;
+        this.isCompleted = other.isCompleted;
+        this.isLastFrame = other.isLastFrame;
+        this.isStrike = other.isStrike;
+        this.isSpare = other.isSpare;
+    }
+
+    /**
+     * Returns an independent copy of this frame.
+     * Throws added to the copy do not affect this frame and vice versa.
+     *
+     * @return a new frame with the same throws and status
+     */
+    public Frame copy() {
+        return new Frame(this);
+    }
+
     /**
      * Adds a throw to the current frame.
      * Validates the throw and updates frame completion status.
@@ -63,8 +90,11 @@ public class Frame {
         if (pins > getRemainingPins()) {
             throw new IllegalArgumentException("Cannot knock down more than the remaining pins: " + getRemainingPins());
         }
-        
-        throwList.add(pins);
+        if (throwCount == throwPins.length) {
+            throw new IllegalStateException("Frame is finished, cannot add more throws");
+        }
+
+        throwPins[throwCount++] = pins;
         updateFrameStatus();
     }
 
@@ -87,23 +117,23 @@ public class Frame {
 
         if (!isLastFrame) {
             // Regular frame completes on strike, spare, or 3 throws
-            if (isStrike || isSpare || throwList.size() == MAX_THROWS) {
+            if (isStrike || isSpare || throwCount == MAX_THROWS) {
                 isCompleted = true;
             }
         } else {
             // Last frame has special rules for bonus throws
             if (isStrike) {
                 // Strike in first throw of last frame needs total of 4 throws
-                isCompleted = throwList.size() >= MAX_THROWS + 1; // 1 strike + 3 bonus throws
+                isCompleted = throwCount >= MAX_THROWS + 1; // 1 strike + 3 bonus throws
             } else if (isSpareInTwoThrows()) {
                 // Spare in first two throws needs total of 4 throws
-                isCompleted = throwList.size() >= MAX_THROWS + 1; // 2 throws for spare + 2 bonus throws
+                isCompleted = throwCount >= MAX_THROWS + 1; // 2 throws for spare + 2 bonus throws
             } else if (isSpareInThreeThrows()) {
                 // Spare in three throws needs total of 5 throws
-                isCompleted = throwList.size() >= MAX_THROWS + 2; // 3 throws for spare + 2 bonus throws
+                isCompleted = throwCount >= MAX_THROWS + 2; // 3 throws for spare + 2 bonus throws
             } else {
                 // Regular last frame completes after 3 throws
-                isCompleted = throwList.size() >= MAX_THROWS;
+                isCompleted = throwCount >= MAX_THROWS;
             }
         }
     }
@@ -123,7 +153,7 @@ public class Frame {
             return MAX_PINS - getPinsKnockedDown();
         }
 
-        int currentThrow = throwList.size();
+        int currentThrow = throwCount;
         // After a strike
         if (currentThrow >= 1 && isStrike) {
             if (currentThrow == 1) {
@@ -135,7 +165,7 @@ public class Frame {
                     return MAX_PINS;
                 }
                 // Otherwise, calculate remaining from second throw
-                return MAX_PINS - throwList.get(1);
+                return MAX_PINS - throwPins[1];
             } else if (currentThrow == 3) {
                 // For third throw after strike
                 if (isStrikeAt(1) || // Second throw was strike
@@ -144,7 +174,7 @@ public class Frame {
                     return MAX_PINS;
                 }
                 // Otherwise, calculate remaining from second throw
-                return MAX_PINS - (throwList.get(1) + throwList.get(2));
+                return MAX_PINS - (throwPins[1] + throwPins[2]);
             }
         }
         // After a spare (in first two throws)
@@ -156,11 +186,11 @@ public class Frame {
                 if (isStrikeAt(2)) {
                     return MAX_PINS; // Reset pins after strike
                 } else {
-                    return MAX_PINS - throwList.get(2);
+                    return MAX_PINS - throwPins[2];
                 }
             } else {
                 // For second bonus throw
-                return MAX_PINS - (throwList.get(2) + throwList.get(3));
+                return MAX_PINS - (throwPins[2] + throwPins[3]);
             }
         }
         // After a spare (in three throws)
@@ -175,17 +205,17 @@ public class Frame {
                 if (isStrikeAt(3)) {
                     return MAX_PINS; // Reset pins if it is a strike
                 } else {
-                    return MAX_PINS - throwList.get(3);
+                    return MAX_PINS - throwPins[3];
                 }
             } else {
                 // For second bonus throw
-                return MAX_PINS - (throwList.get(3) + throwList.get(4));
+                return MAX_PINS - (throwPins[3] + throwPins[4]);
             }
         }
         // Normal calculation for other cases
         int currentFramePins = 0;
         for (int i = 0; i < currentThrow && i < 3; i++) {
-            currentFramePins += throwList.get(i);
+            currentFramePins += throwPins[i];
         }
         return MAX_PINS - currentFramePins;
     }
@@ -207,7 +237,7 @@ public class Frame {
      * @return true if the throw at the given index is a strike, false otherwise
      */
     private boolean isStrikeAt(int index) {
-        return throwList.size() >= index && throwList.get(index) == MAX_PINS;
+        return throwCount > index && throwPins[index] == MAX_PINS;
     }
 
     /**
@@ -231,21 +261,21 @@ public class Frame {
      * @return true if the throws at startIndex and startIndex+1 form a spare
      */
     private boolean isSpareAt(int index) {
-        return throwList.size() >= index + 2 &&
-                throwList.get(index) + throwList.get(index + 1) == MAX_PINS;
+        return throwCount >= index + 2 &&
+                throwPins[index] + throwPins[index + 1] == MAX_PINS;
     }
 
     private boolean isSpareInTwoThrows() {
-        return throwList.size() >= 2 &&
-                throwList.get(0) + throwList.get(1) == MAX_PINS &&
+        return throwCount >= 2 &&
+                throwPins[0] + throwPins[1] == MAX_PINS &&
                 !isStrike();
     }
 
     private boolean isSpareInThreeThrows() {
-        return throwList.size() >= 3 &&
-                throwList.get(0) + throwList.get(1) + throwList.get(2) == MAX_PINS &&
-                throwList.get(0) != MAX_PINS &&
-                throwList.get(0) + throwList.get(1) != MAX_PINS;
+        return throwCount >= 3 &&
+                throwPins[0] + throwPins[1] + throwPins[2] == MAX_PINS &&
+                throwPins[0] != MAX_PINS &&
+                throwPins[0] + throwPins[1] != MAX_PINS;
     }
 
     /**
@@ -254,7 +284,33 @@ public class Frame {
      * @return sum of all throws in the current frame
      */
     public int getPinsKnockedDown() {
-        return throwList.stream().mapToInt(Integer::intValue).sum();
+        int pins = 0;
+        for (int i = 0; i < throwCount; i++) {
+            pins += throwPins[i];
+        }
+        return pins;
+    }
+
+    /**
+     * Returns the number of throws made in this frame.
+     *
+     * @return the number of throws
+     */
+    public int throwCount() {
+        return throwCount;
+    }
+
+    /**
+     * Returns the pins knocked down by the throw at the given index, without copying the throw list.
+     *
+     * @param index the index of the throw
+     * @return the number of pins knocked down by that throw
+     */
+    int throwAt(int index) {
+        if (index >= throwCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + throwCount + " throws");
+        }
+        return throwPins[index];
     }
 
     /**
@@ -263,7 +319,11 @@ public class Frame {
      * @return new ArrayList containing all throws in the current frame
      */
     public List<Integer> getThrows() {
-        return new ArrayList<>(throwList);
+        List<Integer> throwsMade = new ArrayList<>(throwCount);
+        for (int i = 0; i < throwCount; i++) {
+            throwsMade.add(throwPins[i]);
+        }
+        return throwsMade;
     }
 
     /**
@@ -2,7 +2,10 @@ package org.telemis.bowling.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Class that controls the overall bowling game flow.
@@ -15,16 +18,90 @@ import java.util.List;
 public class Game {
     private static final int MIN_PLAYERS = 2;
     private final List<Player> players;
+    private final Map<String, Integer> playerIndexes;
     private int currentPlayerIndex;
     private boolean isStarted;
+    private long version;
+    private int throwCount;
+    private final GameHistory history; // Null for forks
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
      * Constructor for creating a new game.
      */
     public Game() {
         this.players = new ArrayList<>();
+        this.playerIndexes = new HashMap<>();
         this.currentPlayerIndex = 0;
         this.isStarted = false;
+        this.history = new GameHistory();
+        record(new GameEvent.Created());
+    }
+
+    /**
+     * Rebuilds a game from its events, the first one being {@link GameEvent.Created}.
+     * The game returned records the same history.
+     *
+     * @param events the events of the game, in order
+     * @return the game in the state following the last event
+     * @throws IllegalArgumentException if the events do not start with the creation of the game
+     */
+    public static Game replay(List<GameEvent> events) {
+        if (events.isEmpty() || !(events.get(0) instanceof GameEvent.Created)) {
+            throw new IllegalArgumentException("Events must start with the creation of the game");
+        }
+        Game game = new Game();
+        for (int i = 1; i < events.size(); i++) {
+            events.get(i).applyTo(game);
+        }
+        return game;
+    }
+
+    /**
+     * Creates a fork of the given game, see {@link #fork()}.
+     *
+     * @param other the game to fork
+     */
+    private Game(Game other) {
+        this.players = new ArrayList<>(other.players.size());
+        for (Player player : other.players) {
+            players.add(player.fork());
+        }
+        this.playerIndexes = new HashMap<>(other.playerIndexes);
+        this.currentPlayerIndex = other.currentPlayerIndex;
+        this.isStarted = other.isStarted;
+        this.version = other.version;
+        this.throwCount = other.throwCount;
+        this.history = null;
+    }
+
+    /**
+     * Returns a copy-on-write fork of this game for what-if evaluation.
+     * <p>
+     * Completed frames are shared between the game and its fork, so the cost only depends
+     * on the number of players, not on how far the game has progressed.
+     * Throws added to the fork never affect this game.
+     * </p>
+     *
+     * @return an independent game in the same state
+     */
+    public Game fork() {
+        return new Game(this);
+    }
+
+    /**
+     * Returns the lock guarding this game against concurrent modification.
+     * <p>
+     * A game is not thread-safe by itself; callers sharing it between threads
+     * must hold this lock while reading or mutating it.
+     * It is a {@link ReentrantLock} rather than a monitor, so a virtual thread waiting for it
+     * releases its carrier thread instead of pinning it.
+     * </p>
+     *
+     * @return the lock of this game
+     */
+    public ReentrantLock lock() {
+        return lock;
     }
 
     /**
@@ -32,8 +109,12 @@ public class Game {
      */
     public void reset() {
         players.clear();
+        playerIndexes.clear();
         currentPlayerIndex = 0;
         isStarted = false;
+        throwCount = 0;
+        version++;
+        record(new GameEvent.Reset());
     }
 
     /**
@@ -46,6 +127,8 @@ public class Game {
             throw new IllegalStateException("Need at least " + MIN_PLAYERS + " players to start the game");
         }
         isStarted = true;
+        version++;
+        record(new GameEvent.Started());
     }
 
     /**
@@ -61,10 +144,13 @@ public class Game {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Player name cannot be null or empty");
         }
-        if (players.stream().anyMatch(p -> p.getName().equals(name))) {
+        if (playerIndexes.containsKey(name)) {
             throw new IllegalArgumentException("Player with name '" + name + "' already exists");
         }
+        playerIndexes.put(name, players.size());
         players.add(new Player(name));
+        version++;
+        record(new GameEvent.PlayerAdded(name));
     }
 
     /**
@@ -83,9 +169,52 @@ public class Game {
         Player currentPlayer = getCurrentPlayer();
         currentPlayer.ensureFreshFrame();
         currentPlayer.addThrow(pins);
+        throwCount++;
+        version++;
         if (currentPlayer.getCurrentFrame().isCompleted()) {
             moveToNextPlayer();
         }
+        record(GameEvent.ThrowMade.of(pins));
+    }
+
+    /**
+     * Corrects a throw already made by a player, see {@link Player#correctThrow(int, int, int)}.
+     * <p>
+     * Only the frames of that player from the corrected one are replayed, so the cost does not
+     * depend on the number of players. The turn order is unchanged.
+     * </p>
+     *
+     * @param playerName  the name of the player who made the throw
+     * @param frameNumber the 1-based number of the frame of the throw
+     * @param throwNumber the 1-based number of the throw in its frame
+     * @param pins        the corrected number of pins knocked down
+     * @return the number of pins previously recorded for the throw
+     * @throws IllegalArgumentException if the player or the throw does not exist
+     * @throws IllegalStateException    if the game hasn't started or the correction would make a throw illegal
+     */
+    public int correctThrow(String playerName, int frameNumber, int throwNumber, int pins) {
+        if (!isStarted) {
+            throw new IllegalStateException("Game has not started");
+        }
+        int previousPins = getPlayer(playerName).correctThrow(frameNumber, throwNumber, pins);
+        version++;
+        record(new GameEvent.ThrowCorrected(playerName, frameNumber, throwNumber, pins));
+        return previousPins;
+    }
+
+    /**
+     * Returns the player with the given name.
+     *
+     * @param playerName the name of the player
+     * @return the player
+     * @throws IllegalArgumentException if there is no such player
+     */
+    public Player getPlayer(String playerName) {
+        Integer index = playerIndexes.get(playerName);
+        if (index == null) {
+            throw new IllegalArgumentException("No player named '" + playerName + "' in the game");
+        }
+        return players.get(index);
     }
 
     /**
@@ -106,7 +235,12 @@ public class Game {
      * @return {@code true} if the game is complete for all players; {@code false} otherwise
      */
     public boolean isGameComplete() {
-        return players.stream().allMatch(Player::isGameComplete);
+        for (int i = 0; i < players.size(); i++) { // Indexed, so that no iterator is allocated per throw
+            if (!players.get(i).isGameComplete()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -140,26 +274,146 @@ public class Game {
         return isStarted;
     }
 
+    /**
+     * Returns the version of the game, incremented by every change made to it.
+     * A fork has the version of the game it was taken from.
+     *
+     * @return the number of changes made to the game
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of throws recorded in the game, all players included.
+     * The n-th throw of the game has the sequence number n.
+     *
+     * @return the number of throws recorded
+     */
+    public int getThrowCount() {
+        return throwCount;
+    }
+
+    /**
+     * Rebuilds this game as it was at a past version, from the closest snapshot of its history.
+     * The cost is bounded by the snapshot interval, not by the length of the game.
+     *
+     * @param version the version, from 0 for the created game to {@link #getVersion()}
+     * @return a new game in that state, without history
+     * @throws IllegalArgumentException if the game never had that version
+     * @throws IllegalStateException    if this game is a fork, which keeps no history
+     */
+    public Game atVersion(long version) {
+        return history().rebuild(version);
+    }
+
+    /**
+     * Returns the events of this game from a version on, see {@link #replay(List)}.
+     *
+     * @param fromVersion the version of the first event, 0 for the creation of the game
+     * @return the events, in order
+     * @throws IllegalStateException if this game is a fork, which keeps no history
+     */
+    public List<GameEvent> eventsSince(long fromVersion) {
+        return history().events(fromVersion);
+    }
+
+    /**
+     * Returns the event of the last change made to this game, the one of version {@link #getVersion()}.
+     *
+     * @return the event, shared with the history
+     * @throws IllegalStateException if this game is a fork, which keeps no history
+     */
+    public GameEvent lastEvent() {
+        return history().last();
+    }
+
+    private GameHistory history() {
+        if (history == null) {
+            throw new IllegalStateException("A fork keeps no history");
+        }
+        return history;
+    }
+
+    private void record(GameEvent event) {
+        if (history != null) {
+            history.record(this, event);
+        }
+    }
+
     /**
      * Returns a sorted scoreboard of players and their total scores.
+     * <p>
+     * Each entry also carries the highest final score the player can still reach.
+     * A player is mathematically eliminated when that score is below the current score
+     * of another player, since scores never decrease.
+     * </p>
      *
      * @return a list of {@link PlayerScore} records, sorted by descending score
      */
     public List<PlayerScore> getScoreboard() {
-        List<PlayerScore> scores = new ArrayList<>();
-        for (Player player : players) {
-            scores.add(new PlayerScore(player.getName(), player.calculateScore(), player));
+        int bestMinScore = 0;
+        for (int i = 0; i < players.size(); i++) {
+            bestMinScore = Math.max(bestMinScore, ScoreBounds.minFinalScore(players.get(i)));
+        }
+        List<PlayerScore> scores = new ArrayList<>(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            int maxScore = ScoreBounds.maxFinalScore(player);
+            scores.add(new PlayerScore(player.getName(), player.calculateScore(), maxScore,
+                    maxScore < bestMinScore, player));
         }
         scores.sort((a, b) -> b.score() - a.score()); // Sort by descending order
         return scores;
     }
 
+    /**
+     * Projects the scoreboard for every legal next throw of the current player,
+     * from a miss up to knocking down all remaining pins.
+     * <p>
+     * Each projection is computed on a fork, this game is left untouched.
+     * </p>
+     *
+     * @return one {@link ThrowProjection} per possible number of pins, in ascending order
+     * @throws IllegalStateException if the game hasn't started or is already complete
+     */
+    public List<ThrowProjection> projectNextThrows() {
+        if (!isStarted) {
+            throw new IllegalStateException("Game has not started");
+        } else if (isGameComplete()) {
+            throw new IllegalStateException("Game is complete, no throw left to project.");
+        }
+        Game base = fork();
+        Player player = base.getCurrentPlayer();
+        player.ensureFreshFrame();
+        int remainingPins = player.getCurrentFrame().getRemainingPins();
+
+        List<ThrowProjection> projections = new ArrayList<>(remainingPins + 1);
+        for (int pins = 0; pins <= remainingPins; pins++) {
+            Game whatIf = base.fork();
+            whatIf.addThrow(pins);
+            projections.add(new ThrowProjection(pins, player.getName(), whatIf.getScoreboard()));
+        }
+        return projections;
+    }
+
     /**
      * Immutable record representing a player's score entry in the scoreboard.
      *
-     * @param name   the player's name
-     * @param score  the player's total score
-     * @param player the player object
+     * @param name       the player's name
+     * @param score      the player's total score
+     * @param maxScore   the highest final score the player can still reach
+     * @param eliminated whether the player can no longer win the game
+     * @param player     the player object
+     */
+    public record PlayerScore(String name, int score, int maxScore, boolean eliminated, Player player) {}
+
+    /**
+     * Immutable record representing the outcome of a hypothetical next throw.
+     *
+     * @param pins       the number of pins knocked down by the hypothetical throw
+     * @param playerName the name of the player making the throw
+     * @param scoreboard the scoreboard after the throw
      */
-    public record PlayerScore(String name, int score, Player player) {}
-} 
\ No newline at end of file
+    public record ThrowProjection(int pins, String playerName, List<PlayerScore> scoreboard) {}
+}
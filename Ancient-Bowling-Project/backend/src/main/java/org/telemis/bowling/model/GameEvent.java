@@ -0,0 +1,103 @@
+package org.telemis.bowling.model;
+
+/**
+ * Change made to a game. The state of a game at a given version is the fold of its first events,
+ * see {@link Game#replay(java.util.List)}.
+ * <p>
+ * The history of a game starts with {@link Created}, at version 0, and every later event increments
+ * the version by one.
+ * </p>
+ */
+public sealed interface GameEvent {
+
+    /**
+     * Applies this event to a game, as the original change did.
+     *
+     * @param game the game in the state preceding this event
+     */
+    void applyTo(Game game);
+
+    /**
+     * Creation of the game, with no player.
+     */
+    record Created() implements GameEvent {
+        @Override
+        public void applyTo(Game game) {
+            // The game the events are folded into is the created game
+        }
+    }
+
+    /**
+     * A player joined the game.
+     *
+     * @param playerName the name of the player
+     */
+    record PlayerAdded(String playerName) implements GameEvent {
+        @Override
+        public void applyTo(Game game) {
+            game.addPlayer(playerName);
+        }
+    }
+
+    /**
+     * The game was started.
+     */
+    record Started() implements GameEvent {
+        @Override
+        public void applyTo(Game game) {
+            game.start();
+        }
+    }
+
+    /**
+     * The current player made a throw.
+     *
+     * @param pins the number of pins knocked down
+     */
+    record ThrowMade(int pins) implements GameEvent {
+        private static final ThrowMade[] BY_PINS = new ThrowMade[16];
+
+        static {
+            for (int pins = 0; pins < BY_PINS.length; pins++) {
+                BY_PINS[pins] = new ThrowMade(pins);
+            }
+        }
+
+        /**
+         * Returns the shared event for a number of pins, so that recording a throw allocates nothing.
+         */
+        static ThrowMade of(int pins) {
+            return pins >= 0 && pins < BY_PINS.length ? BY_PINS[pins] : new ThrowMade(pins);
+        }
+
+        @Override
+        public void applyTo(Game game) {
+            game.addThrow(pins);
+        }
+    }
+
+    /**
+     * A throw already made was corrected.
+     *
+     * @param playerName  the name of the player who made the throw
+     * @param frameNumber the 1-based number of the frame of the throw
+     * @param throwNumber the 1-based number of the throw in its frame
+     * @param pins        the corrected number of pins knocked down
+     */
+    record ThrowCorrected(String playerName, int frameNumber, int throwNumber, int pins) implements GameEvent {
+        @Override
+        public void applyTo(Game game) {
+            game.correctThrow(playerName, frameNumber, throwNumber, pins);
+        }
+    }
+
+    /**
+     * The game was reset, removing all its players.
+     */
+    record Reset() implements GameEvent {
+        @Override
+        public void applyTo(Game game) {
+            game.reset();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.telemis.bowling.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered events of a game, with a snapshot of the game every {@link #SNAPSHOT_INTERVAL} events.
+ * <p>
+ * Any past version is rebuilt from the closest snapshot at or before it, replaying at most
+ * {@code SNAPSHOT_INTERVAL - 1} events, however long the game. Snapshots are forks, which share
+ * their completed frames with the game, so they cost little more than the frames in progress.
+ * </p>
+ * <p>
+ * Not thread-safe, guarded by the lock of its game.
+ * </p>
+ */
+final class GameHistory {
+    static final int SNAPSHOT_INTERVAL = 32;
+
+    private final List<GameEvent> events = new ArrayList<>();
+    private final List<Game> snapshots = new ArrayList<>(); // Version i * SNAPSHOT_INTERVAL at index i
+
+    /**
+     * Appends an event already applied to the game.
+     *
+     * @param game  the game, in the state following the event
+     * @param event the event
+     */
+    void record(Game game, GameEvent event) {
+        events.add(event);
+        if ((events.size() - 1) % SNAPSHOT_INTERVAL == 0) {
+            snapshots.add(game.fork());
+        }
+    }
+
+    /**
+     * Returns the version of the last event.
+     */
+    long lastVersion() {
+        return events.size() - 1L;
+    }
+
+    /**
+     * Returns the last event.
+     */
+    GameEvent last() {
+        return events.get(events.size() - 1);
+    }
+
+    /**
+     * Rebuilds the game as it was at a version.
+     *
+     * @param version the version, between 0 and {@link #lastVersion()}
+     * @return a new game without history
+     */
+    Game rebuild(long version) {
+        if (version < 0 || version > lastVersion()) {
+            throw new IllegalArgumentException("Version must be between 0 and " + lastVersion());
+        }
+        int snapshot = (int) (version / SNAPSHOT_INTERVAL);
+        Game game = snapshots.get(snapshot).fork();
+        for (int i = snapshot * SNAPSHOT_INTERVAL + 1; i <= version; i++) {
+            events.get(i).applyTo(game);
+        }
+        return game;
+    }
+
+    /**
+     * Returns the events from a version on.
+     *
+     * @param fromVersion the version of the first event returned
+     * @return a copy of the events, in order
+     */
+    List<GameEvent> events(long fromVersion) {
+        if (fromVersion < 0 || fromVersion > events.size()) {
+            throw new IllegalArgumentException("Version must be between 0 and " + events.size());
+        }
+        return List.copyOf(events.subList((int) fromVersion, events.size()));
+    }
+}
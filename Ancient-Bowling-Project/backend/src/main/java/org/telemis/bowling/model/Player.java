@@ -23,6 +23,34 @@ public class Player {
         frames.add(currentFrame);
     }
 
+    /**
+     * Creates a copy-on-write fork of the given player.
+     * <p>
+     * Completed regular frames can no longer change, so they are shared with the original.
+     * Only the frame still in progress and the last frame (which accepts bonus throws) are copied.
+     * </p>
+     *
+     * @param other the player to fork
+     */
+    private Player(Player other) {
+        this.name = other.name;
+        this.frames = new ArrayList<>(MAX_FRAMES);
+        for (Frame frame : other.frames) {
+            frames.add(frame.isCompleted() && !frame.isLastFrame() ? frame : frame.copy());
+        }
+        this.currentFrame = frames.get(frames.size() - 1);
+    }
+
+    /**
+     * Returns a fork of this player that can receive throws independently.
+     * At most two frames are copied, whatever the progress of the player.
+     *
+     * @return an independent player with the same name, frames and score
+     */
+    public Player fork() {
+        return new Player(this);
+    }
+
     /**
      * Ensures a new frame is created if the current one is completed,
      * except in the final frame where bonus throws are handled within the same frame.
@@ -68,6 +96,67 @@ public class Player {
         }
     }
 
+    /**
+     * Replaces the number of pins of a throw already made, then replays the throws that follow it.
+     * <p>
+     * The frames before the corrected one are kept as they are. The corrected frame and the following ones
+     * are rebuilt from their throws with the usual frame rules, so strike and spare bonuses are scored again,
+     * and only replace the current frames once all their throws were found legal. Each frame must keep
+     * its number of throws: otherwise the turns already played by the other players would no longer
+     * match the frames of this player.
+     * </p>
+     *
+     * @param frameNumber the 1-based number of the frame of the throw
+     * @param throwNumber the 1-based number of the throw in its frame
+     * @param pins        the corrected number of pins knocked down
+     * @return the number of pins previously recorded for the throw
+     * @throws IllegalArgumentException if the player has no such throw
+     * @throws IllegalStateException    if the corrected throw or a later one would be illegal,
+     *                                  or if a frame would end after a different number of throws
+     */
+    public int correctThrow(int frameNumber, int throwNumber, int pins) {
+        if (frameNumber < 1 || frameNumber > frames.size()) {
+            throw new IllegalArgumentException("Player " + name + " has no frame " + frameNumber);
+        }
+        int firstIndex = frameNumber - 1;
+        Frame corrected = frames.get(firstIndex);
+        if (throwNumber < 1 || throwNumber > corrected.throwCount()) {
+            throw new IllegalArgumentException("Frame " + frameNumber + " of player " + name + " has no throw " + throwNumber);
+        }
+
+        // New frames, so that frames shared with forks are never modified
+        List<Frame> replayed = new ArrayList<>(frames.size() - firstIndex);
+        for (int i = firstIndex; i < frames.size(); i++) {
+            Frame original = frames.get(i);
+            Frame replay = new Frame(original.isLastFrame());
+            for (int t = 0; t < original.throwCount(); t++) {
+                int replayedPins = i == firstIndex && t == throwNumber - 1 ? pins : original.throwAt(t);
+                if (replay.isCompleted()) {
+                    throw new IllegalStateException("Correction rejected, frame " + (i + 1) + " would end after "
+                            + t + " throws instead of " + original.throwCount() + ", changing the turn order");
+                }
+                try {
+                    replay.addThrow(replayedPins);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    throw new IllegalStateException("Correction rejected, throw " + (t + 1) + " of frame " + (i + 1)
+                            + " (" + replayedPins + " pins) would be illegal: " + e.getMessage());
+                }
+            }
+            if (replay.isCompleted() != original.isCompleted()) {
+                throw new IllegalStateException("Correction rejected, frame " + (i + 1) + " would "
+                        + (replay.isCompleted() ? "" : "not ") + "end after " + original.throwCount()
+                        + " throws, changing the turn order");
+            }
+            replayed.add(replay);
+        }
+
+        int previousPins = corrected.throwAt(throwNumber - 1);
+        frames.subList(firstIndex, frames.size()).clear();
+        frames.addAll(replayed);
+        currentFrame = frames.get(frames.size() - 1);
+        return previousPins;
+    }
+
     /**
      * Calculates the total score up to the current frame,
      * including bonuses for strikes and spares.
@@ -109,46 +198,49 @@ public class Player {
      * calculates bonus for a strike at the given frame index.
      */
     private int calculateStrikeBonus(int frameIndex) {
-        List<Integer> nextThrows = getNextThrows(frameIndex, 3);
-        System.out.println("Debug: StrikeBonus calculated: " + nextThrows);
-        return nextThrows.stream().mapToInt(Integer::intValue).sum();
+        return sumOfNextThrows(frameIndex, 3);
     }
 
     /**
      * calculates bonus for a spare at the given frame index.
      */
     private int calculateSpareBonus(int frameIndex) {
-        List<Integer> nextThrows = getNextThrows(frameIndex, 2);
-        System.out.println("Debug: SpareBonus calculated: " + nextThrows);
-        return nextThrows.stream().mapToInt(Integer::intValue).sum();
+        return sumOfNextThrows(frameIndex, 2);
     }
 
     /**
-     * Collects the next N throws starting after a given frame index.
+     * Sums the pins of the next N throws starting after a given frame index, without collecting them.
      *
      * @param frameIndex the frame index to start after
-     * @param count      number of throws to collect
-     * @return a list of upcoming throws
+     * @param count      number of throws to sum
+     * @return the pins knocked down by the throws made among them
      */
-    private List<Integer> getNextThrows(int frameIndex, int count) {
-        List<Integer> throwList = new ArrayList<>();
+    private int sumOfNextThrows(int frameIndex, int count) {
+        int pins = 0;
         int currentThrow = 0;
-        int currentFrameIndex = frameIndex + 1;
-
-        while (currentThrow < count && currentFrameIndex < frames.size()) {
-            Frame frame = frames.get(currentFrameIndex);
-            List<Integer> frameThrows = frame.getThrows();
-
-            for (int pins : frameThrows) {
-                if (currentThrow < count) {
-                    throwList.add(pins);
-                    currentThrow++;
-                }
+        for (int i = frameIndex + 1; currentThrow < count && i < frames.size(); i++) {
+            Frame frame = frames.get(i);
+            for (int t = 0; t < frame.throwCount() && currentThrow < count; t++) {
+                pins += frame.throwAt(t);
+                currentThrow++;
             }
-            currentFrameIndex++;
         }
+        return pins;
+    }
 
-        return throwList;
+    /**
+     * Counts how many of the next N throws starting after a given frame index were made.
+     *
+     * @param frameIndex the frame index to start after
+     * @param count      number of throws to look for
+     * @return the number of throws made, at most {@code count}
+     */
+    private int countOfNextThrows(int frameIndex, int count) {
+        int made = 0;
+        for (int i = frameIndex + 1; made < count && i < frames.size(); i++) {
+            made = Math.min(count, made + frames.get(i).throwCount());
+        }
+        return made;
     }
 
     /**
@@ -162,18 +254,7 @@ public class Player {
             return false;
         }
 
-        Frame lastFrame = frames.get(MAX_FRAMES - 1);
-        boolean result = lastFrame.isCompleted();
-
-        if (!result) {
-            System.out.println("DEBUG: Player " + name + " isGameComplete: " + result +
-                    " (frames: " + frames.size() +
-                    ", last frame throws: " + lastFrame.getThrows() +
-                    ", last frame completed: " + lastFrame.isCompleted() +
-                    ", needsBonus: " + needsBonusThrows() + ")");
-        }
-
-        return result;
+        return frames.get(MAX_FRAMES - 1).isCompleted();
     }
 
     /**
@@ -190,10 +271,10 @@ public class Player {
         // For last frame, we need to check if we need bonus throws before checking completion
         if (lastFrame.isStrike()) {
             // For strike, we need 3 bonus throws
-            return getNextThrows(MAX_FRAMES - 1, 3).size() < 3;
+            return countOfNextThrows(MAX_FRAMES - 1, 3) < 3;
         } else if (lastFrame.isSpare()) {
             // For spare, we need 2 bonus throws
-            return getNextThrows(MAX_FRAMES - 1, 2).size() < 2;
+            return countOfNextThrows(MAX_FRAMES - 1, 2) < 2;
         }
 
         return false;
@@ -218,6 +299,25 @@ public class Player {
         return new ArrayList<>(frames);
     }
 
+    /**
+     * Returns the number of frames started by the player.
+     *
+     * @return the number of frames
+     */
+    public int frameCount() {
+        return frames.size();
+    }
+
+    /**
+     * Returns the frame at the given index, without copying the frame list.
+     *
+     * @param index the 0-based index of the frame
+     * @return the frame at that index
+     */
+    Frame frameAt(int index) {
+        return frames.get(index);
+    }
+
     /**
      * Returns the current active frame.
      *
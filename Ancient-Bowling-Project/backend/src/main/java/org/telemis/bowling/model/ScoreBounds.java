@@ -0,0 +1,209 @@
+package org.telemis.bowling.model;
+
+/**
+ * Computes the range of final scores a player can still reach.
+ * <p>
+ * A final score is linear in the throws: every throw counts once, plus once more for each
+ * earlier strike (next 3 throws) or spare (next 2 throws) of a regular frame whose bonus is still open.
+ * The open bonuses are tracked as the number of bonus windows with 1, 2 or 3 throws left.
+ * </p>
+ * <p>
+ * The minimum is reached by missing every remaining throw, which is always legal.
+ * The maximum is reached by knocking down every standing pin on each remaining throw:
+ * it maximises the pins of the throw and resets the pins, with a bonus, as early as possible.
+ * From a fresh frame that play only depends on the frame index and the open bonuses,
+ * so it is precomputed once in a table. The computation allocates nothing.
+ * </p>
+ */
+public final class ScoreBounds {
+    private static final int MAX_PINS = 15;
+    private static final int MAX_FRAMES = 5;
+    private static final int MAX_WINDOWS = 4; // at most 3 bonus windows can overlap a throw
+
+    /**
+     * Maximum points scored from the start of frame {@code [frameIndex]} until the end of the game,
+     * given the bonus windows with {@code [1][2][3]} throws left.
+     */
+    private static final int[][][][] MAX_FROM_FRAME =
+            new int[MAX_FRAMES + 1][MAX_WINDOWS][MAX_WINDOWS][MAX_WINDOWS];
+
+    static {
+        for (int frameIndex = MAX_FRAMES - 1; frameIndex >= 0; frameIndex--) {
+            for (int oneLeft = 0; oneLeft < MAX_WINDOWS; oneLeft++) {
+                for (int twoLeft = 0; twoLeft < MAX_WINDOWS; twoLeft++) {
+                    for (int threeLeft = 0; threeLeft < MAX_WINDOWS; threeLeft++) {
+                        MAX_FROM_FRAME[frameIndex][oneLeft][twoLeft][threeLeft] =
+                                maxFromFrame(frameIndex, oneLeft, twoLeft, threeLeft);
+                    }
+                }
+            }
+        }
+    }
+
+    private ScoreBounds() {
+    }
+
+    /**
+     * Returns the lowest final score the player can still reach, which is the current score.
+     *
+     * @param player the player to evaluate
+     * @return the minimum final score
+     */
+    public static int minFinalScore(Player player) {
+        return (int) (replayThrows(player) >>> 16);
+    }
+
+    /**
+     * Returns the highest final score the player can still reach.
+     *
+     * @param player the player to evaluate
+     * @return the maximum final score
+     */
+    public static int maxFinalScore(Player player) {
+        long state = replayThrows(player);
+        int score = (int) (state >>> 16);
+        int oneLeft = (int) (state >>> 8) & 0xF;
+        int twoLeft = (int) (state >>> 4) & 0xF;
+        int threeLeft = (int) state & 0xF;
+        int frameCount = player.frameCount();
+
+        Frame current = player.frameAt(frameCount - 1);
+        if (current.isLastFrame()) {
+            return score + maxToEndOfLastFrame(current, oneLeft, twoLeft, threeLeft);
+        }
+        if (!current.isCompleted()) {
+            // Knock down the standing pins: a strike on a fresh frame, a spare otherwise
+            int standing = MAX_PINS;
+            for (int t = 0; t < current.throwCount(); t++) {
+                standing -= current.throwAt(t);
+            }
+            score += standing * (1 + oneLeft + twoLeft + threeLeft);
+            oneLeft = twoLeft;
+            twoLeft = threeLeft;
+            threeLeft = 0;
+            if (current.throwCount() == 0) {
+                threeLeft++;
+            } else {
+                twoLeft++;
+            }
+        }
+        return score + MAX_FROM_FRAME[frameCount][oneLeft][twoLeft][threeLeft];
+    }
+
+    /**
+     * Scores the throws made so far.
+     *
+     * @return the score in the high bits, followed by the number of open bonus windows
+     *         with 1, 2 and 3 throws left, on 4 bits each
+     */
+    private static long replayThrows(Player player) {
+        int score = 0;
+        int oneLeft = 0;
+        int twoLeft = 0;
+        int threeLeft = 0;
+        for (int i = 0; i < player.frameCount(); i++) {
+            Frame frame = player.frameAt(i);
+            for (int t = 0; t < frame.throwCount(); t++) {
+                score += frame.throwAt(t) * (1 + oneLeft + twoLeft + threeLeft);
+                oneLeft = twoLeft;
+                twoLeft = threeLeft;
+                threeLeft = 0;
+            }
+            if (frame.isCompleted() && !frame.isLastFrame()) {
+                if (frame.isStrike()) {
+                    threeLeft++;
+                } else if (frame.isSpare()) {
+                    twoLeft++;
+                }
+            }
+        }
+        return ((long) score << 16) | (oneLeft << 8) | (twoLeft << 4) | threeLeft;
+    }
+
+    /**
+     * Plays strikes from the start of the given frame until the end of the game.
+     */
+    private static int maxFromFrame(int frameIndex, int oneLeft, int twoLeft, int threeLeft) {
+        if (frameIndex == MAX_FRAMES - 1) {
+            // Strike followed by three strikes, the pins being reset after each of them
+            int score = 0;
+            for (int t = 0; t < 4; t++) {
+                score += MAX_PINS * (1 + oneLeft + twoLeft + threeLeft);
+                oneLeft = twoLeft;
+                twoLeft = threeLeft;
+                threeLeft = 0;
+            }
+            return score;
+        }
+        int score = MAX_PINS * (1 + oneLeft + twoLeft + threeLeft);
+        return score + MAX_FROM_FRAME[frameIndex + 1][twoLeft][threeLeft][1];
+    }
+
+    /**
+     * Knocks down every standing pin until the last frame is completed.
+     */
+    private static int maxToEndOfLastFrame(Frame lastFrame, int oneLeft, int twoLeft, int threeLeft) {
+        int count = lastFrame.throwCount();
+        int t0 = count > 0 ? lastFrame.throwAt(0) : 0;
+        int t1 = count > 1 ? lastFrame.throwAt(1) : 0;
+        int t2 = count > 2 ? lastFrame.throwAt(2) : 0;
+        int t3 = count > 3 ? lastFrame.throwAt(3) : 0;
+        int score = 0;
+        while (!isLastFrameCompleted(t0, t1, t2, count)) {
+            int pins = lastFrameRemainingPins(t0, t1, t2, t3, count);
+            score += pins * (1 + oneLeft + twoLeft + threeLeft);
+            oneLeft = twoLeft;
+            twoLeft = threeLeft;
+            threeLeft = 0;
+            switch (count) {
+                case 0 -> t0 = pins;
+                case 1 -> t1 = pins;
+                case 2 -> t2 = pins;
+                case 3 -> t3 = pins;
+                default -> { }
+            }
+            count++;
+        }
+        return score;
+    }
+
+    /**
+     * Same completion rules as {@link Frame} for the last frame, on primitive throws.
+     */
+    private static boolean isLastFrameCompleted(int t0, int t1, int t2, int count) {
+        if (count >= 1 && t0 == MAX_PINS) {
+            return count >= 4;
+        } else if (count >= 2 && t0 + t1 == MAX_PINS) {
+            return count >= 4;
+        } else if (count >= 3 && t0 + t1 + t2 == MAX_PINS) {
+            return count >= 5;
+        }
+        return count >= 3;
+    }
+
+    /**
+     * Same remaining pins rules as {@link Frame#getRemainingPins()} for the last frame, on primitive throws.
+     */
+    private static int lastFrameRemainingPins(int t0, int t1, int t2, int t3, int count) {
+        if (count >= 1 && t0 == MAX_PINS) {
+            if (count == 1) {
+                return MAX_PINS;
+            } else if (count == 2) {
+                return t1 == MAX_PINS ? MAX_PINS : MAX_PINS - t1;
+            }
+            return t1 == MAX_PINS || t2 == MAX_PINS || t1 + t2 == MAX_PINS ? MAX_PINS : MAX_PINS - (t1 + t2);
+        }
+        if (count >= 2 && t0 + t1 == MAX_PINS) {
+            if (count == 2) {
+                return MAX_PINS;
+            } else if (count == 3) {
+                return t2 == MAX_PINS ? MAX_PINS : MAX_PINS - t2;
+            }
+            return MAX_PINS - (t2 + t3);
+        }
+        if (count >= 3 && t0 + t1 + t2 == MAX_PINS) {
+            return count == 3 ? MAX_PINS : (t3 == MAX_PINS ? MAX_PINS : MAX_PINS - t3);
+        }
+        return MAX_PINS - (t0 + t1 + t2);
+    }
+}
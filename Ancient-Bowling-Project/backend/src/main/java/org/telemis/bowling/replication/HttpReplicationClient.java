@@ -0,0 +1,78 @@
+package org.telemis.bowling.replication;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ReplicationClient} calling the endpoints of {@link StandbyController} over HTTP.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.replication", name = "standbys")
+public class HttpReplicationClient implements ReplicationClient {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration SNAPSHOT_TIMEOUT = Duration.ofMinutes(1);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    private final ObjectMapper objectMapper;
+
+    public HttpReplicationClient(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public CompletableFuture<Long> sendBatch(String standby, ReplicationBatch batch) {
+        HttpRequest request = request(standby + "/api/replication/standby/batches", TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(batch)))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> Long.parseLong(checkStatus(request, response).trim()));
+    }
+
+    @Override
+    public void sendSnapshot(String standby, ReplicationSnapshot snapshot) {
+        HttpRequest request = request(standby + "/api/replication/standby/snapshot", SNAPSHOT_TIMEOUT)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(toJson(snapshot)))
+                .build();
+        try {
+            checkStatus(request, httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(request.method() + " " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + request.method() + " " + request.uri(), e);
+        }
+    }
+
+    private static HttpRequest.Builder request(String url, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json");
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + body.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static String checkStatus(HttpRequest request, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " failed with status "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
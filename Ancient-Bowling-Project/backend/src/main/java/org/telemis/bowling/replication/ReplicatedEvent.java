@@ -0,0 +1,19 @@
+package org.telemis.bowling.replication;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.telemis.bowling.cluster.TransferredEvent;
+
+/**
+ * Entry of the replication log of a primary: an event recorded by a game, or its deletion.
+ *
+ * @param gameId  the ID of the game
+ * @param version the version of the game after the event, ignored for a deletion
+ * @param event   the event, {@code null} when the game was deleted
+ */
+public record ReplicatedEvent(String gameId, long version, TransferredEvent event) {
+
+    @JsonIgnore
+    public boolean isDeletion() {
+        return event == null;
+    }
+}
@@ -0,0 +1,12 @@
+package org.telemis.bowling.replication;
+
+import java.util.List;
+
+/**
+ * Consecutive entries of the replication log of a primary, sent to a standby.
+ *
+ * @param logId    the ID of the log, drawn by the primary when it starts
+ * @param firstLsn the log sequence number of the first entry, the others following it
+ * @param events   the entries, in log order
+ */
+public record ReplicationBatch(String logId, long firstLsn, List<ReplicatedEvent> events) {}
@@ -0,0 +1,27 @@
+package org.telemis.bowling.replication;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls made by a primary to its standbys.
+ */
+public interface ReplicationClient {
+
+    /**
+     * Sends a batch of log entries without waiting, so that several batches can be in flight.
+     *
+     * @param standby the URL of the standby
+     * @param batch   the entries
+     * @return a future completed with the last log sequence number applied by the standby,
+     * or {@link ReplicationStandby#SNAPSHOT_NEEDED} if it must first receive a snapshot
+     */
+    CompletableFuture<Long> sendBatch(String standby, ReplicationBatch batch);
+
+    /**
+     * Sends a part of a snapshot and waits for the standby to apply it.
+     *
+     * @param standby  the URL of the standby
+     * @param snapshot the part of the snapshot
+     */
+    void sendSnapshot(String standby, ReplicationSnapshot snapshot);
+}
@@ -0,0 +1,29 @@
+package org.telemis.bowling.replication;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/replication")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "bowling.replication", name = "standbys")
+@Tag(name = "Replication", description = "Streaming of the games to standby nodes")
+public class ReplicationController {
+    private final ReplicationPrimary replicationPrimary;
+
+    public ReplicationController(ReplicationPrimary replicationPrimary) {
+        this.replicationPrimary = replicationPrimary;
+    }
+
+    @Operation(summary = "Get replication lag",
+               description = "Retrieves the position of each standby in the log of this node and how far behind it is")
+    @GetMapping
+    public ReplicationPrimary.ReplicationStatus getStatus() {
+        return replicationPrimary.status();
+    }
+}
@@ -0,0 +1,454 @@
+package org.telemis.bowling.replication;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.cluster.TransferredEvent;
+import org.telemis.bowling.model.GameEvent;
+import org.telemis.bowling.service.GameEventListener;
+import org.telemis.bowling.service.GameService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Streams the events recorded by the games of this node to standby nodes, which apply them to their own games,
+ * see {@link ReplicationStandby}.
+ * <p>
+ * Every event is appended to a bounded in-memory log, under a log sequence number (LSN). One shipper thread
+ * per standby sends the new entries in batches, with several batches in flight, and each standby answers
+ * with the last LSN it applied. A standby too far behind for the log, or restarted, first receives
+ * a snapshot of every game, then follows the log from the LSN of the snapshot.
+ * </p>
+ * <p>
+ * In the default asynchronous mode, changes never wait for the standbys. In synchronous mode, the thread
+ * making a change waits, while holding the lock of its game only, until a standby has applied it or the
+ * acknowledgement timeout has elapsed, in which case the change stays committed on this node alone.
+ * </p>
+ * <p>
+ * Enabled by setting {@code bowling.replication.standbys} to the URLs of the standbys.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.replication", name = "standbys")
+public class ReplicationPrimary implements GameEventListener, AutoCloseable {
+    static final int SNAPSHOT_GAMES = 256;
+    private static final Logger log = LoggerFactory.getLogger(ReplicationPrimary.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long RETRY_DELAY_MILLIS = 500;
+
+    /**
+     * Acknowledgement awaited by a change before returning.
+     */
+    public enum AckMode {
+        /** The change returns once recorded in the log. */
+        ASYNC,
+        /** The change returns once a standby has applied it, or after the acknowledgement timeout. */
+        SYNC
+    }
+
+    private final String logId = UUID.randomUUID().toString();
+    private final Supplier<GameService> gameService;
+    private final ReplicationClient client;
+    private final AckMode ackMode;
+    private final long ackTimeoutNanos;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Shipper[] shippers;
+
+    // Log, a ring of the last entries, guarded by appendLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final int mask;
+    private final String[] gameIds;
+    private final long[] versions;
+    private final GameEvent[] events;
+    private final long[] appendedAt;
+    private volatile long lastLsn; // LSNs start at 1
+
+    private final ReentrantLock ackLock = new ReentrantLock();
+    private final Condition acknowledged = ackLock.newCondition();
+    private final LongAdder syncTimeouts = new LongAdder();
+    private volatile boolean running = true;
+
+    @Autowired
+    public ReplicationPrimary(ObjectProvider<GameService> gameService, ReplicationClient client,
+                              @Value("${bowling.replication.standbys}") String[] standbys,
+                              @Value("${bowling.replication.ack:async}") String ackMode,
+                              @Value("${bowling.replication.ack-timeout:PT1S}") Duration ackTimeout,
+                              @Value("${bowling.replication.batch-size:512}") int batchSize,
+                              @Value("${bowling.replication.max-in-flight:4}") int maxInFlight,
+                              @Value("${bowling.replication.capacity:262144}") int capacity) {
+        this(gameService::getObject, client, standbys, parseAckMode(ackMode), ackTimeout, batchSize, maxInFlight, capacity);
+    }
+
+    ReplicationPrimary(Supplier<GameService> gameService, ReplicationClient client, String[] standbys,
+                       AckMode ackMode, Duration ackTimeout, int batchSize, int maxInFlight, int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of 2");
+        }
+        if (batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Batch size and batches in flight must be positive");
+        }
+        this.gameService = gameService; // Resolved lazily: the game service depends on its listeners
+        this.client = client;
+        this.ackMode = ackMode;
+        this.ackTimeoutNanos = ackTimeout.toNanos();
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.mask = capacity - 1;
+        this.gameIds = new String[capacity];
+        this.versions = new long[capacity];
+        this.events = new GameEvent[capacity];
+        this.appendedAt = new long[capacity];
+        this.shippers = new Shipper[standbys.length];
+        for (int i = 0; i < standbys.length; i++) {
+            shippers[i] = new Shipper(standbys[i].trim());
+        }
+    }
+
+    /**
+     * Starts streaming to the standbys, once the application can serve the snapshots.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (Shipper shipper : shippers) {
+            Thread thread = new Thread(shipper, "replication-" + shipper.standby);
+            thread.setDaemon(true);
+            shipper.thread = thread;
+            thread.start();
+        }
+        log.info("Replicating log {} to {} in {} mode", logId, standbyUrls(), ackMode);
+    }
+
+    @Override
+    public void onEventRecorded(String gameId, long version, GameEvent event) {
+        awaitAcknowledgement(append(gameId, version, event));
+    }
+
+    @Override
+    public void onGameDeleted(String gameId) {
+        awaitAcknowledgement(append(gameId, -1, null));
+    }
+
+    private long append(String gameId, long version, GameEvent event) {
+        long lsn;
+        appendLock.lock();
+        try {
+            lsn = lastLsn + 1;
+            int index = (int) (lsn & mask);
+            gameIds[index] = gameId;
+            versions[index] = version;
+            events[index] = event;
+            appendedAt[index] = System.nanoTime();
+            lastLsn = lsn;
+        } finally {
+            appendLock.unlock();
+        }
+        for (Shipper shipper : shippers) {
+            if (shipper.idle) {
+                LockSupport.unpark(shipper.thread);
+            }
+        }
+        return lsn;
+    }
+
+    /**
+     * Copies the entries of the log from an LSN on.
+     *
+     * @return the entries, or {@code null} if the first one was already overwritten
+     */
+    private List<ReplicatedEvent> read(long fromLsn, int max) {
+        appendLock.lock();
+        try {
+            if (lastLsn - fromLsn >= events.length) {
+                return null;
+            }
+            int count = (int) Math.min(max, lastLsn - fromLsn + 1);
+            List<ReplicatedEvent> batch = new ArrayList<>(count);
+            for (long lsn = fromLsn; lsn < fromLsn + count; lsn++) {
+                int index = (int) (lsn & mask);
+                GameEvent event = events[index];
+                batch.add(new ReplicatedEvent(gameIds[index], versions[index],
+                        event != null ? TransferredEvent.of(event) : null));
+            }
+            return batch;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void awaitAcknowledgement(long lsn) {
+        if (ackMode != AckMode.SYNC || shippers.length == 0) {
+            return;
+        }
+        ackLock.lock();
+        try {
+            long remaining = ackTimeoutNanos;
+            while (acknowledgedLsn() < lsn) {
+                if (remaining <= 0) {
+                    syncTimeouts.increment();
+                    return;
+                }
+                remaining = acknowledged.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ackLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the highest LSN applied by a standby.
+     */
+    private long acknowledgedLsn() {
+        long acked = 0;
+        for (Shipper shipper : shippers) {
+            acked = Math.max(acked, shipper.ackedLsn.get());
+        }
+        return acked;
+    }
+
+    private void signalAcknowledgement() {
+        if (ackMode == AckMode.SYNC) {
+            ackLock.lock();
+            try {
+                acknowledged.signalAll();
+            } finally {
+                ackLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the position of each standby in the log and how far behind it is.
+     */
+    public ReplicationStatus status() {
+        List<StandbyStatus> standbys = new ArrayList<>(shippers.length);
+        long now = System.nanoTime();
+        appendLock.lock();
+        try {
+            for (Shipper shipper : shippers) {
+                long acked = shipper.ackedLsn.get();
+                long lagMillis = 0;
+                if (acked < lastLsn) {
+                    lagMillis = lastLsn - acked > events.length
+                            ? -1 // Older than the log, not known
+                            : TimeUnit.NANOSECONDS.toMillis(now - appendedAt[(int) ((acked + 1) & mask)]);
+                }
+                standbys.add(new StandbyStatus(shipper.standby, shipper.state(), acked, lastLsn - acked, lagMillis));
+            }
+            return new ReplicationStatus(logId, lastLsn, ackMode.name().toLowerCase(Locale.ROOT),
+                    syncTimeouts.sum(), standbys);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bowling.replication.lag-report-interval:PT10S}")
+    public void reportLag() {
+        for (StandbyStatus standby : status().standbys()) {
+            if (standby.lagEvents() > 0) {
+                log.info("Standby {} is {} behind by {} events ({} ms)", standby.url(), standby.state(),
+                        standby.lagEvents(), standby.lagMillis());
+            }
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        running = false;
+        for (Shipper shipper : shippers) {
+            if (shipper.thread != null) {
+                shipper.thread.interrupt();
+            }
+        }
+    }
+
+    private List<String> standbyUrls() {
+        List<String> urls = new ArrayList<>(shippers.length);
+        for (Shipper shipper : shippers) {
+            urls.add(shipper.standby);
+        }
+        return urls;
+    }
+
+    private static AckMode parseAckMode(String ackMode) {
+        try {
+            return AckMode.valueOf(ackMode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid replication acknowledgement mode: " + ackMode);
+        }
+    }
+
+    /**
+     * Sends the log to one standby. Batches are sent without waiting for the previous ones to be acknowledged;
+     * after a failure, the batches in flight are awaited and the log is resent from the last acknowledged LSN.
+     */
+    private final class Shipper implements Runnable {
+        private final String standby;
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final AtomicLong ackedLsn = new AtomicLong();
+        private long sentLsn; // Only used by the shipper thread
+        private volatile boolean snapshotNeeded = true;
+        private volatile boolean failed;
+        private volatile boolean idle;
+        private volatile Thread thread;
+
+        private Shipper(String standby) {
+            this.standby = standby;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    if (snapshotNeeded) {
+                        sendSnapshot();
+                    } else if (failed) {
+                        awaitInFlight();
+                        Thread.sleep(RETRY_DELAY_MILLIS);
+                        sentLsn = ackedLsn.get();
+                        failed = false;
+                    } else if (sentLsn < lastLsn) {
+                        sendBatch();
+                    } else {
+                        idle = true;
+                        if (sentLsn >= lastLsn) {
+                            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                        }
+                        idle = false;
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                } catch (RuntimeException e) {
+                    log.warn("Replication to {} failed, will retry", standby, e);
+                    failed = true;
+                }
+            }
+        }
+
+        private void sendBatch() throws InterruptedException {
+            inFlight.acquire();
+            List<ReplicatedEvent> batch = read(sentLsn + 1, batchSize);
+            if (batch == null) {
+                inFlight.release();
+                log.warn("Standby {} fell behind the replication log, sending a snapshot", standby);
+                snapshotNeeded = true;
+                return;
+            }
+            long firstLsn = sentLsn + 1;
+            sentLsn += batch.size();
+            client.sendBatch(standby, new ReplicationBatch(logId, firstLsn, batch)).whenComplete((applied, error) -> {
+                inFlight.release();
+                if (error != null) {
+                    if (!failed) {
+                        log.warn("Replication to {} failed, will resend from LSN {}", standby, ackedLsn.get() + 1, error);
+                    }
+                    failed = true;
+                } else if (applied == ReplicationStandby.SNAPSHOT_NEEDED) {
+                    snapshotNeeded = true;
+                } else {
+                    ackedLsn.accumulateAndGet(applied, Math::max);
+                    signalAcknowledgement();
+                }
+            });
+        }
+
+        /**
+         * Sends every game, then resumes the log after the last LSN appended before the games were read:
+         * the snapshot includes those entries, and the later entries it also includes are skipped by the standby.
+         */
+        private void sendSnapshot() throws InterruptedException {
+            awaitInFlight();
+            long lsn = lastLsn;
+            GameService games = gameService.get();
+            List<String> ids = new ArrayList<>(games.getGameIds());
+            try {
+                int from = 0;
+                do {
+                    int to = Math.min(ids.size(), from + SNAPSHOT_GAMES);
+                    Map<String, List<TransferredEvent>> part = new LinkedHashMap<>();
+                    for (String id : ids.subList(from, to)) {
+                        try {
+                            List<GameEvent> gameEvents = games.getEvents(id);
+                            List<TransferredEvent> transferred = new ArrayList<>(gameEvents.size());
+                            for (GameEvent event : gameEvents) {
+                                transferred.add(TransferredEvent.of(event));
+                            }
+                            part.put(id, transferred);
+                        } catch (IllegalArgumentException e) {
+                            // Deleted in the meantime, the deletion follows in the log
+                        }
+                    }
+                    client.sendSnapshot(standby, new ReplicationSnapshot(logId, lsn, from == 0, to == ids.size(), part));
+                    from = to;
+                } while (from < ids.size());
+            } catch (RuntimeException e) {
+                log.warn("Snapshot to {} failed, will retry", standby, e);
+                Thread.sleep(RETRY_DELAY_MILLIS);
+                return;
+            }
+            log.info("Sent snapshot of {} games at LSN {} to {}", ids.size(), lsn, standby);
+            sentLsn = lsn;
+            ackedLsn.set(lsn);
+            failed = false;
+            snapshotNeeded = false;
+            signalAcknowledgement();
+        }
+
+        private void awaitInFlight() throws InterruptedException {
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        }
+
+        private String state() {
+            return snapshotNeeded ? "snapshot" : failed ? "retrying" : "streaming";
+        }
+    }
+
+    /**
+     * Replication state of this node.
+     *
+     * @param logId         the ID of the log, drawn when this node started
+     * @param lastLsn       the LSN of the last entry of the log
+     * @param ack           the acknowledgement mode, async or sync
+     * @param syncTimeouts  the number of synchronous changes that returned without acknowledgement
+     * @param standbys      the state of each standby
+     */
+    public record ReplicationStatus(String logId, long lastLsn, String ack, long syncTimeouts,
+                                    List<StandbyStatus> standbys) {}
+
+    /**
+     * Replication state of a standby, as seen by this node.
+     *
+     * @param url       the URL of the standby
+     * @param state     streaming, retrying after a failure, or waiting for a snapshot
+     * @param ackedLsn  the last LSN applied by the standby
+     * @param lagEvents the number of entries not yet applied by the standby
+     * @param lagMillis the age of the oldest entry not yet applied, -1 if no longer in the log
+     */
+    public record StandbyStatus(String url, String state, long ackedLsn, long lagEvents, long lagMillis) {}
+}
@@ -0,0 +1,19 @@
+package org.telemis.bowling.replication;
+
+import org.telemis.bowling.cluster.TransferredEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Part of the full state of a primary, sent to a standby that cannot catch up from the log.
+ * The games of a snapshot are sent in several parts, in order.
+ *
+ * @param logId the ID of the log of the primary
+ * @param lsn   the log sequence number the snapshot includes every entry up to, the stream resuming after it
+ * @param first whether this is the first part, which replaces all the games of the standby
+ * @param last  whether this is the last part, after which the standby follows the log
+ * @param games the events of each game of this part, from its creation
+ */
+public record ReplicationSnapshot(String logId, long lsn, boolean first, boolean last,
+                                  Map<String, List<TransferredEvent>> games) {}
@@ -0,0 +1,250 @@
+package org.telemis.bowling.replication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.cluster.TransferredEvent;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.model.GameEvent;
+import org.telemis.bowling.service.GameService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies the log of a primary, see {@link ReplicationPrimary}, to the games of this node, so that it can take over
+ * the lanes of the primary at once.
+ * <p>
+ * Entries are applied in LSN order through {@link GameService}, so the listeners of this node, such as the
+ * leaderboard, follow the games too. Batches arriving ahead of a missing one are held until it arrives.
+ * An event is only applied to a game at the version preceding it, which makes resent entries harmless.
+ * </p>
+ * <p>
+ * Until then, the games of this node only change through the entries of the primary: the changes of clients,
+ * whether through the API or the sensors, are refused with {@link StandbyNotPromotedException}, so that
+ * the games cannot diverge. Once promoted, this node stops accepting entries and serves the games as their
+ * new primary.
+ * Enabled by setting {@code bowling.replication.standby} to {@code true}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.replication", name = "standby", havingValue = "true")
+public class ReplicationStandby {
+    /** LSN answered when the log of the primary is unknown, to receive a snapshot first. */
+    public static final long SNAPSHOT_NEEDED = -1;
+    static final int MAX_PENDING_BATCHES = 1024;
+    private static final Logger log = LoggerFactory.getLogger(ReplicationStandby.class);
+
+    private final GameService gameService;
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private final TreeMap<Long, ReplicationBatch> pending = new TreeMap<>(); // By first LSN
+    private String logId; // Of the log being followed, null until a snapshot has been applied
+    private long appliedLsn;
+    private volatile long lastReceivedAt;
+    private volatile boolean promoted;
+
+    public ReplicationStandby(GameService gameService) {
+        this.gameService = gameService;
+        gameService.setWriteGuard(this::checkWritable);
+    }
+
+    /**
+     * Applies a batch of log entries, or holds it until the entries preceding it arrive.
+     *
+     * @param batch the entries
+     * @return the last LSN applied, or {@link #SNAPSHOT_NEEDED}
+     * @throws IllegalStateException if this node was promoted
+     */
+    public long receive(ReplicationBatch batch) {
+        checkNotPromoted();
+        applyLock.lock();
+        try {
+            lastReceivedAt = System.currentTimeMillis();
+            if (!batch.logId().equals(logId)) {
+                return SNAPSHOT_NEEDED;
+            }
+            if (batch.firstLsn() > appliedLsn + 1) {
+                if (pending.size() < MAX_PENDING_BATCHES) {
+                    pending.put(batch.firstLsn(), batch);
+                }
+                return appliedLsn;
+            }
+            apply(batch);
+            while (logId != null && !pending.isEmpty() && pending.firstKey() <= appliedLsn + 1) {
+                apply(pending.pollFirstEntry().getValue());
+            }
+            return logId != null ? appliedLsn : SNAPSHOT_NEEDED;
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a part of a snapshot. The first part removes every game of this node.
+     *
+     * @param snapshot the part of the snapshot
+     * @throws IllegalStateException if this node was promoted
+     */
+    public void receive(ReplicationSnapshot snapshot) {
+        checkNotPromoted();
+        applyLock.lock();
+        try {
+            lastReceivedAt = System.currentTimeMillis();
+            if (snapshot.first()) {
+                logId = null;
+                pending.clear();
+                for (String gameId : gameService.getGameIds()) {
+                    deleteIfPresent(gameId);
+                }
+            }
+            for (Map.Entry<String, List<TransferredEvent>> game : snapshot.games().entrySet()) {
+                List<GameEvent> events = new ArrayList<>(game.getValue().size());
+                for (TransferredEvent event : game.getValue()) {
+                    events.add(event.toEvent());
+                }
+                deleteIfPresent(game.getKey());
+                gameService.importGame(game.getKey(), events);
+            }
+            if (snapshot.last()) {
+                logId = snapshot.logId();
+                appliedLsn = snapshot.lsn();
+                log.info("Applied snapshot of log {} at LSN {}", logId, appliedLsn);
+            }
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    private void apply(ReplicationBatch batch) {
+        long lsn = batch.firstLsn();
+        for (ReplicatedEvent event : batch.events()) {
+            if (lsn > appliedLsn) {
+                if (!apply(event)) {
+                    log.warn("Game {} diverged from the primary at LSN {}, waiting for a snapshot", event.gameId(), lsn);
+                    logId = null;
+                    pending.clear();
+                    return;
+                }
+                appliedLsn = lsn;
+            }
+            lsn++;
+        }
+    }
+
+    /**
+     * Applies an entry to its game.
+     *
+     * @return {@code false} if the game is not at the version preceding the entry
+     */
+    private boolean apply(ReplicatedEvent replicated) {
+        String gameId = replicated.gameId();
+        if (replicated.isDeletion()) {
+            deleteIfPresent(gameId);
+            return true;
+        }
+        GameEvent event = replicated.event().toEvent();
+        if (event instanceof GameEvent.Created) {
+            if (!gameService.hasGame(gameId)) {
+                gameService.createGame(gameId);
+            }
+            return true;
+        }
+        Game game;
+        try {
+            game = gameService.getGame(gameId);
+        } catch (IllegalArgumentException e) {
+            return true; // Change made while the game was deleted, see GameEventListener#onGameDeleted
+        }
+        game.lock().lock();
+        try {
+            if (replicated.version() <= game.getVersion()) {
+                return true; // Already in a snapshot
+            } else if (replicated.version() != game.getVersion() + 1) {
+                return false;
+            }
+            if (event instanceof GameEvent.PlayerAdded added) {
+                gameService.addPlayer(gameId, added.playerName());
+            } else if (event instanceof GameEvent.Started) {
+                gameService.startGame(gameId);
+            } else if (event instanceof GameEvent.ThrowMade made) {
+                gameService.addThrow(gameId, made.pins());
+            } else if (event instanceof GameEvent.ThrowCorrected corrected) {
+                gameService.correctThrow(gameId, corrected.playerName(), corrected.frameNumber(),
+                        corrected.throwNumber(), corrected.pins());
+            } else {
+                event.applyTo(game);
+            }
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return false; // Accepted by the primary, so the games differ
+        } finally {
+            game.lock().unlock();
+        }
+    }
+
+    private void deleteIfPresent(String gameId) {
+        try {
+            gameService.deleteGame(gameId);
+        } catch (IllegalArgumentException e) {
+            // Already absent
+        }
+    }
+
+    /**
+     * Stops following the primary, so that this node can serve its games.
+     *
+     * @return the last LSN applied
+     */
+    public long promote() {
+        applyLock.lock();
+        try {
+            promoted = true;
+            log.info("Promoted at LSN {} of log {}", appliedLsn, logId);
+            return appliedLsn;
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    public StandbyView status() {
+        applyLock.lock();
+        try {
+            long last = lastReceivedAt;
+            return new StandbyView(logId, appliedLsn, pending.size(), promoted,
+                    last == 0 ? -1 : System.currentTimeMillis() - last);
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /**
+     * Only lets the games change while entries are applied, under the apply lock, or once promoted.
+     */
+    private void checkWritable() {
+        if (!promoted && !applyLock.isHeldByCurrentThread()) {
+            throw new StandbyNotPromotedException();
+        }
+    }
+
+    private void checkNotPromoted() {
+        if (promoted) {
+            throw new IllegalStateException("Standby was promoted and no longer accepts replicated events");
+        }
+    }
+
+    /**
+     * Replication state of this standby.
+     *
+     * @param logId                  the ID of the log followed, null until a snapshot has been applied
+     * @param appliedLsn             the last LSN applied
+     * @param pendingBatches         the number of batches held until the entries preceding them arrive
+     * @param promoted               whether this node was promoted
+     * @param millisSinceLastReceive the time since the primary last sent entries, -1 if never
+     */
+    public record StandbyView(String logId, long appliedLsn, int pendingBatches, boolean promoted,
+                              long millisSinceLastReceive) {}
+}
@@ -0,0 +1,57 @@
+package org.telemis.bowling.replication;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/replication/standby")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "bowling.replication", name = "standby", havingValue = "true")
+@Tag(name = "Replication", description = "Streaming of the games to standby nodes")
+public class StandbyController {
+    private final ReplicationStandby replicationStandby;
+
+    public StandbyController(ReplicationStandby replicationStandby) {
+        this.replicationStandby = replicationStandby;
+    }
+
+    @Operation(summary = "Get standby state", description = "Retrieves the position of this standby in the log of its primary")
+    @GetMapping
+    public ReplicationStandby.StandbyView getStatus() {
+        return replicationStandby.status();
+    }
+
+    @Operation(summary = "Promote the standby",
+               description = "Stops following the primary so that this node serves the games, returns the last LSN applied")
+    @PostMapping("/promote")
+    public long promote() {
+        return replicationStandby.promote();
+    }
+
+    @Operation(summary = "Receive log entries", description = "Internal, sent by the primary, returns the last LSN applied")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Entries applied or held, -1 if a snapshot is needed first"),
+        @ApiResponse(responseCode = "400", description = "Standby promoted")
+    })
+    @PostMapping("/batches")
+    public long receiveBatch(@RequestBody ReplicationBatch batch) {
+        return replicationStandby.receive(batch);
+    }
+
+    @Operation(summary = "Receive a snapshot part", description = "Internal, sent by the primary")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Games of the part applied"),
+        @ApiResponse(responseCode = "400", description = "Standby promoted")
+    })
+    @PutMapping("/snapshot")
+    public ResponseEntity<Void> receiveSnapshot(@RequestBody ReplicationSnapshot snapshot) {
+        replicationStandby.receive(snapshot);
+        return ResponseEntity.ok().build();
+    }
+}
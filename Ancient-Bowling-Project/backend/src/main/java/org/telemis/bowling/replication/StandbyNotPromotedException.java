@@ -0,0 +1,12 @@
+package org.telemis.bowling.replication;
+
+/**
+ * Thrown when a client changes a game on a standby, which only applies the changes replicated from its primary
+ * until it is promoted. The client should send the change to the primary.
+ */
+public class StandbyNotPromotedException extends IllegalStateException {
+
+    public StandbyNotPromotedException() {
+        super("Standby only applies the changes of its primary until it is promoted");
+    }
+}
@@ -0,0 +1,162 @@
+package org.telemis.bowling.service;
+
+import org.telemis.bowling.model.GameEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Receives the changes applied to games by {@link GameService}.
+ * <p>
+ * Listeners are called on the thread applying the change, while the game is locked,
+ * so the events of a game are delivered in order. They must return quickly.
+ * </p>
+ */
+public interface GameEventListener {
+
+    /**
+     * Called after a game has been created, before any other notification of the game.
+     *
+     * @param gameId    the ID of the game
+     * @param createdAt the creation time of the game
+     */
+    default void onGameCreated(String gameId, Instant createdAt) {
+    }
+
+    /**
+     * Called after a player has joined a game.
+     *
+     * @param gameId     the ID of the game
+     * @param playerName the name of the player
+     */
+    default void onPlayerAdded(String gameId, String playerName) {
+    }
+
+    /**
+     * Called after a game has been started.
+     *
+     * @param gameId the ID of the game
+     */
+    default void onGameStarted(String gameId) {
+    }
+
+    /**
+     * Called after a game has been deleted.
+     * Changes that were waiting for the game when it was deleted may still be published afterwards.
+     *
+     * @param gameId the ID of the game
+     */
+    default void onGameDeleted(String gameId) {
+    }
+
+    /**
+     * Called after a throw has been added to a game.
+     *
+     * @param event the throw that was added
+     */
+    default void onThrow(ThrowEvent event) {
+    }
+
+    /**
+     * Called after a throw has completed a frame, after {@link #onThrow(ThrowEvent)}.
+     *
+     * @param event the frame that was completed
+     */
+    default void onFrameCompleted(FrameEvent event) {
+    }
+
+    /**
+     * Called after the last throw of a game, after {@link #onFrameCompleted(FrameEvent)}.
+     *
+     * @param event the final scores of the game
+     */
+    default void onGameCompleted(GameCompletedEvent event) {
+    }
+
+    /**
+     * Called after a throw already made has been corrected.
+     * The throws following it were replayed, so the frames and score of the player may have changed,
+     * but no throw was added or removed.
+     *
+     * @param event the corrected throw
+     */
+    default void onThrowCorrected(ThrowCorrectedEvent event) {
+    }
+
+    /**
+     * Called after every change of a game, with the event recorded in its history,
+     * before the notifications specific to the change. Games imported from their events,
+     * see {@link GameService#importGame(String, List)}, publish all their events at once.
+     *
+     * @param gameId  the ID of the game
+     * @param version the version of the game after the change
+     * @param event   the recorded event
+     */
+    default void onEventRecorded(String gameId, long version, GameEvent event) {
+    }
+
+    /**
+     * A throw added to a game.
+     *
+     * @param gameId         the ID of the game
+     * @param playerName     the name of the player who threw
+     * @param frameNumber    the 1-based number of the frame the throw was added to
+     * @param throwIndex     the index of the throw in its frame, 0 for the first throw
+     * @param standingPins   the number of pins standing before the throw
+     * @param pins           the number of pins knocked down
+     * @param frameCompleted whether the throw completed the frame
+     * @param strike         whether the frame is a strike
+     * @param spare          whether the frame is a spare
+     * @param score          the score of the player after the throw
+     */
+    record ThrowEvent(String gameId, String playerName, int frameNumber, int throwIndex, int standingPins,
+                      int pins, boolean frameCompleted, boolean strike, boolean spare, int score) {}
+
+    /**
+     * A throw corrected in a game. Frames keep their number of throws, so only the frame of the throw
+     * can change, besides the bonuses scored by the previous ones.
+     *
+     * @param gameId        the ID of the game
+     * @param playerName    the name of the player who made the throw
+     * @param frameNumber   the 1-based number of the frame of the throw
+     * @param throwNumber   the 1-based number of the throw in its frame
+     * @param previousPins  the number of pins previously recorded
+     * @param pins          the corrected number of pins
+     * @param score         the score of the player after the correction
+     * @param previousScore the score of the player before the correction
+     * @param gameCompleted whether the game was already complete, its final scores having been published
+     * @param previousFrame the frame of the throw before the correction, or {@code null} if it is not completed
+     * @param frame         the frame of the throw after the correction, or {@code null} if it is not completed
+     */
+    record ThrowCorrectedEvent(String gameId, String playerName, int frameNumber, int throwNumber,
+                               int previousPins, int pins, int score, int previousScore, boolean gameCompleted,
+                               FrameEvent previousFrame, FrameEvent frame) {}
+
+    /**
+     * A frame completed by a player.
+     *
+     * @param gameId      the ID of the game
+     * @param playerName  the name of the player
+     * @param frameNumber the 1-based number of the frame
+     * @param pins        the pins knocked down in the frame, bonus throws of the last frame included
+     * @param strike      whether the frame is a strike
+     * @param spare       whether the frame is a spare
+     */
+    record FrameEvent(String gameId, String playerName, int frameNumber, int pins, boolean strike, boolean spare) {}
+
+    /**
+     * A game completed by all its players.
+     *
+     * @param gameId      the ID of the game
+     * @param finalScores the final score of each player, in turn order
+     */
+    record GameCompletedEvent(String gameId, List<FinalScore> finalScores) {}
+
+    /**
+     * Final score of a player.
+     *
+     * @param playerName the player's name
+     * @param score      the final score
+     */
+    record FinalScore(String playerName, int score) {}
+}
@@ -0,0 +1,167 @@
+package org.telemis.bowling.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.util.Hashing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates game IDs that are unique across the nodes of a cluster and hard to guess.
+ * <p>
+ * An ID is a 52-bit {@code long}, exact in JSON numbers and JavaScript. Before scrambling, its high
+ * {@value #NODE_BITS} bits are the node that allocated it and the others a sequence number of the node,
+ * so nodes never hand out the same ID without talking to each other. The pair is scrambled by a keyed
+ * permutation (a 4-round Feistel network), so consecutive IDs look random. Only nodes sharing the same secret
+ * are guaranteed distinct IDs, which is why a cluster requires one. The node is not meant to be read back:
+ * games move between nodes, so their owner is given by the cluster, not by their ID.
+ * </p>
+ * <p>
+ * Sequence numbers are reserved by blocks of {@value #BLOCK_SIZE} from a single counter, so the shared counter
+ * is only updated once per block. Each block belongs to a stripe, chosen by thread, whose monitor is rarely contended.
+ * Stripes are used rather than thread locals, since a virtual thread per request would waste a block per request.
+ * The sequence numbers left in blocks are lost when the node stops, which the 42-bit space easily affords.
+ * </p>
+ */
+@Component
+public class GameIdAllocator {
+    public static final int NODE_BITS = 10;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    static final int SEQUENCE_BITS = 42;
+    static final int ID_BITS = NODE_BITS + SEQUENCE_BITS;
+    static final int BLOCK_SIZE = 4096;
+    private static final int HALF_BITS = ID_BITS / 2;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final long MAX_BLOCKS = (1L << SEQUENCE_BITS) / BLOCK_SIZE;
+    private static final int ROUNDS = 4;
+
+    private final long node;
+    private final boolean sharedSecret;
+    private final long[] keys = new long[ROUNDS];
+    private final AtomicLong nextBlock = new AtomicLong();
+    private final Stripe[] stripes;
+
+    /**
+     * Creates an allocator for a node that is not part of a cluster, with a random secret.
+     */
+    public GameIdAllocator() {
+        this(0, "");
+    }
+
+    /**
+     * Creates an allocator for a node.
+     *
+     * @param node   the ID of the node, between 0 and {@link #MAX_NODE}, by default the ID of the node in its cluster
+     * @param secret the key of the scrambling, shared by the nodes of a cluster; random when blank
+     */
+    @Autowired
+    public GameIdAllocator(@Value("${bowling.ids.node:${bowling.cluster.node-id:0}}") int node,
+                           @Value("${bowling.ids.secret:}") String secret) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE);
+        }
+        this.node = node;
+        this.sharedSecret = secret != null && !secret.isBlank();
+        ByteBuffer key = ByteBuffer.wrap(sharedSecret ? digest(secret) : randomKey());
+        for (int i = 0; i < ROUNDS; i++) {
+            keys[i] = key.getLong();
+        }
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Returns a new game ID.
+     *
+     * @return the ID, between 0 and 2<sup>52</sup> - 1
+     * @throws IllegalStateException if the sequence numbers of this node are exhausted
+     */
+    public long next() {
+        long threadId = Thread.currentThread().getId();
+        Stripe stripe = stripes[(int) (Hashing.mix(threadId) & (stripes.length - 1))];
+        long sequence;
+        synchronized (stripe) { // Held briefly and never blocking, so harmless to virtual threads
+            if (stripe.next == stripe.end) {
+                long block = nextBlock.getAndIncrement();
+                if (block >= MAX_BLOCKS) {
+                    throw new IllegalStateException("Game IDs of node " + node + " are exhausted");
+                }
+                stripe.next = block * BLOCK_SIZE;
+                stripe.end = stripe.next + BLOCK_SIZE;
+            }
+            sequence = stripe.next++;
+        }
+        return scramble((node << SEQUENCE_BITS) | sequence);
+    }
+
+    public int node() {
+        return (int) node;
+    }
+
+    /**
+     * Returns whether the scrambling key was given rather than drawn at random, so that other nodes may share it.
+     */
+    public boolean hasSharedSecret() {
+        return sharedSecret;
+    }
+
+    long scramble(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            long next = left ^ round(right, keys[round]);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    long unscramble(long id) {
+        long left = id >>> HALF_BITS;
+        long right = id & HALF_MASK;
+        for (int round = ROUNDS - 1; round >= 0; round--) {
+            long previous = right ^ round(left, keys[round]);
+            right = left;
+            left = previous;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long round(long half, long key) {
+        return Hashing.mix(half ^ key) & HALF_MASK;
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[ROUNDS * Long.BYTES];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private static byte[] digest(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Block of sequence numbers being handed out, padded so that stripes do not share cache lines.
+     */
+    @SuppressWarnings("unused")
+    private static final class Stripe {
+        private long p1, p2, p3, p4, p5, p6, p7;
+        private long next;
+        private long end;
+        private long q1, q2, q3, q4, q5, q6, q7;
+    }
+}
@@ -0,0 +1,261 @@
+package org.telemis.bowling.service;
+
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Secondary indexes of the games, for listing them page by page without scanning all of them.
+ * <p>
+ * Games are ordered by creation time, newest first, and indexed by state and by player name.
+ * The indexes are concurrent skip lists updated on each state transition, so a page is read
+ * by walking the most selective index from the cursor, in O(log n + page size) when
+ * the filters match.
+ * </p>
+ * <p>
+ * Listings are weakly consistent: a game changing state while being listed may be missed or
+ * reported with its new state, but never twice.
+ * </p>
+ */
+@Service
+public class GameIndex implements GameEventListener {
+    static final int MAX_LIMIT = 500;
+    // Games created at the same instant: highest ID first, numeric IDs being compared by length first
+    private static final Comparator<GameKey> NEWEST_FIRST = Comparator.comparing(GameKey::createdAt)
+            .thenComparingInt(key -> key.gameId().length())
+            .thenComparing(GameKey::gameId)
+            .reversed();
+
+    private final Map<String, IndexedGame> gamesById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<GameKey, IndexedGame> games = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    private final Map<State, NavigableSet<GameKey>> gamesByState = new EnumMap<>(State.class);
+    private final Map<String, NavigableSet<GameKey>> gamesByPlayer = new ConcurrentHashMap<>();
+
+    public GameIndex() {
+        for (State state : State.values()) {
+            gamesByState.put(state, new ConcurrentSkipListSet<>(NEWEST_FIRST));
+        }
+    }
+
+    /**
+     * States of a game.
+     */
+    public enum State {
+        LOBBY,
+        IN_PROGRESS,
+        COMPLETE;
+
+        /**
+         * Parses a state given in any case, such as {@code in_progress}.
+         *
+         * @return the state, {@code null} if none was given
+         */
+        public static State parse(String state) {
+            if (state == null) {
+                return null;
+            }
+            try {
+                return valueOf(state.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid game state: " + state);
+            }
+        }
+    }
+
+    @Override
+    public void onGameCreated(String gameId, Instant createdAt) {
+        IndexedGame game = new IndexedGame(new GameKey(createdAt, gameId));
+        gamesByState.get(State.LOBBY).add(game.key);
+        games.put(game.key, game);
+        gamesById.put(gameId, game);
+    }
+
+    @Override
+    public void onPlayerAdded(String gameId, String playerName) {
+        IndexedGame game = gamesById.get(gameId);
+        if (game != null) {
+            game.players.add(playerName);
+            gamesByPlayer.computeIfAbsent(playerName, name -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(game.key);
+        }
+    }
+
+    @Override
+    public void onGameStarted(String gameId) {
+        moveTo(gameId, State.IN_PROGRESS);
+    }
+
+    @Override
+    public void onGameCompleted(GameCompletedEvent event) {
+        moveTo(event.gameId(), State.COMPLETE);
+    }
+
+    @Override
+    public void onGameDeleted(String gameId) {
+        IndexedGame game = gamesById.remove(gameId);
+        if (game == null) {
+            return;
+        }
+        games.remove(game.key);
+        gamesByState.get(game.state).remove(game.key);
+        for (String playerName : game.players) {
+            NavigableSet<GameKey> playerGames = gamesByPlayer.get(playerName);
+            if (playerGames != null) {
+                playerGames.remove(game.key); // Empty sets are kept, a player usually comes back
+            }
+        }
+    }
+
+    /**
+     * Adds the game to the index of its new state before removing it from the old one,
+     * so that it is always found in at least one of them.
+     */
+    private void moveTo(String gameId, State state) {
+        IndexedGame game = gamesById.get(gameId);
+        if (game == null || game.state == state) {
+            return;
+        }
+        State previous = game.state;
+        gamesByState.get(state).add(game.key);
+        game.state = state;
+        gamesByState.get(previous).remove(game.key);
+    }
+
+    /**
+     * Returns a page of the games matching the query, newest first.
+     *
+     * @param query  the filters, {@code null} fields match every game
+     * @param cursor the cursor returned with the previous page, {@code null} for the first page
+     * @param limit  the maximum number of games in the page
+     * @return the games of the page, with the cursor of the next page if there is one
+     * @throws IllegalArgumentException if the cursor or the limit is invalid
+     */
+    public GamePage list(GameQuery query, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<GameSummary> page = stream(query, cursor).limit(limit + 1L).toList();
+        if (page.size() <= limit) {
+            return new GamePage(page, null);
+        }
+        GameSummary last = page.get(limit - 1);
+        return new GamePage(page.subList(0, limit), encodeCursor(new GameKey(last.createdAt(), last.gameId())));
+    }
+
+    /**
+     * Returns the games matching the query, newest first, starting after the cursor.
+     * The stream is lazy: games are only looked up as it is consumed.
+     *
+     * @param query  the filters, {@code null} fields match every game
+     * @param cursor the cursor to start after, {@code null} to start from the newest game
+     * @return the matching games
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public Stream<GameSummary> stream(GameQuery query, String cursor) {
+        NavigableSet<GameKey> candidates;
+        if (query.playerName() != null) {
+            candidates = gamesByPlayer.getOrDefault(query.playerName(), new ConcurrentSkipListSet<>(NEWEST_FIRST));
+        } else if (query.state() != null) {
+            candidates = gamesByState.get(query.state());
+        } else {
+            candidates = games.navigableKeySet();
+        }
+        if (cursor != null) {
+            candidates = candidates.tailSet(decodeCursor(cursor), false);
+        } else if (query.createdBefore() != null) {
+            candidates = candidates.tailSet(new GameKey(query.createdBefore(), ""), false); // Sorted after its instant
+        }
+        return candidates.stream()
+                .takeWhile(key -> query.createdAfter() == null || !key.createdAt().isBefore(query.createdAfter()))
+                .filter(key -> query.createdBefore() == null || key.createdAt().isBefore(query.createdBefore()))
+                .map(games::get)
+                .filter(game -> game != null && query.matches(game))
+                .map(IndexedGame::summary);
+    }
+
+    private static String encodeCursor(GameKey key) {
+        String cursor = key.createdAt().getEpochSecond() + ":" + key.createdAt().getNano() + ":" + key.gameId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static GameKey decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            return new GameKey(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])), parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Position of a game in the indexes.
+     */
+    private record GameKey(Instant createdAt, String gameId) {}
+
+    /**
+     * Indexed attributes of a game. They only change under the lock of the game.
+     */
+    private static final class IndexedGame {
+        private final GameKey key;
+        private final List<String> players = new CopyOnWriteArrayList<>();
+        private volatile State state = State.LOBBY;
+
+        IndexedGame(GameKey key) {
+            this.key = key;
+        }
+
+        GameSummary summary() {
+            return new GameSummary(key.gameId(), state, key.createdAt(), List.copyOf(players));
+        }
+    }
+
+    /**
+     * Filters of a game listing.
+     *
+     * @param state         the state of the games, or {@code null}
+     * @param playerName    the name of a player of the games, or {@code null}
+     * @param createdAfter  the earliest creation time, inclusive, or {@code null}
+     * @param createdBefore the latest creation time, exclusive, or {@code null}
+     */
+    public record GameQuery(State state, String playerName, Instant createdAfter, Instant createdBefore) {
+
+        public static GameQuery all() {
+            return new GameQuery(null, null, null, null);
+        }
+
+        private boolean matches(IndexedGame game) {
+            return (state == null || game.state == state)
+                    && (playerName == null || game.players.contains(playerName));
+        }
+    }
+
+    /**
+     * Summary of a game in a listing.
+     *
+     * @param gameId    the ID of the game
+     * @param state     the state of the game
+     * @param createdAt the creation time of the game
+     * @param players   the names of the players, in turn order
+     */
+    public record GameSummary(String gameId, State state, Instant createdAt, List<String> players) {}
+
+    /**
+     * Page of a game listing.
+     *
+     * @param games      the games of the page, newest first
+     * @param nextCursor the cursor of the next page, or {@code null} on the last page
+     */
+    public record GamePage(List<GameSummary> games, String nextCursor) {}
+}
@@ -0,0 +1,345 @@
+package org.telemis.bowling.service;
+
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.util.Hashing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Concurrent map of games by numeric ID, storing the IDs as primitive {@code long}s.
+ * <p>
+ * The map is split into stripes, each an open-addressing hash table with linear probing, two parallel arrays
+ * of keys and games, guarded by a {@link StampedLock}. A lookup is an optimistic read that takes no lock
+ * and writes nothing, retried under the read lock only if a writer changed the stripe meanwhile.
+ * An entry costs a {@code long} and a reference per slot, with no boxed key or node: about 25 bytes
+ * at the load factor reached on average, against about 100 for a {@code ConcurrentHashMap<String, Game>}.
+ * </p>
+ * <p>
+ * Removed entries are not left as tombstones: the entries following them are shifted back,
+ * so lookups never slow down as games come and go.
+ * </p>
+ * <p>
+ * Contention is counted: lookups retried because a writer changed their stripe, and writes that had to wait
+ * for the lock of their stripe, see {@link #optimisticReadRetries()} and {@link #contendedWrites()}.
+ * </p>
+ */
+final class GameMap {
+    private static final int INITIAL_STRIPE_CAPACITY = 16; // Power of 2
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final LongAdder optimisticReadRetries = new LongAdder();
+    private final LongAdder contendedWrites = new LongAdder();
+
+    GameMap() {
+        this(64);
+    }
+
+    /**
+     * @param stripes the number of stripes, a power of 2
+     */
+    GameMap(int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Number of stripes must be a power of 2");
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripes - 1;
+    }
+
+    Game get(long gameId) {
+        long hash = hash(gameId);
+        return stripeOf(hash).get(gameId, hash);
+    }
+
+    boolean containsKey(long gameId) {
+        return get(gameId) != null;
+    }
+
+    /**
+     * Adds a game unless one already has its ID.
+     *
+     * @return the game already mapped to the ID, or {@code null} if the game was added
+     */
+    Game putIfAbsent(long gameId, Game game) {
+        long hash = hash(gameId);
+        return stripeOf(hash).putIfAbsent(gameId, hash, game);
+    }
+
+    /**
+     * @return the game removed, or {@code null} if there was none
+     */
+    Game remove(long gameId) {
+        long hash = hash(gameId);
+        return stripeOf(hash).remove(gameId, hash);
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the IDs of the games, read stripe by stripe.
+     */
+    List<Long> keys() {
+        List<Long> keys = new ArrayList<>();
+        forEachKey(keys::add);
+        return keys;
+    }
+
+    /**
+     * Returns the games, read stripe by stripe.
+     */
+    List<Game> values() {
+        return values(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns at most a number of games, read stripe by stripe. Games are spread over the stripes by the hash
+     * of their ID, so the first stripes hold an arbitrary sample of them.
+     */
+    List<Game> values(int limit) {
+        List<Game> values = new ArrayList<>();
+        for (int i = 0; i < stripes.length && values.size() < limit; i++) {
+            stripes[i].addValuesTo(values, limit);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the number of lookups whose optimistic read failed, retried under the read lock of their stripe.
+     */
+    long optimisticReadRetries() {
+        return optimisticReadRetries.sum();
+    }
+
+    /**
+     * Returns the number of additions and removals that found the lock of their stripe taken.
+     */
+    long contendedWrites() {
+        return contendedWrites.sum();
+    }
+
+    /**
+     * Calls an action with the ID of each game, stripe by stripe.
+     * Each stripe is read locked while its IDs are visited.
+     */
+    void forEachKey(LongConsumer action) {
+        for (Stripe stripe : stripes) {
+            stripe.forEachKey(action);
+        }
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripes[(int) (hash >>> Integer.SIZE) & stripeMask];
+    }
+
+    /**
+     * MurmurHash3 finalizer: the high half selects the stripe, the low half the slot.
+     * Game IDs are already scrambled, but IDs chosen by hand are often consecutive.
+     */
+    private static long hash(long gameId) {
+        return Hashing.mix(gameId);
+    }
+
+    /**
+     * Open-addressing table, resized to keep at most half of its slots used. A slot is free when its game is null.
+     */
+    private final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        // Replaced as a whole on resize, so that an optimistic read never pairs keys and games of different sizes
+        private Table table = new Table(new long[INITIAL_STRIPE_CAPACITY], new Game[INITIAL_STRIPE_CAPACITY]);
+        private int size;
+
+        Game get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                Table current = table;
+                Game game = find(current.keys(), current.games(), key, hash);
+                if (lock.validate(stamp)) {
+                    return game;
+                }
+            }
+            optimisticReadRetries.increment();
+            stamp = lock.readLock();
+            try {
+                return find(table.keys(), table.games(), key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private long writeLock() {
+            long stamp = lock.tryWriteLock();
+            if (stamp == 0) {
+                contendedWrites.increment();
+                stamp = lock.writeLock();
+            }
+            return stamp;
+        }
+
+        /**
+         * Probes from the slot of the hash. Read optimistically, the arrays may be changing, so the probe
+         * is bounded by their length and its result is only trusted once the stamp has been validated.
+         */
+        private static Game find(long[] keys, Game[] games, long key, long hash) {
+            int mask = games.length - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Game game = games[index];
+                if (game == null) {
+                    return null;
+                } else if (keys[index] == key) {
+                    return game;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        Game putIfAbsent(long key, long hash, Game game) {
+            long stamp = writeLock();
+            try {
+                long[] keys = table.keys();
+                Game[] games = table.games();
+                int mask = games.length - 1;
+                int index = (int) hash & mask;
+                while (games[index] != null) {
+                    if (keys[index] == key) {
+                        return games[index];
+                    }
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                games[index] = game;
+                if (++size > games.length / 2) {
+                    resize();
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Game remove(long key, long hash) {
+            long stamp = writeLock();
+            try {
+                long[] keys = table.keys();
+                Game[] games = table.games();
+                int mask = games.length - 1;
+                int index = (int) hash & mask;
+                while (games[index] != null) {
+                    if (keys[index] == key) {
+                        Game removed = games[index];
+                        shiftBack(index);
+                        size--;
+                        return removed;
+                    }
+                    index = (index + 1) & mask;
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Frees a slot, moving back the following entries of the run that would no longer be found
+         * from their home slot.
+         */
+        private void shiftBack(int free) {
+            long[] keys = table.keys();
+            Game[] games = table.games();
+            int mask = games.length - 1;
+            int index = free;
+            while (true) {
+                index = (index + 1) & mask;
+                if (games[index] == null) {
+                    break;
+                }
+                int home = (int) hash(keys[index]) & mask;
+                // Moved back unless its home slot lies cyclically in (free, index]
+                boolean reachable = free <= index ? free < home && home <= index : free < home || home <= index;
+                if (!reachable) {
+                    keys[free] = keys[index];
+                    games[free] = games[index];
+                    free = index;
+                }
+            }
+            games[free] = null;
+            keys[free] = 0;
+        }
+
+        private void resize() {
+            long[] oldKeys = table.keys();
+            Game[] oldGames = table.games();
+            long[] newKeys = new long[oldGames.length * 2];
+            Game[] newGames = new Game[oldGames.length * 2];
+            int mask = newGames.length - 1;
+            for (int i = 0; i < oldGames.length; i++) {
+                if (oldGames[i] != null) {
+                    int index = (int) hash(oldKeys[i]) & mask;
+                    while (newGames[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    newKeys[index] = oldKeys[i];
+                    newGames[index] = oldGames[i];
+                }
+            }
+            table = new Table(newKeys, newGames);
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void forEachKey(LongConsumer action) {
+            long stamp = lock.readLock();
+            try {
+                long[] keys = table.keys();
+                Game[] games = table.games();
+                for (int i = 0; i < games.length; i++) {
+                    if (games[i] != null) {
+                        action.accept(keys[i]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void addValuesTo(List<Game> values, int limit) {
+            long stamp = lock.readLock();
+            try {
+                Game[] games = table.games();
+                for (int i = 0; i < games.length && values.size() < limit; i++) {
+                    if (games[i] != null) {
+                        values.add(games[i]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Keys and games of a stripe, in parallel arrays of the same length.
+     */
+    private record Table(long[] keys, Game[] games) {}
+}
@@ -0,0 +1,19 @@
+package org.telemis.bowling.service;
+
+/**
+ * Thrown when no game has the requested ID.
+ * It is an {@link IllegalArgumentException}, so callers that do not need to tell it apart
+ * from an invalid argument can keep catching the latter.
+ */
+public class GameNotFoundException extends IllegalArgumentException {
+    private final String gameId;
+
+    public GameNotFoundException(String gameId) {
+        super("Game not found with ID: " + gameId);
+        this.gameId = gameId;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+}
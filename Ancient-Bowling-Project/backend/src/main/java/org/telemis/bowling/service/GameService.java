@@ -1,78 +1,515 @@
 package org.telemis.bowling.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.telemis.bowling.model.Frame;
 import org.telemis.bowling.model.Game;
+import org.telemis.bowling.model.GameEvent;
+import org.telemis.bowling.model.Player;
+import org.telemis.bowling.model.ScoreBounds;
 
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 public class GameService {
+    private static final Logger log = LoggerFactory.getLogger(GameService.class);
 
-    // In-memory storage for games
-    private final Map<String, Game> games = new ConcurrentHashMap<>();
+    private static final long NO_GAME_ID = -1;
 
-    private final AtomicLong gameCounter = new AtomicLong(0);
+    // In-memory storage for games, keyed by the numeric value of their IDs
+    private final GameMap games = new GameMap();
+
+    private final GameIdAllocator gameIdAllocator;
+
+    private final List<GameEventListener> listeners;
+
+    private final LongAdder lockAcquisitions = new LongAdder();
+    private final LongAdder contendedLocks = new LongAdder();
+
+    private volatile Runnable writeGuard; // Null when every change is allowed
+
+    public GameService() {
+        this(List.of());
+    }
+
+    public GameService(List<GameEventListener> listeners) {
+        this(listeners, new GameIdAllocator());
+    }
+
+    @Autowired
+    public GameService(List<GameEventListener> listeners, GameIdAllocator gameIdAllocator) {
+        this.listeners = List.copyOf(listeners);
+        this.gameIdAllocator = gameIdAllocator;
+    }
 
     public String createGame() {
-        String gameId = String.valueOf(gameCounter.incrementAndGet());
-        games.put(gameId, new Game());
-        return gameId;
+        while (true) {
+            long id = gameIdAllocator.next();
+            if (!games.containsKey(id)) { // Skips the IDs of the games received from other nodes
+                String gameId = String.valueOf(id);
+                try {
+                    createGame(gameId);
+                    return gameId;
+                } catch (IllegalArgumentException e) {
+                    // Received in the meantime
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a game with an ID chosen by the caller, unique across the nodes of a cluster.
+     *
+     * @param gameId the ID of the new game, a non-negative number without leading zeros
+     * @throws IllegalArgumentException if the ID is invalid or a game already has that ID
+     */
+    public void createGame(String gameId) {
+        register(gameId, new Game());
+    }
+
+    /**
+     * Adds a game rebuilt from the events of a game moved from another node, see {@link Game#replay(List)}.
+     * <p>
+     * Listeners are notified of its creation, events, players and start, but not of its past throws,
+     * which were published by the node it comes from.
+     * </p>
+     *
+     * @param gameId the ID of the game
+     * @param events the events of the game, from its creation
+     * @throws IllegalArgumentException if the ID is invalid or a game already has that ID
+     */
+    public void importGame(String gameId, List<GameEvent> events) {
+        register(gameId, Game.replay(events));
+    }
+
+    private void register(String gameId, Game game) {
+        checkWritable();
+        long id = parseGameId(gameId);
+        if (id == NO_GAME_ID) {
+            throw new IllegalArgumentException("Invalid game ID: " + gameId);
+        }
+        if (games.containsKey(id)) {
+            throw new IllegalArgumentException("Game already exists with ID: " + gameId);
+        }
+        Instant createdAt = Instant.now();
+        // Locked before the game can be found, so that its events are published before any later change
+        withLock(game, () -> {
+            if (games.putIfAbsent(id, game) != null) {
+                throw new IllegalArgumentException("Game already exists with ID: " + gameId);
+            }
+            // Only once registered, so that a creation losing a race for the ID is never published
+            publish(gameId, listener -> listener.onGameCreated(gameId, createdAt));
+            List<GameEvent> recorded = game.eventsSince(0);
+            for (int i = 0; i < recorded.size(); i++) {
+                long version = i;
+                GameEvent event = recorded.get(i);
+                publish(gameId, listener -> listener.onEventRecorded(gameId, version, event));
+            }
+            for (Player player : game.getPlayers()) {
+                publish(gameId, listener -> listener.onPlayerAdded(gameId, player.getName()));
+            }
+            if (game.isStarted()) {
+                publish(gameId, listener -> listener.onGameStarted(gameId));
+            }
+        });
     }
 
     public Game getGame(String gameId) {
-        Game game = games.get(gameId);
+        Game game = findGame(gameId);
         if (game == null) {
-            throw new IllegalArgumentException("Game not found with ID: " + gameId);
+            throw new GameNotFoundException(gameId);
         }
         return game;
     }
 
+    /**
+     * Returns whether a game has an ID.
+     */
+    public boolean hasGame(String gameId) {
+        return findGame(gameId) != null;
+    }
+
+    private Game findGame(String gameId) {
+        long id = parseGameId(gameId);
+        return id == NO_GAME_ID ? null : games.get(id);
+    }
+
+    /**
+     * Parses a game ID, accepting only the canonical form of a non-negative {@code long},
+     * so that every game has a single ID string.
+     *
+     * @return the numeric ID, or {@link #NO_GAME_ID} if the string is not a valid game ID
+     */
+    static long parseGameId(String gameId) {
+        int length = gameId == null ? 0 : gameId.length();
+        if (length == 0 || length > 19 || (length > 1 && gameId.charAt(0) == '0')) {
+            return NO_GAME_ID;
+        }
+        long id = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = gameId.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NO_GAME_ID;
+            }
+            id = id * 10 + digit;
+            if (id < 0) { // Overflow, beyond Long.MAX_VALUE
+                return NO_GAME_ID;
+            }
+        }
+        return id;
+    }
+
     public void addPlayer(String gameId, String playerName) {
+        checkWritable();
         if (playerName == null || playerName.trim().isEmpty()) {
             throw new IllegalArgumentException("Player name cannot be null or empty");
         }
         Game game = getGame(gameId);
         try {
-            game.addPlayer(playerName.trim());
+            withLock(game, () -> {
+                game.addPlayer(playerName.trim());
+                publishRecorded(gameId, game);
+                publish(gameId, listener -> listener.onPlayerAdded(gameId, playerName.trim()));
+            });
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Failed to add player: " + e.getMessage());
         }
     }
 
     public void startGame(String gameId) {
+        checkWritable();
         Game game = getGame(gameId);
         try {
-            game.start();
+            withLock(game, () -> {
+                game.start();
+                publishRecorded(gameId, game);
+                publish(gameId, listener -> listener.onGameStarted(gameId));
+            });
         } catch (IllegalStateException e) {
             throw new IllegalStateException("Failed to start game: " + e.getMessage());
         }
     }
 
     public void addThrow(String gameId, int pins) {
+        checkWritable();
+        if (pins < 0 || pins > 15) {
+            throw new IllegalArgumentException("Number of pins must be between 0 and 15");
+        }
+        Game game = getGame(gameId);
+        try {
+            withLock(game, () -> applyThrow(gameId, game, pins));
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Failed to add throw: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records a throw carrying its sequence number in the game, so that a client can safely resend it.
+     * <p>
+     * The n-th throw of a game has the sequence number n. A throw whose number was already recorded
+     * is a resend: it is acknowledged without being applied again. Only the throw count of the game
+     * is compared, so nothing is kept per throw.
+     * </p>
+     *
+     * @param gameId   the ID of the game
+     * @param pins     the number of pins knocked down
+     * @param sequence the sequence number of the throw in the game, starting at 1
+     * @return {@code true} if the throw was recorded, {@code false} if it already was
+     * @throws ThrowSequenceGapException if earlier throws of the game have not been received
+     */
+    public boolean addThrow(String gameId, int pins, long sequence) {
+        checkWritable();
+        if (sequence < 1) {
+            throw new IllegalArgumentException("Throw sequence number must be positive");
+        }
         if (pins < 0 || pins > 15) {
             throw new IllegalArgumentException("Number of pins must be between 0 and 15");
         }
         Game game = getGame(gameId);
         try {
-            game.addThrow(pins);
+            return withLock(game, () -> {
+                long expected = game.getThrowCount() + 1L;
+                if (sequence < expected) {
+                    return false;
+                } else if (sequence > expected) {
+                    throw new ThrowSequenceGapException(gameId, expected, sequence);
+                }
+                applyThrow(gameId, game, pins);
+                return true;
+            });
+        } catch (ThrowSequenceGapException e) {
+            throw e;
         } catch (IllegalStateException e) {
             throw new IllegalStateException("Failed to add throw: " + e.getMessage());
         }
     }
 
+    /**
+     * Replaces the number of pins of a throw already made, see {@link Game#correctThrow(String, int, int, int)}.
+     *
+     * @param gameId      the ID of the game
+     * @param playerName  the name of the player who made the throw
+     * @param frameNumber the 1-based number of the frame of the throw
+     * @param throwNumber the 1-based number of the throw in its frame
+     * @param pins        the corrected number of pins knocked down
+     * @throws IllegalStateException if the corrected throw or a later one would be illegal
+     */
+    public void correctThrow(String gameId, String playerName, int frameNumber, int throwNumber, int pins) {
+        checkWritable();
+        if (pins < 0 || pins > 15) {
+            throw new IllegalArgumentException("Number of pins must be between 0 and 15");
+        }
+        Game game = getGame(gameId);
+        try {
+            withLock(game, () -> {
+                Player player = game.getPlayer(playerName);
+                int previousScore = player.calculateScore();
+                GameEventListener.FrameEvent previousFrame = completedFrame(gameId, player, frameNumber);
+                int previousPins = game.correctThrow(playerName, frameNumber, throwNumber, pins);
+                publishRecorded(gameId, game);
+                GameEventListener.ThrowCorrectedEvent event = new GameEventListener.ThrowCorrectedEvent(gameId,
+                        playerName, frameNumber, throwNumber, previousPins, pins, player.calculateScore(),
+                        previousScore, game.isGameComplete(), previousFrame,
+                        completedFrame(gameId, player, frameNumber));
+                publish(gameId, listener -> listener.onThrowCorrected(event));
+            });
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Failed to correct throw: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a frame of a player as published once completed, or {@code null} if it is not or does not exist.
+     */
+    private static GameEventListener.FrameEvent completedFrame(String gameId, Player player, int frameNumber) {
+        if (frameNumber < 1 || frameNumber > player.frameCount()) {
+            return null;
+        }
+        Frame frame = player.getFrames().get(frameNumber - 1);
+        return frame.isCompleted()
+                ? new GameEventListener.FrameEvent(gameId, player.getName(), frameNumber, frame.getPinsKnockedDown(),
+                        frame.isStrike(), frame.isSpare())
+                : null;
+    }
+
+    private void applyThrow(String gameId, Game game, int pins) {
+        if (!game.isStarted() || game.isGameComplete()) {
+            game.addThrow(pins); // Rejected with the reason
+            return;
+        }
+        Player player = game.getCurrentPlayer();
+        player.ensureFreshFrame();
+        Frame frame = player.getCurrentFrame();
+        int throwIndex = frame.throwCount();
+        int standingPins = frame.getRemainingPins();
+
+        game.addThrow(pins);
+        publishRecorded(gameId, game);
+
+        GameEventListener.ThrowEvent event = new GameEventListener.ThrowEvent(gameId, player.getName(),
+                player.frameCount(), throwIndex, standingPins, pins,
+                frame.isCompleted(), frame.isStrike(), frame.isSpare(), ScoreBounds.minFinalScore(player));
+        publish(gameId, listener -> listener.onThrow(event));
+
+        if (frame.isCompleted()) {
+            GameEventListener.FrameEvent frameEvent = new GameEventListener.FrameEvent(gameId, player.getName(),
+                    player.frameCount(), frame.getPinsKnockedDown(), frame.isStrike(), frame.isSpare());
+            publish(gameId, listener -> listener.onFrameCompleted(frameEvent));
+        }
+        if (game.isGameComplete()) {
+            List<GameEventListener.FinalScore> finalScores = new ArrayList<>();
+            for (Player each : game.getPlayers()) {
+                finalScores.add(new GameEventListener.FinalScore(each.getName(), each.calculateScore()));
+            }
+            GameEventListener.GameCompletedEvent gameEvent =
+                    new GameEventListener.GameCompletedEvent(gameId, List.copyOf(finalScores));
+            publish(gameId, listener -> listener.onGameCompleted(gameEvent));
+        }
+    }
+
+    private void publishRecorded(String gameId, Game game) {
+        long version = game.getVersion();
+        GameEvent event = game.lastEvent();
+        publish(gameId, listener -> listener.onEventRecorded(gameId, version, event));
+    }
+
+    /**
+     * Notifies every listener. A failing listener does not undo the change, nor prevent the others from being notified.
+     */
+    private void publish(String gameId, Consumer<GameEventListener> notification) {
+        for (GameEventListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                log.warn("Game listener {} failed on game {}", listener.getClass().getSimpleName(), gameId, e);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy-on-write fork of a game. The live game is only locked while the fork is taken.
+     */
+    public Game forkGame(String gameId) {
+        Game game = getGame(gameId);
+        return withLock(game, game::fork);
+    }
+
+    /**
+     * Rebuilds a game as it was at a past version, see {@link Game#atVersion(long)}.
+     *
+     * @param gameId  the ID of the game
+     * @param version the version, from 0 for the created game to the current version
+     * @return a new game in that state, detached from the live game
+     */
+    public Game getGameAt(String gameId, long version) {
+        Game game = getGame(gameId);
+        return withLock(game, () -> game.atVersion(version));
+    }
+
+    /**
+     * Returns the events of a game from its creation, see {@link Game#replay(List)}.
+     */
+    public List<GameEvent> getEvents(String gameId) {
+        Game game = getGame(gameId);
+        return withLock(game, () -> game.eventsSince(0));
+    }
+
+    public List<Game.ThrowProjection> projectNextThrows(String gameId) {
+        Game snapshot = forkGame(gameId);
+        try {
+            return snapshot.projectNextThrows();
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Failed to project throws: " + e.getMessage());
+        }
+    }
+
     public void deleteGame(String gameId) {
-        if (!games.containsKey(gameId)) {
-            throw new IllegalArgumentException("Game not found with ID: " + gameId);
+        checkWritable();
+        long id = parseGameId(gameId);
+        Game game = id == NO_GAME_ID ? null : games.remove(id);
+        if (game == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        // Not published in the middle of a change of the game
+        withLock(game, () -> publish(gameId, listener -> listener.onGameDeleted(gameId)));
+    }
+
+    /**
+     * Sets a check run before every change to the games, which refuses it by throwing, such as on a standby
+     * only accepting the changes replicated from its primary, see
+     * {@link org.telemis.bowling.replication.ReplicationStandby}.
+     *
+     * @param writeGuard the check, null to allow every change
+     */
+    public void setWriteGuard(Runnable writeGuard) {
+        this.writeGuard = writeGuard;
+    }
+
+    private void checkWritable() {
+        Runnable guard = writeGuard;
+        if (guard != null) {
+            guard.run();
         }
-        games.remove(gameId);
     }
 
+    /**
+     * Returns a copy of the IDs of every game. Games created or deleted while it is taken may be missed.
+     * Use {@link #hasGame(String)} to check a single ID.
+     */
+    public Set<String> getGameIds() {
+        Set<String> gameIds = new HashSet<>();
+        games.forEachKey(id -> gameIds.add(String.valueOf(id)));
+        return gameIds;
+    }
+
+    /**
+     * Returns a copy of every game. Prefer {@link GameIndex} to list games.
+     */
     public Collection<Game> getAllGames() {
         return games.values();
     }
 
+    /**
+     * Returns an arbitrary sample of the games, cheaper than {@link #getAllGames()} when there are many.
+     *
+     * @param limit the maximum number of games
+     */
+    public List<Game> sampleGames(int limit) {
+        return games.values(limit);
+    }
+
+    /**
+     * Returns the number of games.
+     */
+    public int getGameCount() {
+        return games.size();
+    }
+
+    /**
+     * Returns how often threads competed for the games and for the map holding them, since this service started.
+     */
+    public ContentionStatistics getContentionStatistics() {
+        return new ContentionStatistics(lockAcquisitions.sum(), contendedLocks.sum(),
+                games.optimisticReadRetries(), games.contendedWrites());
+    }
+
+    /**
+     * Runs an action under the lock of a game, counting the acquisitions that found the lock taken.
+     */
+    private <T> T withLock(Game game, Supplier<T> action) {
+        lockAcquisitions.increment();
+        if (!game.lock().tryLock()) {
+            contendedLocks.increment();
+            game.lock().lock();
+        }
+        try {
+            return action.get();
+        } finally {
+            game.lock().unlock();
+        }
+    }
+
+    private void withLock(Game game, Runnable action) {
+        withLock(game, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Contention counters of a {@link GameService}.
+     *
+     * @param lockAcquisitions      the number of times the lock of a game was taken
+     * @param contendedLocks        the number of those times the lock was held by another thread, which was waited for
+     * @param optimisticReadRetries the number of game lookups retried because a game was added or removed meanwhile
+     * @param contendedMapWrites    the number of games added or removed while another thread was doing so nearby
+     */
+    public record ContentionStatistics(long lockAcquisitions, long contendedLocks, long optimisticReadRetries,
+                                       long contendedMapWrites) {
+
+        /**
+         * Returns the counters accumulated since an earlier snapshot.
+         */
+        public ContentionStatistics since(ContentionStatistics earlier) {
+            return new ContentionStatistics(lockAcquisitions - earlier.lockAcquisitions,
+                    contendedLocks - earlier.contendedLocks, optimisticReadRetries - earlier.optimisticReadRetries,
+                    contendedMapWrites - earlier.contendedMapWrites);
+        }
+
+        /**
+         * Returns the share of lock acquisitions that had to wait, between 0 and 1.
+         */
+        public double contendedLockRatio() {
+            return lockAcquisitions == 0 ? 0 : (double) contendedLocks / lockAcquisitions;
+        }
+    }
+
     // Simple response class for testing
     public static class GameResponse {
         private String gameId;
@@ -0,0 +1,233 @@
+package org.telemis.bowling.service;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live leaderboard of the scores of every player in every game, across the whole center.
+ * <p>
+ * Scores are updated incrementally on each throw or correction and kept in one board per day.
+ * Each board orders its entries in a concurrent skip list, for top-K queries in O(log n + K),
+ * and counts them per score in a Fenwick tree, for rank queries in O(log 300) since a score
+ * cannot exceed 300. Time windows combine the boards of their days.
+ * </p>
+ * <p>
+ * A score stays on the board of the day it was first recorded, and boards older than a week
+ * are dropped. Deleting a game does not remove its scores from the leaderboard.
+ * </p>
+ */
+@Service
+public class LeaderboardService implements GameEventListener {
+    private static final int MAX_SCORE = 300;
+    private static final Comparator<LeaderboardEntry> BY_DESCENDING_SCORE =
+            Comparator.comparingInt(LeaderboardEntry::score).reversed()
+                    .thenComparing(LeaderboardEntry::gameId)
+                    .thenComparing(LeaderboardEntry::playerName);
+
+    private final Clock clock;
+    private final NavigableMap<LocalDate, DayBoard> boards = new ConcurrentSkipListMap<>();
+
+    public LeaderboardService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    LeaderboardService(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Time windows of the leaderboard.
+     */
+    public enum Window {
+        TONIGHT(1),
+        WEEK(7);
+
+        private final int days;
+
+        Window(int days) {
+            this.days = days;
+        }
+    }
+
+    @Override
+    public void onThrow(ThrowEvent event) {
+        LocalDate today = LocalDate.now(clock);
+        DayBoard yesterday = boards.get(today.minusDays(1));
+        if (yesterday != null && yesterday.contains(event.gameId(), event.playerName())) {
+            yesterday.update(event.gameId(), event.playerName(), event.score());
+            return;
+        }
+        DayBoard board = boards.get(today);
+        if (board == null) {
+            boards.headMap(today.minusDays(Window.WEEK.days - 1)).clear(); // Older than any window
+            board = boards.computeIfAbsent(today, DayBoard::new);
+        }
+        board.update(event.gameId(), event.playerName(), event.score());
+    }
+
+    @Override
+    public void onThrowCorrected(ThrowCorrectedEvent event) {
+        // On the latest board holding the game, the one its throws still update
+        for (DayBoard board : boards.descendingMap().values()) {
+            if (board.contains(event.gameId(), event.playerName())) {
+                board.update(event.gameId(), event.playerName(), event.score());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the best scores of the window, highest first.
+     */
+    public List<LeaderboardEntry> top(Window window, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        List<LeaderboardEntry> top = new ArrayList<>();
+        for (DayBoard board : boardsOf(window)) {
+            Iterator<LeaderboardEntry> entries = board.ranking.iterator();
+            for (int i = 0; i < limit && entries.hasNext(); i++) {
+                top.add(entries.next());
+            }
+        }
+        top.sort(BY_DESCENDING_SCORE);
+        return top.size() > limit ? List.copyOf(top.subList(0, limit)) : top;
+    }
+
+    /**
+     * Returns the rank of the best score of a player in the window.
+     * Equal scores share the same rank.
+     */
+    public Optional<PlayerRank> rank(String playerName, Window window) {
+        List<DayBoard> windowBoards = boardsOf(window);
+        LeaderboardEntry best = null;
+        for (DayBoard board : windowBoards) {
+            Map<String, LeaderboardEntry> games = board.entriesByPlayer.get(playerName);
+            if (games != null) {
+                for (LeaderboardEntry entry : games.values()) {
+                    if (best == null || entry.score() > best.score()) {
+                        best = entry;
+                    }
+                }
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+        long higher = 0;
+        long entries = 0;
+        for (DayBoard board : windowBoards) {
+            higher += board.scoreCounts.countAbove(best.score());
+            entries += board.scoreCounts.total();
+        }
+        return Optional.of(new PlayerRank(playerName, best.gameId(), best.score(), higher + 1, entries));
+    }
+
+    private List<DayBoard> boardsOf(Window window) {
+        LocalDate today = LocalDate.now(clock);
+        return new ArrayList<>(boards.subMap(today.minusDays(window.days - 1), true, today, true).values());
+    }
+
+    /**
+     * Scores recorded on a given day.
+     */
+    private static final class DayBoard {
+        private final LocalDate day;
+        private final ConcurrentSkipListSet<LeaderboardEntry> ranking = new ConcurrentSkipListSet<>(BY_DESCENDING_SCORE);
+        private final Map<String, Map<String, LeaderboardEntry>> entriesByPlayer = new ConcurrentHashMap<>();
+        private final ScoreCounts scoreCounts = new ScoreCounts();
+
+        DayBoard(LocalDate day) {
+            this.day = day;
+        }
+
+        boolean contains(String gameId, String playerName) {
+            Map<String, LeaderboardEntry> games = entriesByPlayer.get(playerName);
+            return games != null && games.containsKey(gameId);
+        }
+
+        /**
+         * Replaces the score of a player in a game. Updates of the same game are not concurrent.
+         */
+        void update(String gameId, String playerName, int score) {
+            LeaderboardEntry entry = new LeaderboardEntry(playerName, gameId, score, day);
+            LeaderboardEntry previous = entriesByPlayer.computeIfAbsent(playerName, name -> new ConcurrentHashMap<>())
+                    .put(gameId, entry);
+            if (previous != null) {
+                if (previous.score() == score) {
+                    return;
+                }
+                ranking.remove(previous);
+                scoreCounts.add(previous.score(), -1);
+            }
+            ranking.add(entry);
+            scoreCounts.add(score, 1);
+        }
+    }
+
+    /**
+     * Fenwick tree of the number of entries per score, with lock-free updates.
+     */
+    private static final class ScoreCounts {
+        private final AtomicLongArray tree = new AtomicLongArray(MAX_SCORE + 2);
+
+        void add(int score, long delta) {
+            for (int i = score + 1; i < tree.length(); i += i & -i) {
+                tree.addAndGet(i, delta);
+            }
+        }
+
+        /**
+         * Number of entries with a score lower than or equal to the given one.
+         */
+        long countUpTo(int score) {
+            long count = 0;
+            for (int i = score + 1; i > 0; i -= i & -i) {
+                count += tree.get(i);
+            }
+            return count;
+        }
+
+        long countAbove(int score) {
+            return total() - countUpTo(score);
+        }
+
+        long total() {
+            return countUpTo(MAX_SCORE);
+        }
+    }
+
+    /**
+     * Score of a player in a game.
+     *
+     * @param playerName the player's name
+     * @param gameId     the ID of the game
+     * @param score      the current score of the player in that game
+     * @param day        the day the score was first recorded
+     */
+    public record LeaderboardEntry(String playerName, String gameId, int score, LocalDate day) {}
+
+    /**
+     * Rank of the best score of a player.
+     *
+     * @param playerName the player's name
+     * @param gameId     the ID of the game of the best score
+     * @param score      the best score of the player
+     * @param rank       the 1-based rank of the score
+     * @param entries    the number of scores in the window
+     */
+    public record PlayerRank(String playerName, String gameId, int score, long rank, long entries) {}
+}
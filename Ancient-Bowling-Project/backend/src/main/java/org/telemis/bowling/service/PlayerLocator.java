@@ -0,0 +1,142 @@
+package org.telemis.bowling.service;
+
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the active games of a player, by name or by name prefix.
+ * <p>
+ * Player names are normalized (case, accents and spaces are ignored) and mapped to the games
+ * they are playing in a concurrent skip list, so a prefix search walks only the matching names,
+ * in O(log n + results). A game is removed from the index once completed or deleted.
+ * </p>
+ * <p>
+ * The games of a name are kept in a small immutable map replaced atomically on each change,
+ * so concurrent games of players sharing a name never lose each other's updates.
+ * </p>
+ */
+@Service
+public class PlayerLocator implements GameEventListener {
+    static final int MAX_LIMIT = 100;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    // Normalized name -> (game ID -> player name as entered)
+    private final ConcurrentSkipListMap<String, Map<String, String>> gamesByName = new ConcurrentSkipListMap<>();
+    private final Map<String, List<String>> namesByGame = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPlayerAdded(String gameId, String playerName) {
+        String name = normalize(playerName);
+        gamesByName.compute(name, (key, games) -> with(games, gameId, playerName));
+        namesByGame.compute(gameId, (key, names) -> {
+            List<String> updated = names == null ? new ArrayList<>() : new ArrayList<>(names);
+            updated.add(name);
+            return List.copyOf(updated);
+        });
+    }
+
+    @Override
+    public void onGameCompleted(GameCompletedEvent event) {
+        remove(event.gameId());
+    }
+
+    @Override
+    public void onGameDeleted(String gameId) {
+        remove(gameId);
+    }
+
+    private void remove(String gameId) {
+        List<String> names = namesByGame.remove(gameId);
+        if (names != null) {
+            for (String name : names) {
+                gamesByName.computeIfPresent(name, (key, games) -> without(games, gameId));
+            }
+        }
+    }
+
+    /**
+     * Returns the active games of a player.
+     *
+     * @param playerName the name of the player, case, accents and spaces being ignored
+     * @return the games of the player, by game ID
+     */
+    public List<PlayerLocation> find(String playerName) {
+        Map<String, String> games = gamesByName.get(normalize(playerName));
+        List<PlayerLocation> locations = new ArrayList<>();
+        if (games != null) {
+            games.forEach((gameId, name) -> locations.add(new PlayerLocation(name, gameId)));
+        }
+        return locations;
+    }
+
+    /**
+     * Returns the active games of the players whose name starts with the given prefix,
+     * in the alphabetical order of the normalized names.
+     *
+     * @param prefix the start of the name, case, accents and spaces being ignored
+     * @param limit  the maximum number of games returned
+     * @return the matching players and their games
+     * @throws IllegalArgumentException if the prefix is blank or the limit is invalid
+     */
+    public List<PlayerLocation> search(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix cannot be null or empty");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String from = normalize(prefix);
+        ConcurrentNavigableMap<String, Map<String, String>> matches =
+                gamesByName.subMap(from, true, from + Character.MAX_VALUE, false);
+        List<PlayerLocation> locations = new ArrayList<>(limit);
+        for (Map<String, String> games : matches.values()) {
+            for (Map.Entry<String, String> game : games.entrySet()) {
+                if (locations.size() == limit) {
+                    return locations;
+                }
+                locations.add(new PlayerLocation(game.getValue(), game.getKey()));
+            }
+        }
+        return locations;
+    }
+
+    static String normalize(String playerName) {
+        String decomposed = Normalizer.normalize(playerName.trim(), Normalizer.Form.NFD);
+        String withoutAccents = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(withoutAccents).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, String> with(Map<String, String> games, String gameId, String playerName) {
+        Map<String, String> updated = games == null ? new HashMap<>() : new HashMap<>(games);
+        updated.put(gameId, playerName);
+        return Map.copyOf(updated);
+    }
+
+    /**
+     * Returns {@code null} when no game is left, which removes the name from the index.
+     */
+    private static Map<String, String> without(Map<String, String> games, String gameId) {
+        Map<String, String> updated = new HashMap<>(games);
+        updated.remove(gameId);
+        return updated.isEmpty() ? null : Map.copyOf(updated);
+    }
+
+    /**
+     * Active game of a player.
+     *
+     * @param playerName the name of the player, as entered in the game
+     * @param gameId     the ID of the game
+     */
+    public record PlayerLocation(String playerName, String gameId) {}
+}
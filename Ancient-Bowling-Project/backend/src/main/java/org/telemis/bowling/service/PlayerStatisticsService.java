@@ -0,0 +1,173 @@
+package org.telemis.bowling.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Season statistics of each player across all games, keyed by player name.
+ * <p>
+ * Counters are updated incrementally when a frame or a game is completed, so reading
+ * the statistics of a player costs the same whatever the number of games played.
+ * They are {@link LongAdder}s, so games of the same bowler never contend with each other.
+ * </p>
+ * <p>
+ * A corrected throw replaces the frame it belongs to and, once the game is complete, its final score.
+ * The high game only ever rises: a correction lowering it leaves the previous one.
+ * </p>
+ */
+@Service
+public class PlayerStatisticsService implements GameEventListener {
+    private final Map<String, PlayerCounters> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void onFrameCompleted(FrameEvent event) {
+        countersOf(event.playerName()).recordFrame(event.pins(), event.strike(), event.spare());
+    }
+
+    @Override
+    public void onGameCompleted(GameCompletedEvent event) {
+        for (FinalScore finalScore : event.finalScores()) {
+            countersOf(finalScore.playerName()).recordGame(finalScore.score());
+        }
+    }
+
+    @Override
+    public void onThrowCorrected(ThrowCorrectedEvent event) {
+        PlayerCounters playerCounters = countersOf(event.playerName());
+        if (event.previousFrame() != null && event.frame() != null) {
+            playerCounters.replaceFrame(event.previousFrame(), event.frame());
+        }
+        if (event.gameCompleted()) {
+            playerCounters.replaceGame(event.previousScore(), event.score());
+        }
+    }
+
+    /**
+     * Returns the statistics of a player.
+     */
+    public Optional<PlayerStatistics> getStatistics(String playerName) {
+        return Optional.ofNullable(counters.get(playerName)).map(playerCounters -> playerCounters.snapshot(playerName));
+    }
+
+    /**
+     * Returns a copy of the statistics of every player, suitable for persistence.
+     */
+    public List<PlayerStatistics> snapshot() {
+        List<PlayerStatistics> snapshot = new ArrayList<>(counters.size());
+        counters.forEach((name, playerCounters) -> snapshot.add(playerCounters.snapshot(name)));
+        return snapshot;
+    }
+
+    /**
+     * Adds previously persisted statistics to the current ones.
+     */
+    public void restore(Collection<PlayerStatistics> snapshot) {
+        for (PlayerStatistics statistics : snapshot) {
+            countersOf(statistics.playerName()).add(statistics);
+        }
+    }
+
+    private PlayerCounters countersOf(String playerName) {
+        return counters.computeIfAbsent(playerName, name -> new PlayerCounters());
+    }
+
+    /**
+     * Contention-free counters of a single player.
+     */
+    private static final class PlayerCounters {
+        private final LongAdder gamesPlayed = new LongAdder();
+        private final LongAdder totalScore = new LongAdder();
+        private final LongAccumulator highGame = new LongAccumulator(Math::max, 0);
+        private final LongAdder frames = new LongAdder();
+        private final LongAdder framePins = new LongAdder();
+        private final LongAdder strikes = new LongAdder();
+        private final LongAdder spares = new LongAdder();
+
+        void recordFrame(int pins, boolean strike, boolean spare) {
+            frames.increment();
+            framePins.add(pins);
+            if (strike) {
+                strikes.increment();
+            } else if (spare) {
+                spares.increment();
+            }
+        }
+
+        void recordGame(int score) {
+            gamesPlayed.increment();
+            totalScore.add(score);
+            highGame.accumulate(score);
+        }
+
+        void replaceFrame(FrameEvent previous, FrameEvent corrected) {
+            framePins.add(corrected.pins() - previous.pins());
+            strikes.add(count(corrected.strike()) - count(previous.strike()));
+            spares.add(count(corrected.spare()) - count(previous.spare()));
+        }
+
+        void replaceGame(int previousScore, int correctedScore) {
+            totalScore.add(correctedScore - previousScore);
+            highGame.accumulate(correctedScore);
+        }
+
+        private static int count(boolean flag) {
+            return flag ? 1 : 0;
+        }
+
+        PlayerStatistics snapshot(String playerName) {
+            return new PlayerStatistics(playerName, gamesPlayed.sum(), totalScore.sum(), highGame.get(),
+                    frames.sum(), framePins.sum(), strikes.sum(), spares.sum());
+        }
+
+        void add(PlayerStatistics statistics) {
+            gamesPlayed.add(statistics.gamesPlayed());
+            totalScore.add(statistics.totalScore());
+            highGame.accumulate(statistics.highGame());
+            frames.add(statistics.frames());
+            framePins.add(statistics.framePins());
+            strikes.add(statistics.strikes());
+            spares.add(statistics.spares());
+        }
+    }
+
+    /**
+     * Season statistics of a player.
+     *
+     * @param playerName  the player's name
+     * @param gamesPlayed the number of completed games
+     * @param totalScore  the sum of the final scores of the completed games
+     * @param highGame    the highest final score
+     * @param frames      the number of completed frames
+     * @param framePins   the pins knocked down in the completed frames
+     * @param strikes     the number of frames completed with a strike
+     * @param spares      the number of frames completed with a spare
+     */
+    public record PlayerStatistics(String playerName, long gamesPlayed, long totalScore, long highGame,
+                                   long frames, long framePins, long strikes, long spares) {
+
+        public double getAverage() {
+            return gamesPlayed == 0 ? 0 : (double) totalScore / gamesPlayed;
+        }
+
+        public double getStrikeRate() {
+            return frames == 0 ? 0 : (double) strikes / frames;
+        }
+
+        public double getSpareRate() {
+            long spareChances = frames - strikes;
+            return spareChances == 0 ? 0 : (double) spares / spareChances;
+        }
+
+        public double getAveragePinsPerFrame() {
+            return frames == 0 ? 0 : (double) framePins / frames;
+        }
+    }
+}
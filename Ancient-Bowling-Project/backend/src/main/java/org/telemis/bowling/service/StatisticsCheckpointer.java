@@ -0,0 +1,96 @@
+package org.telemis.bowling.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Periodically saves the player statistics to a JSON file, and restores them on startup.
+ * <p>
+ * Enabled by setting {@code bowling.checkpoint.directory}. The file is written next to its
+ * final location then moved over it, so a crash while saving keeps the previous checkpoint.
+ * Statistics recorded since the last checkpoint are lost on a crash.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.checkpoint", name = "directory")
+public class StatisticsCheckpointer {
+    private static final Logger log = LoggerFactory.getLogger(StatisticsCheckpointer.class);
+    static final String FILE_NAME = "player-statistics.json";
+
+    private final PlayerStatisticsService playerStatisticsService;
+    private final ThrowDistributionEstimator throwDistributionEstimator;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public StatisticsCheckpointer(PlayerStatisticsService playerStatisticsService,
+                                  ThrowDistributionEstimator throwDistributionEstimator,
+                                  ObjectMapper objectMapper,
+                                  @Value("${bowling.checkpoint.directory}") Path directory) {
+        this.playerStatisticsService = playerStatisticsService;
+        this.throwDistributionEstimator = throwDistributionEstimator;
+        this.objectMapper = objectMapper;
+        this.file = directory.resolve(FILE_NAME);
+    }
+
+    /**
+     * Restores the last checkpoint, if any.
+     */
+    @PostConstruct
+    public void restore() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            Checkpoint checkpoint = objectMapper.readerFor(Checkpoint.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES) // Derived rates are saved too
+                    .readValue(file.toFile());
+            playerStatisticsService.restore(checkpoint.players());
+            throwDistributionEstimator.restore(checkpoint.throwDistributions());
+            log.info("Restored the statistics of {} players from {}", checkpoint.players().size(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore statistics from " + file, e);
+        }
+    }
+
+    /**
+     * Saves the current statistics.
+     */
+    @Scheduled(fixedDelayString = "${bowling.checkpoint.interval:PT1M}",
+               initialDelayString = "${bowling.checkpoint.interval:PT1M}")
+    @PreDestroy
+    public void checkpoint() {
+        Checkpoint checkpoint = new Checkpoint(playerStatisticsService.snapshot(), throwDistributionEstimator.snapshot());
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = file.resolveSibling(FILE_NAME + ".tmp");
+            objectMapper.writeValue(temporary.toFile(), checkpoint);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to checkpoint statistics to {}", file, e);
+        }
+    }
+
+    /**
+     * Content of a checkpoint file.
+     *
+     * @param players            the season statistics of every player
+     * @param throwDistributions the throw distribution of every player
+     */
+    record Checkpoint(List<PlayerStatisticsService.PlayerStatistics> players,
+                      List<ThrowDistributionEstimator.PlayerThrowStatistics> throwDistributions) {}
+}
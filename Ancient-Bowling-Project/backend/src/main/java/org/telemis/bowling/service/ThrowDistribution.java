@@ -0,0 +1,52 @@
+package org.telemis.bowling.service;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of the pins knocked down by a player, used to simulate the rest of a game.
+ */
+@FunctionalInterface
+public interface ThrowDistribution {
+
+    /**
+     * Draws the number of pins knocked down by the next throw of a player.
+     *
+     * @param playerName   the name of the player throwing
+     * @param throwIndex   the index of the throw in the current frame, 0 for the first throw
+     * @param standingPins the number of pins standing before the throw
+     * @param random       the source of randomness to draw from
+     * @return the number of pins knocked down, between 0 and {@code standingPins}
+     */
+    int sample(String playerName, int throwIndex, int standingPins, SplittableRandom random);
+
+    /**
+     * Returns a copy of the distribution of some players that no longer changes, so that simulations drawing
+     * from it with the same seed always give the same result. A distribution that never changes returns itself.
+     *
+     * @param playerNames the names of the players the copy will be sampled for
+     * @return the fixed distribution
+     */
+    default ThrowDistribution freeze(Collection<String> playerNames) {
+        return this;
+    }
+
+    /**
+     * Identifies the draws of a {@link #freeze(Collection) fixed} distribution: two copies of the same
+     * version draw the same pins from the same random generator.
+     *
+     * @return the version, 0 for a distribution that never changes
+     */
+    default long version() {
+        return 0;
+    }
+
+    /**
+     * Returns a distribution where every number of pins from 0 to the standing pins is equally likely.
+     *
+     * @return the uniform distribution
+     */
+    static ThrowDistribution uniform() {
+        return (playerName, throwIndex, standingPins, random) -> random.nextInt(standingPins + 1);
+    }
+}
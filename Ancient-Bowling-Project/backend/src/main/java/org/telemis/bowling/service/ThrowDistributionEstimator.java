@@ -0,0 +1,234 @@
+package org.telemis.bowling.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Streaming estimate of the pins knocked down by each player, keyed by player name.
+ * <p>
+ * Every throw increments one cell of a histogram of the pins knocked down, conditioned on
+ * the index of the throw in its frame and the number of standing pins.
+ * Cells are atomic counters and the strike and spare totals are {@link LongAdder}s,
+ * so games updating the same bowler concurrently never lock each other.
+ * </p>
+ * <p>
+ * It is also the {@link ThrowDistribution} used to simulate games: a player is drawn from
+ * their own history once it holds enough throws for the situation, uniformly otherwise.
+ * Simulations draw from a {@link #freeze(Collection) copy} of the histograms of the players of their game,
+ * versioned by the number of throws it holds, so that throws recorded meanwhile do not change their result.
+ * </p>
+ */
+@Service
+public class ThrowDistributionEstimator implements GameEventListener, ThrowDistribution {
+    static final int MIN_SAMPLES = 20;
+    private static final int MAX_PINS = 15;
+    private static final int PIN_VALUES = MAX_PINS + 1;
+    private static final int THROW_INDEXES = 3; // Bonus throws of the last frame are counted as third throws
+
+    private final Map<String, PlayerHistogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public void onThrow(ThrowEvent event) {
+        histograms.computeIfAbsent(event.playerName(), name -> new PlayerHistogram())
+                .record(event.throwIndex(), event.standingPins(), event.pins(),
+                        event.frameCompleted(), event.strike(), event.spare());
+    }
+
+    @Override
+    public int sample(String playerName, int throwIndex, int standingPins, SplittableRandom random) {
+        PlayerHistogram histogram = histograms.get(playerName);
+        return sample(histogram != null ? histogram.counts::get : null, throwIndex, standingPins, random);
+    }
+
+    @Override
+    public ThrowDistribution freeze(Collection<String> playerNames) {
+        Map<String, long[]> counts = new HashMap<>();
+        long throwCount = 0;
+        for (String playerName : playerNames) {
+            PlayerHistogram histogram = histograms.get(playerName);
+            if (histogram != null) {
+                long[] copy = new long[histogram.counts.length()];
+                for (int i = 0; i < copy.length; i++) {
+                    copy[i] = histogram.counts.get(i);
+                    throwCount += copy[i];
+                }
+                counts.put(playerName, copy);
+            }
+        }
+        return new FrozenDistribution(counts, throwCount);
+    }
+
+    /**
+     * Draws from the histogram of a player, uniformly if it holds too few throws for the situation.
+     *
+     * @param counts the cells of the histogram of the player, null if the player has none
+     */
+    private static int sample(IntToLongFunction counts, int throwIndex, int standingPins, SplittableRandom random) {
+        if (counts != null) {
+            int offset = PlayerHistogram.offset(throwIndex, standingPins);
+            long total = 0;
+            for (int pins = 0; pins <= standingPins; pins++) {
+                total += counts.applyAsLong(offset + pins);
+            }
+            if (total >= MIN_SAMPLES) {
+                long draw = random.nextLong(total);
+                for (int pins = 0; pins <= standingPins; pins++) {
+                    draw -= counts.applyAsLong(offset + pins);
+                    if (draw < 0) {
+                        return pins;
+                    }
+                }
+                return standingPins; // Counters moved while drawing
+            }
+        }
+        return random.nextInt(standingPins + 1);
+    }
+
+    /**
+     * Returns the throw statistics of a player.
+     */
+    public Optional<PlayerThrowStatistics> getStatistics(String playerName) {
+        return Optional.ofNullable(histograms.get(playerName)).map(histogram -> histogram.snapshot(playerName));
+    }
+
+    /**
+     * Returns a copy of the statistics of every player, suitable for persistence.
+     */
+    public List<PlayerThrowStatistics> snapshot() {
+        List<PlayerThrowStatistics> snapshot = new ArrayList<>(histograms.size());
+        histograms.forEach((name, histogram) -> snapshot.add(histogram.snapshot(name)));
+        return snapshot;
+    }
+
+    /**
+     * Adds previously persisted statistics to the current ones.
+     */
+    public void restore(Collection<PlayerThrowStatistics> snapshot) {
+        for (PlayerThrowStatistics statistics : snapshot) {
+            histograms.computeIfAbsent(statistics.playerName(), name -> new PlayerHistogram()).add(statistics);
+        }
+    }
+
+    /**
+     * Copy of the histograms of some players, see {@link #freeze(Collection)}.
+     *
+     * @param counts     the cells of the histogram of each player
+     * @param throwCount the number of throws in the copied histograms, as version
+     */
+    private record FrozenDistribution(Map<String, long[]> counts, long throwCount) implements ThrowDistribution {
+
+        @Override
+        public int sample(String playerName, int throwIndex, int standingPins, SplittableRandom random) {
+            long[] playerCounts = counts.get(playerName);
+            return ThrowDistributionEstimator.sample(playerCounts != null ? i -> playerCounts[i] : null,
+                    throwIndex, standingPins, random);
+        }
+
+        @Override
+        public long version() {
+            return throwCount;
+        }
+    }
+
+    /**
+     * Lock-free counters of a single player.
+     */
+    private static final class PlayerHistogram {
+        // [throwIndex][standingPins][pins] flattened
+        private final AtomicLongArray counts = new AtomicLongArray(THROW_INDEXES * PIN_VALUES * PIN_VALUES);
+        private final LongAdder strikes = new LongAdder();
+        private final LongAdder strikeChances = new LongAdder();
+        private final LongAdder spares = new LongAdder();
+        private final LongAdder spareChances = new LongAdder();
+
+        static int offset(int throwIndex, int standingPins) {
+            return (Math.min(throwIndex, THROW_INDEXES - 1) * PIN_VALUES + standingPins) * PIN_VALUES;
+        }
+
+        void record(int throwIndex, int standingPins, int pins, boolean frameCompleted, boolean strike, boolean spare) {
+            counts.incrementAndGet(offset(throwIndex, standingPins) + pins);
+            if (throwIndex == 0) {
+                strikeChances.increment();
+                if (pins == MAX_PINS) {
+                    strikes.increment();
+                }
+            }
+            if (frameCompleted && !strike) {
+                spareChances.increment();
+                if (spare) {
+                    spares.increment();
+                }
+            }
+        }
+
+        PlayerThrowStatistics snapshot(String playerName) {
+            long[] firstThrow = new long[PIN_VALUES];
+            long[][] secondThrow = new long[PIN_VALUES][PIN_VALUES];
+            long[][] thirdThrow = new long[PIN_VALUES][PIN_VALUES];
+            for (int pins = 0; pins < PIN_VALUES; pins++) {
+                firstThrow[pins] = counts.get(offset(0, MAX_PINS) + pins);
+            }
+            for (int standing = 0; standing < PIN_VALUES; standing++) {
+                for (int pins = 0; pins < PIN_VALUES; pins++) {
+                    secondThrow[standing][pins] = counts.get(offset(1, standing) + pins);
+                    thirdThrow[standing][pins] = counts.get(offset(2, standing) + pins);
+                }
+            }
+            return new PlayerThrowStatistics(playerName, strikes.sum(), strikeChances.sum(),
+                    spares.sum(), spareChances.sum(), firstThrow, secondThrow, thirdThrow);
+        }
+
+        void add(PlayerThrowStatistics statistics) {
+            for (int pins = 0; pins < PIN_VALUES; pins++) {
+                counts.addAndGet(offset(0, MAX_PINS) + pins, statistics.firstThrow()[pins]);
+            }
+            for (int standing = 0; standing < PIN_VALUES; standing++) {
+                for (int pins = 0; pins < PIN_VALUES; pins++) {
+                    counts.addAndGet(offset(1, standing) + pins, statistics.secondThrow()[standing][pins]);
+                    counts.addAndGet(offset(2, standing) + pins, statistics.thirdThrow()[standing][pins]);
+                }
+            }
+            strikes.add(statistics.strikes());
+            strikeChances.add(statistics.strikeChances());
+            spares.add(statistics.spares());
+            spareChances.add(statistics.spareChances());
+        }
+    }
+
+    /**
+     * Throw statistics of a player.
+     *
+     * @param playerName    the player's name
+     * @param strikes       the number of first throws knocking down every pin
+     * @param strikeChances the number of first throws
+     * @param spares        the number of frames completed with a spare
+     * @param spareChances  the number of frames completed without a strike
+     * @param firstThrow    the number of first throws per number of pins knocked down
+     * @param secondThrow   the number of second throws per number of standing pins, then of pins knocked down
+     * @param thirdThrow    the number of third (or later) throws per number of standing pins,
+     *                      then of pins knocked down
+     */
+    public record PlayerThrowStatistics(String playerName, long strikes, long strikeChances,
+                                        long spares, long spareChances,
+                                        long[] firstThrow, long[][] secondThrow, long[][] thirdThrow) {
+
+        public double getStrikeRate() {
+            return strikeChances == 0 ? 0 : (double) strikes / strikeChances;
+        }
+
+        public double getSpareRate() {
+            return spareChances == 0 ? 0 : (double) spares / spareChances;
+        }
+    }
+}
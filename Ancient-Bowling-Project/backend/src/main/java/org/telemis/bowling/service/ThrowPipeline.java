@@ -0,0 +1,248 @@
+package org.telemis.bowling.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous application of throws, as an alternative to calling {@link GameService#addThrow(String, int)}
+ * on the request thread.
+ * <p>
+ * Games are partitioned into shards by ID. Each shard has a bounded multi-producer ring buffer
+ * and a single consumer thread, which drains it in batches and applies the throws in submission
+ * order. All the throws of a game go through the same shard, so their order is preserved. The consumer
+ * still takes the game lock, so it contends with the other requests on the game. The returned future
+ * completes once the throw has been applied, or exceptionally with the reason it was rejected.
+ * </p>
+ * <p>
+ * Enabled by setting {@code bowling.pipeline.enabled} to {@code true}.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "bowling.pipeline", name = "enabled", havingValue = "true")
+public class ThrowPipeline implements AutoCloseable {
+    static final int MAX_BATCH = 256;
+    private static final long NO_SEQUENCE = 0; // Not a valid sequence number, see submit(String, int, long)
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final GameService gameService;
+    private final Shard[] shards;
+    private volatile boolean running = true;
+
+    @Autowired
+    public ThrowPipeline(GameService gameService,
+                         @Value("${bowling.pipeline.shards:0}") int shards,
+                         @Value("${bowling.pipeline.capacity:65536}") int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of 2");
+        }
+        this.gameService = gameService;
+        this.shards = new Shard[shards > 0 ? shards : Runtime.getRuntime().availableProcessors()];
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new Shard(capacity);
+        }
+        for (int i = 0; i < this.shards.length; i++) {
+            Thread consumer = new Thread(this.shards[i], "throw-pipeline-" + i);
+            consumer.setDaemon(true);
+            this.shards[i].consumer = consumer;
+            consumer.start();
+        }
+    }
+
+    /**
+     * Queues a throw for the current player of a game.
+     *
+     * @param gameId the ID of the game
+     * @param pins   the number of pins knocked down
+     * @return a future completed once the throw has been applied, or with the exception that rejected it
+     */
+    public CompletableFuture<Boolean> submit(String gameId, int pins) {
+        return enqueue(gameId, pins, NO_SEQUENCE);
+    }
+
+    /**
+     * Queues a throw carrying its sequence number in the game, see {@link GameService#addThrow(String, int, long)}.
+     *
+     * @param gameId   the ID of the game
+     * @param pins     the number of pins knocked down
+     * @param sequence the sequence number of the throw in the game, starting at 1
+     * @return a future completed with {@code true} once the throw has been applied, {@code false} if it already was,
+     * or with the exception that rejected it
+     */
+    public CompletableFuture<Boolean> submit(String gameId, int pins, long sequence) {
+        if (sequence < 1) {
+            // Rejected as by GameService, and never taken for a throw without sequence number
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Throw sequence number must be positive"));
+        }
+        return enqueue(gameId, pins, sequence);
+    }
+
+    private CompletableFuture<Boolean> enqueue(String gameId, int pins, long sequence) {
+        CompletableFuture<Boolean> completion = new CompletableFuture<>();
+        Shard shard = shardOf(gameId);
+        if (!running) {
+            completion.completeExceptionally(new IllegalStateException("Throw pipeline is stopped"));
+        } else if (!shard.offer(gameId, pins, sequence, completion)) {
+            completion.completeExceptionally(new IllegalStateException("Throw pipeline is full, retry later"));
+        } else if (!running && !shard.consumer.isAlive()) {
+            shard.rejectRemaining(); // Published after the last throws were rejected, no one else would
+        }
+        return completion;
+    }
+
+    private Shard shardOf(String gameId) {
+        return shards[Math.floorMod(gameId.hashCode(), shards.length)];
+    }
+
+    /**
+     * Stops the consumers. Throws still queued, or submitted while stopping, are rejected.
+     */
+    @PreDestroy
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.consumer);
+        }
+        for (Shard shard : shards) {
+            shard.consumer.join();
+            shard.rejectRemaining(); // Published after the consumer stopped
+        }
+    }
+
+    /**
+     * Ring buffer of a shard and its consumer.
+     * <p>
+     * Each slot has a sequence number: equal to a position when the slot is free for the producer
+     * claiming that position, and to the position + 1 once the throw has been published.
+     * </p>
+     */
+    private final class Shard implements Runnable {
+        private final int mask;
+        private final AtomicLongArray sequences;
+        private final String[] gameIds;
+        private final int[] pins;
+        private final long[] throwSequences;
+        private final CompletableFuture<Boolean>[] completions;
+        private final AtomicLong tail = new AtomicLong();
+        private long head; // Only used by the consumer, then by the threads rejecting the throws left once it stopped
+        private volatile boolean idle;
+        private Thread consumer;
+
+        Shard(int capacity) {
+            this.mask = capacity - 1;
+            this.sequences = new AtomicLongArray(capacity);
+            this.gameIds = new String[capacity];
+            this.pins = new int[capacity];
+            this.throwSequences = new long[capacity];
+            @SuppressWarnings("unchecked")
+            CompletableFuture<Boolean>[] completions = new CompletableFuture[capacity];
+            this.completions = completions;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(String gameId, int pinCount, long throwSequence, CompletableFuture<Boolean> completion) {
+            long position;
+            int index;
+            while (true) {
+                position = tail.get();
+                index = (int) position & mask;
+                long sequence = sequences.get(index);
+                if (sequence == position) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        break;
+                    }
+                } else if (sequence < position) {
+                    return false; // The consumer has not freed the slot yet
+                }
+            }
+            gameIds[index] = gameId;
+            pins[index] = pinCount;
+            throwSequences[index] = throwSequence;
+            completions[index] = completion;
+            sequences.set(index, position + 1); // Publishes the throw to the consumer
+            if (idle) {
+                LockSupport.unpark(consumer);
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                if (drain() == 0) {
+                    idle = true;
+                    if (!hasPublished()) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    idle = false;
+                }
+            }
+            rejectRemaining();
+        }
+
+        private boolean hasPublished() {
+            return sequences.get((int) head & mask) == head + 1;
+        }
+
+        /**
+         * Applies a batch of published throws, in order.
+         *
+         * @return the number of throws applied
+         */
+        private int drain() {
+            int count = 0;
+            while (count < MAX_BATCH && hasPublished()) {
+                int index = (int) head & mask;
+                try {
+                    completions[index].complete(apply(index));
+                } catch (RuntimeException e) {
+                    completions[index].completeExceptionally(e);
+                }
+                release(index);
+                count++;
+            }
+            return count;
+        }
+
+        private boolean apply(int index) {
+            if (throwSequences[index] == NO_SEQUENCE) {
+                gameService.addThrow(gameIds[index], pins[index]);
+                return true;
+            }
+            return gameService.addThrow(gameIds[index], pins[index], throwSequences[index]);
+        }
+
+        /**
+         * Rejects the throws published and not applied. Called once the consumer has stopped draining,
+         * by the consumer itself, then by the threads that may have published afterwards.
+         */
+        synchronized void rejectRemaining() {
+            while (hasPublished()) {
+                int index = (int) head & mask;
+                completions[index].completeExceptionally(new IllegalStateException("Throw pipeline is stopped"));
+                release(index);
+            }
+        }
+
+        /**
+         * Frees the slot at the head for the producer of the next lap.
+         */
+        private void release(int index) {
+            gameIds[index] = null;
+            completions[index] = null;
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.telemis.bowling.service;
+
+/**
+ * Thrown when a throw arrives with a sequence number past the next one expected by its game,
+ * meaning that earlier throws were lost or are still on their way.
+ * The throw is not recorded; the client should resend from the expected sequence number.
+ */
+public class ThrowSequenceGapException extends IllegalStateException {
+    private final String gameId;
+    private final long expectedSequence;
+    private final long receivedSequence;
+
+    public ThrowSequenceGapException(String gameId, long expectedSequence, long receivedSequence) {
+        super("Throw " + receivedSequence + " of game " + gameId + " received before throw " + expectedSequence);
+        this.gameId = gameId;
+        this.expectedSequence = expectedSequence;
+        this.receivedSequence = receivedSequence;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public long getExpectedSequence() {
+        return expectedSequence;
+    }
+
+    public long getReceivedSequence() {
+        return receivedSequence;
+    }
+}
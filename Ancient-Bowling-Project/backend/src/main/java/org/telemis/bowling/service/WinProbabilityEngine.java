@@ -0,0 +1,284 @@
+package org.telemis.bowling.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.telemis.bowling.model.Frame;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.model.Player;
+import org.telemis.bowling.model.ScoreBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo estimation of the win probability of each player of a game.
+ * <p>
+ * The remaining throws of a fork of the game are played out many times, in parallel chunks
+ * on a dedicated fork-join pool, drawing pins from a {@link ThrowDistribution}.
+ * Each chunk has its own random generator, derived from the seed in chunk order. The distribution is
+ * {@link ThrowDistribution#freeze(java.util.Collection) frozen} for the players of the game when the estimate
+ * starts, so a result only depends on the game version, the distribution version, the number of simulations
+ * and the seed, all of which it reports. The distribution learnt from live throws, see
+ * {@link ThrowDistributionEstimator}, changes with every throw of these players in any game, so a later
+ * request with the same seed may be drawn from a newer distribution version.
+ * </p>
+ * <p>
+ * The last estimate of each game is cached until the game changes, and forgotten once the game is complete
+ * or deleted. An estimate may be shared by several callers, so it is not cancelled when a newer version
+ * of the game is requested: it runs to its end and is dropped.
+ * </p>
+ */
+@Service
+public class WinProbabilityEngine implements GameEventListener {
+    static final int MAX_SIMULATIONS = 10_000_000;
+    private static final int CHUNK_SIZE = 4096;
+    private static final double Z_95 = 1.959964;
+
+    private final Supplier<GameService> gameService;
+    private final ThrowDistribution distribution;
+    private final ForkJoinPool pool;
+    private final Map<String, CachedEstimate> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WinProbabilityEngine(ObjectProvider<GameService> gameService, ObjectProvider<ThrowDistribution> distribution) {
+        this(gameService::getObject, distribution.getIfAvailable(ThrowDistribution::uniform),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public WinProbabilityEngine(GameService gameService, ThrowDistribution distribution, int parallelism) {
+        this(() -> gameService, distribution, parallelism);
+    }
+
+    /**
+     * @param gameService supplies the service publishing to this engine, which cannot be built before it
+     */
+    WinProbabilityEngine(Supplier<GameService> gameService, ThrowDistribution distribution, int parallelism) {
+        this.gameService = gameService;
+        this.distribution = distribution;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Estimates the win probabilities of the players of a game, waiting for the result.
+     * An estimate cancelled by another caller, or because the game was deleted, is started again.
+     */
+    public WinProbabilities estimate(String gameId, int simulations, long seed) {
+        while (true) {
+            try {
+                return estimateAsync(gameId, simulations, seed).join();
+            } catch (CancellationException e) {
+                // Shared with a caller who cancelled it, or game deleted: the next attempt reports it
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Starts the estimation of the win probabilities of the players of a game.
+     * The returned future is shared by the callers asking for the same estimate: cancelling it stops
+     * the simulations for all of them.
+     */
+    public CompletableFuture<WinProbabilities> estimateAsync(String gameId, int simulations, long seed) {
+        if (simulations < 1 || simulations > MAX_SIMULATIONS) {
+            throw new IllegalArgumentException("Number of simulations must be between 1 and " + MAX_SIMULATIONS);
+        }
+        Game snapshot = gameService.get().forkGame(gameId);
+        if (!snapshot.isStarted()) {
+            throw new IllegalStateException("Failed to estimate win probabilities: Game has not started");
+        }
+        List<String> playerNames = new ArrayList<>();
+        for (Player player : snapshot.getPlayers()) {
+            playerNames.add(player.getName());
+        }
+        ThrowDistribution frozen = distribution.freeze(playerNames);
+        if (snapshot.isGameComplete()) {
+            return simulate(gameId, snapshot, frozen, simulations, seed); // Nothing left to draw, and no longer cached
+        }
+        EstimateKey key = new EstimateKey(snapshot.getVersion(), frozen.version(), simulations, seed);
+        return cache.compute(gameId, (id, cached) -> {
+            if (cached != null && cached.key().equals(key) && !cached.result().isCompletedExceptionally()) {
+                return cached;
+            }
+            return new CachedEstimate(key, simulate(gameId, snapshot, frozen, simulations, seed));
+        }).result();
+    }
+
+    /**
+     * Forgets the cached estimate of a game.
+     */
+    public void evict(String gameId) {
+        CachedEstimate cached = cache.remove(gameId);
+        if (cached != null) {
+            cached.result().cancel(false);
+        }
+    }
+
+    @Override
+    public void onGameDeleted(String gameId) {
+        evict(gameId);
+    }
+
+    @Override
+    public void onGameCompleted(GameCompletedEvent event) {
+        // The estimate of the last throw may still be running for callers waiting for it
+        cache.remove(event.gameId());
+    }
+
+    int cachedEstimates() {
+        return cache.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private CompletableFuture<WinProbabilities> simulate(String gameId, Game snapshot, ThrowDistribution distribution,
+                                                         int simulations, long seed) {
+        CompletableFuture<WinProbabilities> result = new CompletableFuture<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        result.whenComplete((probabilities, e) -> cancelled.set(result.isCancelled()));
+        pool.execute(() -> {
+            try {
+                result.complete(run(gameId, snapshot, distribution, simulations, seed, cancelled));
+            } catch (CancellationException e) {
+                result.cancel(false);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private WinProbabilities run(String gameId, Game snapshot, ThrowDistribution distribution, int simulations,
+                                 long seed, AtomicBoolean cancelled) {
+        int chunks = (simulations + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        long[] chunkSeeds = new long[chunks];
+        for (int c = 0; c < chunks; c++) {
+            chunkSeeds[c] = root.nextLong();
+        }
+
+        double[][] chunkWins = new double[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int size = Math.min(CHUNK_SIZE, simulations - c * CHUNK_SIZE);
+            chunkWins[c] = runChunk(snapshot, distribution, size, new SplittableRandom(chunkSeeds[c]), cancelled);
+        });
+
+        List<Player> players = snapshot.getPlayers();
+        double[] wins = new double[players.size()];
+        for (double[] chunk : chunkWins) {
+            for (int p = 0; p < wins.length; p++) {
+                wins[p] += chunk[p];
+            }
+        }
+        List<PlayerProbability> probabilities = new ArrayList<>(players.size());
+        for (int p = 0; p < wins.length; p++) {
+            probabilities.add(PlayerProbability.of(players.get(p).getName(), wins[p], simulations));
+        }
+        return new WinProbabilities(gameId, snapshot.getVersion(), distribution.version(), simulations, seed,
+                probabilities);
+    }
+
+    /**
+     * Plays out the game the given number of times, ties splitting the win between the tied players.
+     *
+     * @return the wins of each player, in the order of the players of the game
+     */
+    private double[] runChunk(Game snapshot, ThrowDistribution distribution, int simulations, SplittableRandom random,
+                              AtomicBoolean cancelled) {
+        int playerCount = snapshot.getPlayers().size();
+        double[] wins = new double[playerCount];
+        int[] scores = new int[playerCount];
+        for (int i = 0; i < simulations; i++) {
+            if (cancelled.get()) {
+                throw new CancellationException();
+            }
+            Game game = snapshot.fork();
+            playOut(game, distribution, random);
+
+            List<Player> players = game.getPlayers();
+            int best = -1;
+            int winners = 0;
+            for (int p = 0; p < playerCount; p++) {
+                scores[p] = ScoreBounds.minFinalScore(players.get(p));
+                if (scores[p] > best) {
+                    best = scores[p];
+                    winners = 1;
+                } else if (scores[p] == best) {
+                    winners++;
+                }
+            }
+            for (int p = 0; p < playerCount; p++) {
+                if (scores[p] == best) {
+                    wins[p] += 1.0 / winners;
+                }
+            }
+        }
+        return wins;
+    }
+
+    private static void playOut(Game game, ThrowDistribution distribution, SplittableRandom random) {
+        while (!game.isGameComplete()) {
+            Player player = game.getCurrentPlayer();
+            player.ensureFreshFrame();
+            Frame frame = player.getCurrentFrame();
+            int standingPins = frame.getRemainingPins();
+            game.addThrow(distribution.sample(player.getName(), frame.throwCount(), standingPins, random));
+        }
+    }
+
+    private record EstimateKey(long version, long distributionVersion, int simulations, long seed) {}
+
+    private record CachedEstimate(EstimateKey key, CompletableFuture<WinProbabilities> result) {}
+
+    /**
+     * Win probabilities of the players of a game.
+     *
+     * @param gameId              the ID of the game
+     * @param version             the version of the game the simulations started from
+     * @param distributionVersion the version of the throw distribution the simulations were drawn from
+     * @param simulations         the number of simulated games
+     * @param seed                the seed the simulations were drawn from
+     * @param players             the probability of each player, in the order of the players of the game
+     */
+    public record WinProbabilities(String gameId, long version, long distributionVersion, int simulations, long seed,
+                                   List<PlayerProbability> players) {}
+
+    /**
+     * Win probability of a player with its 95% Wilson confidence interval.
+     *
+     * @param name        the player's name
+     * @param probability the estimated probability of winning, ties being shared
+     * @param lowerBound  the lower bound of the confidence interval
+     * @param upperBound  the upper bound of the confidence interval
+     */
+    public record PlayerProbability(String name, double probability, double lowerBound, double upperBound) {
+
+        static PlayerProbability of(String name, double wins, int simulations) {
+            double p = wins / simulations;
+            double z2 = Z_95 * Z_95;
+            double denominator = 1 + z2 / simulations;
+            double center = (p + z2 / (2.0 * simulations)) / denominator;
+            double halfWidth = Z_95 * Math.sqrt(p * (1 - p) / simulations
+                    + z2 / (4.0 * simulations * simulations)) / denominator;
+            return new PlayerProbability(name, p, Math.max(0, center - halfWidth), Math.min(1, center + halfWidth));
+        }
+    }
+}
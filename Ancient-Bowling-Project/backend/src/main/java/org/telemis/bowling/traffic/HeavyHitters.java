@@ -0,0 +1,240 @@
+package org.telemis.bowling.traffic;
+
+import org.telemis.bowling.util.Hashing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Finds the most frequent keys of a stream over a sliding window, in memory independent of the number of keys.
+ * <p>
+ * Time is divided into slots, kept in a ring. Each slot counts its keys in a count-min sketch: a few rows
+ * of counters, a key incrementing one counter per row, its count estimated by the smallest of them.
+ * Estimates never fall below the true count, and exceed it by a small share of the slot total.
+ * Each slot also keeps a fixed table of candidates, the keys seen with the highest estimates: a key may
+ * take either of two places, replacing the candidate with the lower estimate. A window is the sum of its slots.
+ * </p>
+ * <p>
+ * Recording a key updates atomic counters and takes no lock, except to clear a slot when it is reused.
+ * Keys recorded while a slot is being cleared may be lost, so counts are approximate, as the sketch already is.
+ * </p>
+ */
+public final class HeavyHitters {
+    private final int width;
+    private final int depth;
+    private final int rowBits;
+    private final int rowsPerHash;
+    private final long slotMillis;
+    private final Slot[] slots;
+    private final LongSupplier clock;
+
+    /**
+     * @param slots      the number of slots, the longest window being {@code slots * slotMillis}
+     * @param slotMillis the duration of a slot, the resolution of the windows
+     * @param width      the counters per row of the sketches, a power of 2
+     * @param depth      the rows of the sketches
+     * @param candidates the candidate keys kept per slot, a power of 2
+     * @param clock      the current time in milliseconds
+     */
+    HeavyHitters(int slots, long slotMillis, int width, int depth, int candidates, LongSupplier clock) {
+        if (slots < 1 || slotMillis < 1 || depth < 1) {
+            throw new IllegalArgumentException("Slots, slot duration and depth must be positive");
+        }
+        if (width < 2 || Integer.bitCount(width) != 1 || candidates < 2 || Integer.bitCount(candidates) != 1) {
+            throw new IllegalArgumentException("Width and candidates must be powers of 2");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.rowBits = Integer.numberOfTrailingZeros(width);
+        this.rowsPerHash = Long.SIZE / rowBits;
+        this.slotMillis = slotMillis;
+        this.clock = clock;
+        this.slots = new Slot[slots];
+        for (int i = 0; i < slots; i++) {
+            this.slots[i] = new Slot(width * depth, candidates);
+        }
+    }
+
+    void record(String key) {
+        long epoch = clock.getAsLong() / slotMillis;
+        Slot slot = slots[(int) (epoch % slots.length)];
+        if (slot.epoch != epoch && !slot.reset(epoch)) {
+            return; // Clock went back to a slot already reused
+        }
+        long hash = hash(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, slot.counts.incrementAndGet(index(hash, row)));
+        }
+        slot.total.incrementAndGet();
+        offer(slot, key, hash, estimate);
+    }
+
+    /**
+     * Keeps a key among the candidates of a slot if its estimate beats one of the two candidates it may replace.
+     */
+    private void offer(Slot slot, String key, long hash, int estimate) {
+        int mask = slot.candidates.length() - 1;
+        int first = (int) hash & mask;
+        int second = (int) (hash >>> 32) & mask;
+        if (second == first) {
+            second = (first + 1) & mask;
+        }
+        Candidate atFirst = slot.candidates.get(first);
+        Candidate atSecond = slot.candidates.get(second);
+        if ((atFirst != null && atFirst.is(key, hash)) || (atSecond != null && atSecond.is(key, hash))) {
+            return;
+        }
+        int place;
+        Candidate victim;
+        if (atFirst == null || atSecond == null) {
+            place = atFirst == null ? first : second;
+            victim = null;
+        } else {
+            int firstEstimate = estimate(slot, atFirst.hash());
+            int secondEstimate = estimate(slot, atSecond.hash());
+            place = firstEstimate <= secondEstimate ? first : second;
+            victim = place == first ? atFirst : atSecond;
+            if (Math.min(firstEstimate, secondEstimate) >= estimate) {
+                return;
+            }
+        }
+        slot.candidates.compareAndSet(place, victim, new Candidate(key, hash)); // Lost races are harmless
+    }
+
+    private int estimate(Slot slot, long hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, slot.counts.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the most frequent keys over the last slots covering a window, the current slot included.
+     *
+     * @param windowMillis the duration of the window, rounded up to whole slots
+     * @param limit        the maximum number of keys
+     * @throws IllegalArgumentException if the window is not positive or longer than the slots kept
+     */
+    Ranking top(long windowMillis, int limit) {
+        if (windowMillis < 1 || windowMillis > slotMillis * slots.length) {
+            throw new IllegalArgumentException("Window must be positive and at most " + slotMillis * slots.length + " ms");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        long current = clock.getAsLong() / slotMillis;
+        long count = (windowMillis + slotMillis - 1) / slotMillis;
+        List<Slot> window = new ArrayList<>();
+        for (Slot slot : slots) {
+            long epoch = slot.epoch;
+            if (epoch <= current && epoch > current - count) {
+                window.add(slot);
+            }
+        }
+        long total = 0;
+        Map<String, Long> hashes = new HashMap<>();
+        for (Slot slot : window) {
+            total += slot.total.get();
+            for (int i = 0; i < slot.candidates.length(); i++) {
+                Candidate candidate = slot.candidates.get(i);
+                if (candidate != null) {
+                    hashes.put(candidate.key(), candidate.hash());
+                }
+            }
+        }
+        List<KeyCount> counts = new ArrayList<>(hashes.size());
+        for (Map.Entry<String, Long> candidate : hashes.entrySet()) {
+            long sum = 0;
+            for (Slot slot : window) {
+                sum += estimate(slot, candidate.getValue());
+            }
+            counts.add(new KeyCount(candidate.getKey(), sum));
+        }
+        counts.sort((a, b) -> a.count() != b.count() ? Long.compare(b.count(), a.count()) : a.key().compareTo(b.key()));
+        return new Ranking(window.size() * slotMillis, total, List.copyOf(counts.subList(0, Math.min(limit, counts.size()))));
+    }
+
+    long maxWindowMillis() {
+        return slotMillis * slots.length;
+    }
+
+    /**
+     * Counter of a key in a row, taken from distinct bits of its hash, mixed again once they are used up.
+     * Rows must be independent: deriving them from two halves of one hash (Kirsch-Mitzenmacher) would make
+     * a key colliding with a hot key in two rows collide with it in every row.
+     */
+    private int index(long hash, int row) {
+        long bits = row < rowsPerHash ? hash : Hashing.mix(hash + (row / rowsPerHash) * 0x9e3779b97f4a7c15L);
+        return row * width + ((int) (bits >>> (row % rowsPerHash * rowBits)) & (width - 1));
+    }
+
+    /**
+     * 64-bit hash of the characters of a key: a 32-bit {@link String#hashCode()} would leave the rows
+     * only 32 bits to draw from, and keys sharing it would collide in every row.
+     */
+    private static long hash(String key) {
+        return Hashing.hash(key);
+    }
+
+    private record Candidate(String key, long hash) {
+        boolean is(String other, long otherHash) {
+            return hash == otherHash && key.equals(other);
+        }
+    }
+
+    private static final class Slot {
+        private final AtomicIntegerArray counts;
+        private final AtomicReferenceArray<Candidate> candidates;
+        private final AtomicLong total = new AtomicLong();
+        private volatile long epoch = Long.MIN_VALUE;
+
+        Slot(int counters, int candidates) {
+            this.counts = new AtomicIntegerArray(counters);
+            this.candidates = new AtomicReferenceArray<>(candidates);
+        }
+
+        /**
+         * Clears this slot for a newer epoch.
+         *
+         * @return {@code false} if this slot already holds a newer epoch
+         */
+        synchronized boolean reset(long newEpoch) {
+            if (epoch == newEpoch) {
+                return true;
+            } else if (epoch > newEpoch) {
+                return false;
+            }
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            for (int i = 0; i < candidates.length(); i++) {
+                candidates.set(i, null);
+            }
+            total.set(0);
+            epoch = newEpoch;
+            return true;
+        }
+    }
+
+    /**
+     * A key and its estimated count.
+     */
+    public record KeyCount(String key, long count) {}
+
+    /**
+     * The most frequent keys of a window.
+     *
+     * @param windowMillis the duration of the slots summed, the current one being partial
+     * @param total        the number of keys recorded in the window
+     * @param top          the most frequent keys, most frequent first
+     */
+    public record Ranking(long windowMillis, long total, List<KeyCount> top) {}
+}
@@ -0,0 +1,42 @@
+package org.telemis.bowling.traffic;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/traffic")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "bowling.traffic", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Traffic", description = "Games, clients and endpoints generating most of the traffic")
+public class TrafficController {
+    private final TrafficMonitor trafficMonitor;
+
+    public TrafficController(TrafficMonitor trafficMonitor) {
+        this.trafficMonitor = trafficMonitor;
+    }
+
+    @Operation(summary = "Get hottest games",
+               description = "Retrieves the games, clients and endpoints with the most requests and throws over a recent window")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rankings retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid window or limit")
+    })
+    @GetMapping("/hot")
+    public TrafficMonitor.TrafficReport getHottest(
+            @Parameter(description = "Duration of the window (ISO-8601), at most 15 minutes by default")
+            @RequestParam(defaultValue = "PT1M") Duration window,
+            @Parameter(description = "Maximum number of entries per ranking") @RequestParam(defaultValue = "10") int limit) {
+        return trafficMonitor.hottest(window, limit);
+    }
+}
@@ -0,0 +1,40 @@
+package org.telemis.bowling.traffic;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.telemis.bowling.util.Clients;
+
+import java.util.Map;
+
+/**
+ * Records the requests to the game API in {@link TrafficMonitor}, including those shed by admission control.
+ * Clients are identified as admission control does, see {@link Clients}.
+ */
+class TrafficInterceptor implements HandlerInterceptor {
+    private final TrafficMonitor trafficMonitor;
+    private final String clientHeader;
+
+    /**
+     * @param clientHeader the header identifying the client, null or empty to use the client address
+     */
+    TrafficInterceptor(TrafficMonitor trafficMonitor, String clientHeader) {
+        this.trafficMonitor = trafficMonitor;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        trafficMonitor.recordRequest(Clients.of(request, clientHeader), variables != null ? variables.get("gameId") : null,
+                request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+package org.telemis.bowling.traffic;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.service.GameEventListener;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks which games, clients and endpoints generate most of the traffic, see {@link HeavyHitters}.
+ * <p>
+ * Requests to the game API are recorded by {@link TrafficInterceptor}, and throws applied to the games
+ * as a {@link GameEventListener}, whichever way they arrive. Memory is fixed by the size of the sketches,
+ * however many games are live: about {@code slots * width * depth * 4} bytes per ranking.
+ * Enabled unless {@code bowling.traffic.enabled} is {@code false}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bowling.traffic", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TrafficMonitor implements GameEventListener {
+    private final HeavyHitters gameRequests;
+    private final HeavyHitters clientRequests;
+    private final HeavyHitters endpointRequests;
+    private final HeavyHitters gameThrows;
+
+    @Autowired
+    public TrafficMonitor(@Value("${bowling.traffic.slots:60}") int slots,
+                          @Value("${bowling.traffic.slot-duration:PT15S}") Duration slotDuration,
+                          @Value("${bowling.traffic.width:512}") int width,
+                          @Value("${bowling.traffic.depth:4}") int depth,
+                          @Value("${bowling.traffic.candidates:64}") int candidates) {
+        this(slots, slotDuration, width, depth, candidates, System::currentTimeMillis);
+    }
+
+    TrafficMonitor(int slots, Duration slotDuration, int width, int depth, int candidates, LongSupplier clock) {
+        long slotMillis = slotDuration.toMillis();
+        this.gameRequests = new HeavyHitters(slots, slotMillis, width, depth, candidates, clock);
+        this.clientRequests = new HeavyHitters(slots, slotMillis, width, depth, candidates, clock);
+        this.endpointRequests = new HeavyHitters(slots, slotMillis, width, depth, candidates, clock);
+        this.gameThrows = new HeavyHitters(slots, slotMillis, width, depth, candidates, clock);
+    }
+
+    /**
+     * Records a request to the game API.
+     *
+     * @param client   the address of the client
+     * @param gameId   the ID of the game of the request, null if it concerns no single game
+     * @param endpoint the method and path pattern of the request, such as {@code POST /api/games/{gameId}/throw}
+     */
+    public void recordRequest(String client, String gameId, String endpoint) {
+        clientRequests.record(client);
+        endpointRequests.record(endpoint);
+        if (gameId != null) {
+            gameRequests.record(gameId);
+        }
+    }
+
+    @Override
+    public void onThrow(ThrowEvent event) {
+        gameThrows.record(event.gameId());
+    }
+
+    /**
+     * Returns the hottest games, clients and endpoints over a window.
+     *
+     * @param window the duration of the window, rounded up to the slot duration
+     * @param limit  the maximum number of entries per ranking
+     * @throws IllegalArgumentException if the window is not positive or longer than the slots kept
+     */
+    public TrafficReport hottest(Duration window, int limit) {
+        long windowMillis = window.toMillis();
+        return new TrafficReport(gameRequests.top(windowMillis, limit), gameThrows.top(windowMillis, limit),
+                clientRequests.top(windowMillis, limit), endpointRequests.top(windowMillis, limit));
+    }
+
+    public Duration maxWindow() {
+        return Duration.ofMillis(gameRequests.maxWindowMillis());
+    }
+
+    /**
+     * Rankings of a window. Counts are estimates, never below the true counts.
+     *
+     * @param gameRequests     the games receiving most requests
+     * @param gameThrows       the games receiving most throws
+     * @param clientRequests   the client addresses sending most requests
+     * @param endpointRequests the endpoints receiving most requests
+     */
+    public record TrafficReport(HeavyHitters.Ranking gameRequests, HeavyHitters.Ranking gameThrows,
+                                HeavyHitters.Ranking clientRequests, HeavyHitters.Ranking endpointRequests) {}
+}
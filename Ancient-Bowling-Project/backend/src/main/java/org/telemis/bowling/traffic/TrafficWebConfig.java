@@ -0,0 +1,35 @@
+package org.telemis.bowling.traffic;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Records the requests to the game API, see {@link TrafficInterceptor}.
+ * Registered first, so that requests shed or redirected by later interceptors are counted too.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TrafficWebConfig implements WebMvcConfigurer {
+    private final TrafficMonitor trafficMonitor;
+    private final String clientHeader;
+
+    public TrafficWebConfig(ObjectProvider<TrafficMonitor> trafficMonitor,
+                            @Value("${bowling.admission.client-header:}") String clientHeader) {
+        this.trafficMonitor = trafficMonitor.getIfAvailable();
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (trafficMonitor != null) {
+            registry.addInterceptor(new TrafficInterceptor(trafficMonitor, clientHeader))
+                    .addPathPatterns("/api/games", "/api/games/**")
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.telemis.bowling.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Identification of the client of a request, shared by admission control and traffic monitoring
+ * so that both count the same clients.
+ * <p>
+ * A client is identified by the header named by {@code bowling.admission.client-header} if the request has it,
+ * such as {@code X-Forwarded-For} set by a trusted proxy or a lane identifier, and by its address otherwise.
+ * </p>
+ */
+public final class Clients {
+
+    private Clients() {
+    }
+
+    /**
+     * @param clientHeader the header identifying the client, null or empty to use the client address
+     */
+    public static String of(HttpServletRequest request, String clientHeader) {
+        String client = clientHeader != null && !clientHeader.isEmpty() ? request.getHeader(clientHeader) : null;
+        return client != null && !client.isEmpty() ? client : request.getRemoteAddr();
+    }
+
+    /**
+     * @param clientHeader the header identifying the client, null or empty to use the client address
+     */
+    public static String of(ServerHttpRequest request, String clientHeader) {
+        String client = clientHeader != null && !clientHeader.isEmpty()
+                ? request.getHeaders().getFirst(clientHeader)
+                : null;
+        if (client != null && !client.isEmpty()) {
+            return client;
+        }
+        InetSocketAddress address = request.getRemoteAddress();
+        return address != null ? address.getHostString() : "";
+    }
+}
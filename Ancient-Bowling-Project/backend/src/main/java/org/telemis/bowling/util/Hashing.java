@@ -0,0 +1,41 @@
+package org.telemis.bowling.util;
+
+/**
+ * Hash functions shared by the game tables, the ID allocator, the cluster ring and the traffic sketches,
+ * so that they all spread keys the same way.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * MurmurHash3 finalizer: every bit of the result depends on every bit of the value,
+     * so values differing in a few low bits, such as consecutive IDs, are spread apart.
+     */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters, followed by {@link #mix(long)},
+     * since consecutive game IDs differ only by their last characters.
+     * All 64 bits depend on every character, unlike a widened {@link String#hashCode()}.
+     */
+    public static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            hash ^= c & 0xff;
+            hash *= 0x100000001b3L;
+            hash ^= c >>> 8;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+}
@@ -36,6 +36,8 @@ function renderScoreboard(data) {
                         </div>
                         <div class="mt-2">
                             Total Score: <strong>${playerScore.score}</strong>
+                            (max ${playerScore.maxScore})
+                            ${playerScore.eliminated ? '<span class="badge bg-secondary">Eliminated</span>' : ''}
                         </div>
                     </div>
                 `;
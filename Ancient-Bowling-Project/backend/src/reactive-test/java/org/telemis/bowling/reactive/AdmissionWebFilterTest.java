@@ -0,0 +1,77 @@
+package org.telemis.bowling.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import org.telemis.bowling.admission.AdmissionControl;
+import org.telemis.bowling.service.GameService;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionWebFilterTest {
+    private final AtomicInteger served = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        served.incrementAndGet();
+        return exchange.getResponse().setComplete();
+    };
+    private GameService gameService;
+    private AdmissionControl admissionControl;
+    private AdmissionWebFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+        // 1 request at a time, bursts of 2 requests per game and of 5 per client
+        admissionControl = new AdmissionControl(gameService, 1, 1, 2, 1, 5);
+        filter = new AdmissionWebFilter(admissionControl, new ObjectMapper().registerModule(new JavaTimeModule()),
+                "X-Lane");
+    }
+
+    @Test
+    void shouldShedRequestsOnAGameBeyondItsBurst() {
+        String gameId = gameService.createGame();
+        assertNull(filter(MockServerHttpRequest.get("/api/games/" + gameId)).getResponse().getStatusCode());
+        assertNull(filter(MockServerHttpRequest.get("/api/games/" + gameId + "/scoreboard")).getResponse().getStatusCode());
+
+        MockServerWebExchange rejected = filter(MockServerHttpRequest.get("/api/games/" + gameId));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertNotNull(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getResponse().getBodyAsString().block().contains("GAME_RATE"));
+        assertEquals(2, served.get());
+        assertEquals(0, admissionControl.status().inFlight());
+    }
+
+    @Test
+    void shouldTellClientsApartByHeader() {
+        for (int i = 0; i < 5; i++) {
+            filter(MockServerHttpRequest.post("/api/games").header("X-Lane", "1"));
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS,
+                filter(MockServerHttpRequest.post("/api/games").header("X-Lane", "1")).getResponse().getStatusCode());
+        assertNull(filter(MockServerHttpRequest.post("/api/games").header("X-Lane", "2")).getResponse().getStatusCode());
+    }
+
+    @Test
+    void shouldNotLimitOperatorEndpoints() {
+        for (int i = 0; i < 10; i++) {
+            assertNull(filter(MockServerHttpRequest.get("/api/admission")).getResponse().getStatusCode());
+        }
+        assertEquals(10, served.get());
+        assertEquals(0, admissionControl.status().admitted());
+    }
+
+    private MockServerWebExchange filter(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
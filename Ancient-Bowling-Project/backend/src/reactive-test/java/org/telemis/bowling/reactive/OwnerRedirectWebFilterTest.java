@@ -0,0 +1,64 @@
+package org.telemis.bowling.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import org.telemis.bowling.cluster.ClusterRouter;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OwnerRedirectWebFilterTest {
+    private final ClusterRouter clusterRouter = mock(ClusterRouter.class);
+    private final OwnerRedirectWebFilter filter = new OwnerRedirectWebFilter(clusterRouter);
+    private final AtomicBoolean chained = new AtomicBoolean();
+    private final WebFilterChain chain = exchange -> {
+        chained.set(true);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        when(clusterRouter.isLocal("1")).thenReturn(true);
+        when(clusterRouter.ownerOf("2")).thenReturn("http://node2:8080");
+    }
+
+    @Test
+    void shouldRedirectRequestsForRemoteGameToItsOwner() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/games/2/players?playerName=John"));
+
+        filter.filter(exchange, chain).block();
+
+        assertFalse(chained.get());
+        assertEquals(HttpStatus.TEMPORARY_REDIRECT, exchange.getResponse().getStatusCode());
+        assertEquals(URI.create("http://node2:8080/api/games/2/players?playerName=John"),
+                exchange.getResponse().getHeaders().getLocation());
+    }
+
+    @Test
+    void shouldServeRequestsForLocalGame() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/games/1"));
+
+        filter.filter(exchange, chain).block();
+
+        assertTrue(chained.get());
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void shouldServeRequestsForNoGame() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/games"));
+
+        filter.filter(exchange, chain).block();
+
+        assertTrue(chained.get());
+    }
+}
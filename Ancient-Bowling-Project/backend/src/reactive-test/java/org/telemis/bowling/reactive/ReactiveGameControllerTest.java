@@ -0,0 +1,111 @@
+package org.telemis.bowling.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.service.GameIndex;
+import org.telemis.bowling.service.GameService;
+import org.telemis.bowling.service.WinProbabilityEngine;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveGameController.class)
+class ReactiveGameControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private GameService gameService;
+
+    @MockBean
+    private WinProbabilityEngine winProbabilityEngine;
+
+    @MockBean
+    private GameIndex gameIndex;
+
+    @MockBean
+    private ScoreboardPublisher scoreboardPublisher;
+
+    @Test
+    void shouldCreateGame() {
+        when(gameService.createGame()).thenReturn("1");
+
+        webTestClient.post().uri("/api/games")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("1");
+    }
+
+    @Test
+    void shouldMakeThrow() {
+        webTestClient.post().uri("/api/games/{gameId}/throw?pins=5", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(gameService).addThrow("1", 5);
+    }
+
+    @Test
+    void shouldRejectInvalidThrow() {
+        doThrow(new IllegalArgumentException("Number of pins must be between 0 and 15"))
+                .when(gameService).addThrow("1", 16);
+
+        webTestClient.post().uri("/api/games/{gameId}/throw?pins=16", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldStreamGames() {
+        var summary = new GameIndex.GameSummary("1", GameIndex.State.LOBBY, Instant.parse("2024-01-01T20:00:00Z"), List.of());
+        when(gameIndex.stream(any(), isNull())).thenReturn(Stream.of(summary, summary));
+
+        webTestClient.get().uri("/api/games")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(GameIndex.GameSummary.class).hasSize(2);
+    }
+
+    @Test
+    void shouldFollowScoreboardUntilGameIsComplete() {
+        Game game = new Game();
+        game.addPlayer("Player1");
+        game.addPlayer("Player2");
+        game.start();
+        for (int i = 0; i < 30; i++) {
+            game.addThrow(0);
+        }
+        when(gameService.getGame("1")).thenReturn(game);
+        when(gameService.forkGame("1")).thenAnswer(invocation -> game.fork());
+        when(scoreboardPublisher.throwsOf("1")).thenReturn(Flux.never());
+
+        List<List<Object>> scoreboards = webTestClient.get().uri("/api/games/{gameId}/scoreboard/stream", "1")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<List<Object>>() {})
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(1, scoreboards.size());
+        assertEquals(2, scoreboards.get(0).size());
+    }
+}
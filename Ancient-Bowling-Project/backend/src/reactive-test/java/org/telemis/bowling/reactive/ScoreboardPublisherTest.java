@@ -0,0 +1,69 @@
+package org.telemis.bowling.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.service.GameEventListener;
+import org.telemis.bowling.service.GameService;
+import reactor.core.Disposable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreboardPublisherTest {
+    private ScoreboardPublisher publisher;
+    private GameService gameService;
+    private String gameId;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ScoreboardPublisher();
+        gameService = new GameService(List.of(publisher));
+        gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+    }
+
+    @Test
+    void shouldPublishThrowsToEverySubscriber() {
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        Disposable firstSubscription = publisher.throwsOf(gameId).map(GameEventListener.ThrowEvent::pins).subscribe(first::add);
+        Disposable secondSubscription = publisher.throwsOf(gameId).map(GameEventListener.ThrowEvent::pins).subscribe(second::add);
+
+        gameService.addThrow(gameId, 7);
+        gameService.addThrow(gameId, 3);
+
+        assertEquals(List.of(7, 3), first);
+        assertEquals(List.of(7, 3), second);
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+    }
+
+    @Test
+    void shouldDropSinkWhenLastSubscriberCancels() {
+        Disposable first = publisher.throwsOf(gameId).subscribe();
+        Disposable second = publisher.throwsOf(gameId).subscribe();
+        assertEquals(1, publisher.sinkCount());
+
+        first.dispose();
+        assertEquals(1, publisher.sinkCount());
+        second.dispose();
+        assertEquals(0, publisher.sinkCount());
+    }
+
+    @Test
+    void shouldDropSinkOfCompletedGame() {
+        List<Boolean> completed = new ArrayList<>();
+        publisher.throwsOf(gameId).doOnComplete(() -> completed.add(true)).subscribe();
+
+        for (int i = 0; i < 30; i++) {
+            gameService.addThrow(gameId, 0);
+        }
+
+        assertEquals(List.of(true), completed);
+        assertEquals(0, publisher.sinkCount());
+    }
+}
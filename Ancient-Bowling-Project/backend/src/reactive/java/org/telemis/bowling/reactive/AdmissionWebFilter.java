@@ -0,0 +1,103 @@
+package org.telemis.bowling.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.telemis.bowling.admission.AdmissionControl;
+import org.telemis.bowling.admission.AdmissionRejectedException;
+import org.telemis.bowling.admission.AdmissionWebConfig;
+import org.telemis.bowling.util.Clients;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits the API requests through {@link AdmissionControl}, as {@code AdmissionInterceptor} does for the MVC stack.
+ * <p>
+ * Filters run before the controllers and their exception handlers, so a shed request is answered here, with the
+ * same 429 body and {@code Retry-After} header. A request is released once its response is committed, so that
+ * a stream of scores counts as being served only until its headers are sent.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "bowling.admission", name = "enabled", havingValue = "true")
+public class AdmissionWebFilter implements WebFilter {
+    private static final PathPattern API_PATH = PathPatternParser.defaultInstance.parse("/api/**");
+    private static final PathPattern GAME_PATH = PathPatternParser.defaultInstance.parse("/api/games/{gameId}/**");
+    private static final List<PathPattern> UNLIMITED_PATHS = AdmissionWebConfig.UNLIMITED_PATHS.stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+
+    /**
+     * @param clientHeader the header identifying the client, empty to use the client address
+     */
+    public AdmissionWebFilter(AdmissionControl admissionControl, ObjectMapper objectMapper,
+                              @Value("${bowling.admission.client-header:}") String clientHeader) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        if (!API_PATH.matches(path) || UNLIMITED_PATHS.stream().anyMatch(pattern -> pattern.matches(path))) {
+            return chain.filter(exchange);
+        }
+        PathPattern.PathMatchInfo game = GAME_PATH.matchAndExtract(path);
+        String gameId = game != null ? game.getUriVariables().get("gameId") : null;
+        try {
+            admissionControl.admit(Clients.of(exchange.getRequest(), clientHeader), gameId);
+        } catch (AdmissionRejectedException e) {
+            return reject(exchange.getResponse(), e);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                admissionControl.release();
+            }
+        };
+        exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(release));
+        return chain.filter(exchange).doFinally(signal -> release.run());
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, AdmissionRejectedException e) {
+        Map<String, Object> error = Map.of(
+                "error", e.getMessage(),
+                "reason", e.getReason(),
+                "retryAfterSeconds", e.getRetryAfterSeconds(),
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.value()
+        );
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(error);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.telemis.bowling.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.telemis.bowling.cluster.ClusterRouter;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Redirects the requests for a game owned by another node to that node, as
+ * {@code OwnerRedirectInterceptor} does for the MVC stack.
+ * <p>
+ * Every path below {@code /api/games/{gameId}} names a game, so the game is taken from the path
+ * before any handler is chosen. The redirect is a 307, so that clients resend the same method and body.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "bowling.cluster", name = "enabled", havingValue = "true")
+public class OwnerRedirectWebFilter implements WebFilter {
+    private static final PathPattern GAME_PATH = PathPatternParser.defaultInstance.parse("/api/games/{gameId}/**");
+
+    private final ClusterRouter clusterRouter;
+
+    public OwnerRedirectWebFilter(ClusterRouter clusterRouter) {
+        this.clusterRouter = clusterRouter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        PathPattern.PathMatchInfo match = GAME_PATH.matchAndExtract(request.getPath().pathWithinApplication());
+        if (match == null) {
+            return chain.filter(exchange);
+        }
+        String gameId = match.getUriVariables().get("gameId");
+        if (clusterRouter.isLocal(gameId)) {
+            return chain.filter(exchange);
+        }
+        String query = request.getURI().getRawQuery();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TEMPORARY_REDIRECT);
+        response.getHeaders().setLocation(URI.create(clusterRouter.ownerOf(gameId) + request.getPath().value()
+                + (query != null ? "?" + query : "")));
+        return response.setComplete();
+    }
+}
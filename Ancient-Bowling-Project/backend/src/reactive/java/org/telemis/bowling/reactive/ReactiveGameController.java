@@ -0,0 +1,198 @@
+package org.telemis.bowling.reactive;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.telemis.bowling.cluster.ClusterRouter;
+import org.telemis.bowling.controller.GameController;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.service.GameEventListener;
+import org.telemis.bowling.service.GameIndex;
+import org.telemis.bowling.service.GameService;
+import org.telemis.bowling.service.WinProbabilityEngine;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive counterpart of the game API, served by WebFlux with the {@code reactive} Spring profile.
+ * <p>
+ * It shares {@link GameService} with the MVC stack. Changes to a game wait for its lock,
+ * so they run on a bounded elastic scheduler and never block the event loop.
+ * Listings and scoreboards are streamed as newline-delimited JSON or server-sent events,
+ * and only read as fast as the client consumes them.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/games")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Game (reactive)", description = "The Ancient African Bowling Game API, non-blocking")
+public class ReactiveGameController {
+    private final GameService gameService;
+    private final WinProbabilityEngine winProbabilityEngine;
+    private final GameIndex gameIndex;
+    private final ScoreboardPublisher scoreboardPublisher;
+    private final ClusterRouter clusterRouter;
+    private final Scheduler gameScheduler = Schedulers.boundedElastic();
+
+    public ReactiveGameController(GameService gameService, WinProbabilityEngine winProbabilityEngine,
+                                  GameIndex gameIndex, ScoreboardPublisher scoreboardPublisher,
+                                  ObjectProvider<ClusterRouter> clusterRouter) {
+        this.gameService = gameService;
+        this.winProbabilityEngine = winProbabilityEngine;
+        this.gameIndex = gameIndex;
+        this.scoreboardPublisher = scoreboardPublisher;
+        this.clusterRouter = clusterRouter.getIfAvailable();
+    }
+
+    @Operation(summary = "Create a new game", description = "Creates a new bowling game and returns its ID")
+    @PostMapping
+    public Mono<String> createGame() {
+        return Mono.fromCallable(() -> clusterRouter != null ? clusterRouter.createGame() : gameService.createGame());
+    }
+
+    @Operation(summary = "List games",
+               description = "Streams the games matching the filters, newest first, as newline-delimited JSON")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Games streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid state or cursor")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<GameIndex.GameSummary> listGames(
+            @Parameter(description = "State of the games: lobby, in_progress or complete") @RequestParam(required = false) String state,
+            @Parameter(description = "Name of a player of the games") @RequestParam(required = false) String player,
+            @Parameter(description = "Earliest creation time, inclusive (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdAfter,
+            @Parameter(description = "Latest creation time, exclusive (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdBefore,
+            @Parameter(description = "Cursor to start after") @RequestParam(required = false) String cursor) {
+        GameIndex.GameQuery query = new GameIndex.GameQuery(GameIndex.State.parse(state), player, createdAfter, createdBefore);
+        return Flux.fromStream(() -> gameIndex.stream(query, cursor)); // Pulled on demand
+    }
+
+    @Operation(summary = "Add a player to the game", description = "Adds a new player to an existing game")
+    @PostMapping("/{gameId}/players")
+    public Mono<Void> addPlayer(
+            @Parameter(description = "ID of the game") @PathVariable String gameId,
+            @Parameter(description = "Name of the player to add") @RequestParam String playerName) {
+        return updateGame(() -> gameService.addPlayer(gameId, playerName));
+    }
+
+    @Operation(summary = "Start the game", description = "Starts a game that has at least 2 players")
+    @PostMapping("/{gameId}/start")
+    public Mono<Void> startGame(
+            @Parameter(description = "ID of the game") @PathVariable String gameId) {
+        return updateGame(() -> gameService.startGame(gameId));
+    }
+
+    @Operation(summary = "Make a throw",
+               description = "Records a throw for the current player. With a sequence number, a resent throw is "
+                       + "acknowledged without being recorded twice, flagged by the " + GameController.DUPLICATE_THROW_HEADER + " header")
+    @PostMapping("/{gameId}/throw")
+    public Mono<ResponseEntity<Void>> makeThrow(
+            @Parameter(description = "ID of the game") @PathVariable String gameId,
+            @Parameter(description = "Number of pins knocked down (0-15)") @RequestParam int pins,
+            @Parameter(description = "Sequence number of the throw in the game, starting at 1")
+            @RequestParam(required = false) Long sequence) {
+        if (sequence == null) {
+            return updateGame(() -> gameService.addThrow(gameId, pins)).thenReturn(ResponseEntity.ok().<Void>build());
+        }
+        return onGame(() -> gameService.addThrow(gameId, pins, sequence))
+                .map(applied -> applied
+                        ? ResponseEntity.ok().<Void>build()
+                        : ResponseEntity.ok().header(GameController.DUPLICATE_THROW_HEADER, "true").<Void>build());
+    }
+
+    @Operation(summary = "Correct a throw",
+               description = "Replaces the pins of a throw already made and rescores the frames of the player from it")
+    @PutMapping("/{gameId}/players/{playerName}/frames/{frameNumber}/throws/{throwNumber}")
+    public Mono<Void> correctThrow(
+            @Parameter(description = "ID of the game") @PathVariable String gameId,
+            @Parameter(description = "Name of the player who made the throw") @PathVariable String playerName,
+            @Parameter(description = "Number of the frame (1-5)") @PathVariable int frameNumber,
+            @Parameter(description = "Number of the throw in the frame, starting at 1") @PathVariable int throwNumber,
+            @Parameter(description = "Corrected number of pins knocked down (0-15)") @RequestParam int pins) {
+        return updateGame(() -> gameService.correctThrow(gameId, playerName, frameNumber, throwNumber, pins));
+    }
+
+    @Operation(summary = "Get game state",
+               description = "Retrieves the current state of the game, or its state at a past version for replays")
+    @GetMapping("/{gameId}")
+    public Mono<Game> getGame(
+            @Parameter(description = "ID of the game") @PathVariable String gameId,
+            @Parameter(description = "Past version of the game, the current state when omitted")
+            @RequestParam(required = false) Long version) {
+        return onGame(() -> version == null ? gameService.forkGame(gameId) : gameService.getGameAt(gameId, version));
+    }
+
+    @Operation(summary = "Get scoreboard", description = "Streams the current scoreboard of the game, one player at a time")
+    @GetMapping(value = "/{gameId}/scoreboard", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Game.PlayerScore> getScoreboard(
+            @Parameter(description = "ID of the game") @PathVariable String gameId) {
+        return scoreboardOf(gameId).flatMapIterable(scoreboard -> scoreboard);
+    }
+
+    @Operation(summary = "Follow scoreboard",
+               description = "Sends the scoreboard of the game as server-sent events, then again after each throw until the game is complete")
+    @GetMapping(value = "/{gameId}/scoreboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<List<Game.PlayerScore>> followScoreboard(
+            @Parameter(description = "ID of the game") @PathVariable String gameId) {
+        gameService.getGame(gameId); // Fails fast when the game does not exist
+        Flux<String> changes = Flux.concat(Mono.just(gameId),
+                scoreboardPublisher.throwsOf(gameId).map(GameEventListener.ThrowEvent::gameId));
+        return changes
+                .onBackpressureLatest() // A slow client only gets the latest scoreboard
+                .concatMap(change -> onGame(() -> gameService.forkGame(gameId)), 1)
+                .takeUntil(Game::isGameComplete)
+                .map(Game::getScoreboard);
+    }
+
+    @Operation(summary = "Get throw projections",
+               description = "Retrieves the projected scoreboard for every legal next throw of the current player")
+    @GetMapping(value = "/{gameId}/projections", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Game.ThrowProjection> getProjections(
+            @Parameter(description = "ID of the game") @PathVariable String gameId) {
+        return onGame(() -> gameService.projectNextThrows(gameId)).flatMapIterable(projections -> projections);
+    }
+
+    @Operation(summary = "Get win probabilities",
+               description = "Estimates the win probability of each player by simulating the rest of the game")
+    @GetMapping("/{gameId}/win-probabilities")
+    public Mono<WinProbabilityEngine.WinProbabilities> getWinProbabilities(
+            @Parameter(description = "ID of the game") @PathVariable String gameId,
+            @Parameter(description = "Number of simulated games") @RequestParam(defaultValue = "100000") int simulations,
+            @Parameter(description = "Seed of the simulations") @RequestParam(defaultValue = "0") long seed) {
+        // The estimate is shared with other requests: a disconnecting client must not cancel it
+        return onGame(() -> winProbabilityEngine.estimateAsync(gameId, simulations, seed))
+                .flatMap(estimate -> Mono.fromFuture(estimate, true));
+    }
+
+    private Mono<List<Game.PlayerScore>> scoreboardOf(String gameId) {
+        return onGame(() -> gameService.forkGame(gameId).getScoreboard());
+    }
+
+    /**
+     * Runs an operation that may wait for the lock of a game, off the event loop.
+     * Same for {@link #updateGame(Runnable)}, which has no result.
+     */
+    private <T> Mono<T> onGame(Callable<T> operation) {
+        return Mono.fromCallable(operation).subscribeOn(gameScheduler);
+    }
+
+    private Mono<Void> updateGame(Runnable operation) {
+        return Mono.fromRunnable(operation).subscribeOn(gameScheduler).then();
+    }
+}
@@ -0,0 +1,84 @@
+package org.telemis.bowling.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.telemis.bowling.service.GameEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Notifies the subscribers of a game each time a throw is added to it.
+ * <p>
+ * Each game has a sink replaying only its latest throw: a slow subscriber skips to the latest
+ * change instead of buffering every throw. Sinks are created on the first subscription and
+ * dropped when the last subscriber cancels, or completed when the game is completed or deleted.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ScoreboardPublisher implements GameEventListener {
+    private final Map<String, GameThrows> sinks = new ConcurrentHashMap<>();
+
+    @Override
+    public void onThrow(ThrowEvent event) {
+        GameThrows gameThrows = sinks.get(event.gameId());
+        if (gameThrows != null) {
+            gameThrows.sink.tryEmitNext(event); // Events of a game are published one at a time, under its lock
+        }
+    }
+
+    @Override
+    public void onGameCompleted(GameCompletedEvent event) {
+        complete(event.gameId());
+    }
+
+    @Override
+    public void onGameDeleted(String gameId) {
+        complete(gameId);
+    }
+
+    /**
+     * Returns the throws added to a game from now on, the latest one first if any.
+     */
+    public Flux<ThrowEvent> throwsOf(String gameId) {
+        return Flux.defer(() -> {
+            GameThrows gameThrows = sinks.compute(gameId, (id, current) -> {
+                GameThrows subscribed = current != null ? current : new GameThrows();
+                subscribed.subscribers++;
+                return subscribed;
+            });
+            return gameThrows.sink.asFlux().doFinally(signal -> release(gameId, gameThrows));
+        });
+    }
+
+    int sinkCount() {
+        return sinks.size();
+    }
+
+    /**
+     * Drops the sink of a game once its last subscriber is gone, such as a client following a game
+     * that was already complete.
+     */
+    private void release(String gameId, GameThrows gameThrows) {
+        sinks.computeIfPresent(gameId, (id, current) ->
+                current == gameThrows && --current.subscribers == 0 ? null : current);
+    }
+
+    private void complete(String gameId) {
+        GameThrows gameThrows = sinks.remove(gameId);
+        if (gameThrows != null) {
+            gameThrows.sink.tryEmitComplete();
+        }
+    }
+
+    /**
+     * Sink of a game and its number of subscribers, only changed within the compute methods of the map.
+     */
+    private static final class GameThrows {
+        private final Sinks.Many<ThrowEvent> sink = Sinks.many().replay().latest();
+        private int subscribers;
+    }
+}
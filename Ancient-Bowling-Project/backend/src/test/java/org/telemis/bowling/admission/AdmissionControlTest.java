@@ -0,0 +1,203 @@
+package org.telemis.bowling.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private AdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        admissionControl = new AdmissionControl(
+                new AdmissionLimits(0, new RateLimit(10, 5), new RateLimit(100, 20)), Set.of("1", "2")::contains, clock::get);
+    }
+
+    @Test
+    void shouldShedRequestsOnAGameBeyondItsBurst() {
+        for (int i = 0; i < 5; i++) {
+            admit("sensor", "1");
+        }
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> admit("sensor", "1"));
+        assertEquals(AdmissionControl.Reason.GAME_RATE, rejected.getReason());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> admit("sensor", "2")); // Other games are not affected
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100)); // One token at 10 per second
+        assertDoesNotThrow(() -> admit("sensor", "1"));
+        assertThrows(AdmissionRejectedException.class, () -> admit("sensor", "1"));
+        assertEquals(2, admissionControl.status().rejectedPerGame());
+    }
+
+    @Test
+    void shouldShedThrowsOfSensorsOnAGameBeyondItsBurst() {
+        admissionControl.setLimits(new AdmissionLimits(1, new RateLimit(10, 5), new RateLimit(100, 1)));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, admissionControl.tryAdmitGame("1")); // Neither limited per client nor concurrently
+        }
+
+        assertTrue(admissionControl.tryAdmitGame("1") > 0);
+        assertEquals(0, admissionControl.tryAdmitGame("2"));
+        assertEquals(0, admissionControl.tryAdmitGame("404"));
+        assertEquals(1, admissionControl.status().rejectedPerGame());
+        assertEquals(0, admissionControl.status().inFlight());
+    }
+
+    @Test
+    void shouldNotTrackUnknownGames() {
+        for (int i = 0; i < 10; i++) {
+            admit("sensor", "404");
+        }
+
+        assertEquals(0, admissionControl.status().trackedGames());
+        assertEquals(0, admissionControl.status().rejectedPerGame());
+    }
+
+    @Test
+    void shouldShedRequestsOfAClientBeyondItsBurst() {
+        for (int i = 0; i < 20; i++) {
+            admit("10.0.0.1", null);
+        }
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> admit("10.0.0.1", null));
+        assertEquals(AdmissionControl.Reason.CLIENT_RATE, rejected.getReason());
+        assertDoesNotThrow(() -> admit("10.0.0.2", null));
+        assertEquals(1, admissionControl.status().rejectedPerClient());
+    }
+
+    @Test
+    void shouldGiveBackTheTokensOfRequestsShedByALaterCheck() {
+        for (int i = 0; i < 5; i++) {
+            admit("lane", "1");
+        }
+        for (int i = 0; i < 30; i++) {
+            assertThrows(AdmissionRejectedException.class, () -> admit("lane", "1"));
+        }
+        // Only the 5 admitted requests were taken from the burst of 20 of the client
+        for (int i = 0; i < 15; i++) {
+            admit("lane", null);
+        }
+        assertThrows(AdmissionRejectedException.class, () -> admit("lane", null));
+
+        admissionControl.setLimits(new AdmissionLimits(1, new RateLimit(10, 5), new RateLimit(100, 20)));
+        admissionControl.admit("other", "2");
+        for (int i = 0; i < 10; i++) {
+            assertThrows(AdmissionRejectedException.class, () -> admissionControl.admit("other", "2"));
+        }
+        admissionControl.release();
+        for (int i = 0; i < 4; i++) {
+            admit("other", "2");
+        }
+        assertEquals(10, admissionControl.status().rejectedOverloaded());
+    }
+
+    @Test
+    void shouldGiveTheDelayUntilTheNextToken() {
+        admissionControl.setLimits(new AdmissionLimits(0, new RateLimit(0.1, 1), RateLimit.UNLIMITED));
+        admit("sensor", "1");
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> admit("sensor", "1"));
+        assertEquals(10, rejected.getRetryAfterSeconds());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        rejected = assertThrows(AdmissionRejectedException.class, () -> admit("sensor", "1"));
+        assertEquals(6, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void shouldShedRequestsBeyondTheConcurrencyLimit() {
+        admissionControl.setLimits(new AdmissionLimits(2, RateLimit.UNLIMITED, RateLimit.UNLIMITED));
+        admissionControl.admit("a", null);
+        admissionControl.admit("b", null);
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admissionControl.admit("c", null));
+        assertEquals(AdmissionControl.Reason.OVERLOADED, rejected.getReason());
+        assertEquals(2, admissionControl.status().inFlight());
+
+        admissionControl.release();
+        assertDoesNotThrow(() -> admit("c", null));
+        assertEquals(3, admissionControl.status().admitted());
+        assertEquals(1, admissionControl.status().rejectedOverloaded());
+    }
+
+    @Test
+    void shouldApplyNewLimitsAtOnce() {
+        for (int i = 0; i < 5; i++) {
+            admit("sensor", "1");
+        }
+        assertThrows(AdmissionRejectedException.class, () -> admit("sensor", "1"));
+
+        admissionControl.setLimits(new AdmissionLimits(0, RateLimit.UNLIMITED, new RateLimit(100, 20)));
+
+        assertDoesNotThrow(() -> admit("sensor", "1"));
+        assertEquals(RateLimit.UNLIMITED, admissionControl.getLimits().perGame());
+    }
+
+    @Test
+    void shouldForgetRefilledBuckets() {
+        admit("sensor", "1");
+        assertEquals(1, admissionControl.status().trackedGames());
+
+        admissionControl.sweep();
+        assertEquals(1, admissionControl.status().trackedGames());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        admissionControl.sweep();
+        assertEquals(0, admissionControl.status().trackedGames());
+        assertEquals(0, admissionControl.status().trackedClients());
+    }
+
+    @Test
+    void shouldAdmitExactlyTheBurstUnderContention() throws Exception {
+        admissionControl.setLimits(new AdmissionLimits(0, new RateLimit(1, 100), RateLimit.UNLIMITED));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> admitted = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                admitted.add(executor.submit(() -> {
+                    int count = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        try {
+                            admit("client", "1");
+                            count++;
+                        } catch (AdmissionRejectedException e) {
+                            // Shed
+                        }
+                    }
+                    return count;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> count : admitted) {
+                total += count.get(1, TimeUnit.MINUTES);
+            }
+            assertEquals(100, total); // The clock does not move
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionLimits(-1, RateLimit.UNLIMITED, RateLimit.UNLIMITED));
+    }
+
+    private void admit(String client, String gameId) {
+        admissionControl.admit(client, gameId);
+        admissionControl.release();
+    }
+}
@@ -0,0 +1,109 @@
+package org.telemis.bowling.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.telemis.bowling.TelemisAncientBowlingApplication;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes booted on local ports, calling each other over HTTP as separate instances would.
+ */
+class ClusterNodesTest {
+    private final HttpClient http = HttpClient.newHttpClient(); // Redirects are not followed
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private String node1;
+    private String node2;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        node1 = "http://localhost:" + freePort();
+        node2 = "http://localhost:" + freePort();
+        startNode(node1, 1);
+        startNode(node2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void redirectsRequestsForAGameToItsOwner() throws Exception {
+        String gameId = send("POST", node1 + "/api/games").body();
+
+        HttpResponse<String> redirected = send("POST", node2 + "/api/games/" + gameId + "/players?playerName=John");
+        assertEquals(307, redirected.statusCode(), redirected.body());
+        String location = redirected.headers().firstValue("Location").orElseThrow();
+        assertEquals(node1 + "/api/games/" + gameId + "/players?playerName=John", location);
+
+        assertEquals(200, send("POST", location).statusCode());
+        assertEquals(200, send("GET", node1 + "/api/games/" + gameId).statusCode());
+        assertEquals(200, send("GET", node2 + "/api/games").statusCode()); // Listings are not redirected
+    }
+
+    @Test
+    void movesGamesOfLeavingNodeOverHttp() throws Exception {
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String gameId = send("POST", node2 + "/api/games").body();
+            send("POST", node2 + "/api/games/" + gameId + "/players?playerName=Jane");
+            gameIds.add(gameId);
+        }
+
+        HttpResponse<String> left = send("DELETE", node1 + "/api/cluster/nodes?url=" + node2);
+        assertEquals(200, left.statusCode(), left.body());
+
+        for (String gameId : gameIds) {
+            HttpResponse<String> game = awaitGame(node1 + "/api/games/" + gameId);
+            assertTrue(game.body().contains("Jane"), game.body());
+        }
+    }
+
+    private HttpResponse<String> awaitGame(String url) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (true) {
+            HttpResponse<String> response = send("GET", url);
+            if (response.statusCode() == 200 || System.nanoTime() > deadline) {
+                assertEquals(200, response.statusCode(), "Game not moved: " + url);
+                return response;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private HttpResponse<String> send(String method, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void startNode(String url, int nodeId) {
+        // Arguments rather than default properties, which application.yml overrides
+        nodes.add(new SpringApplicationBuilder(TelemisAncientBowlingApplication.class).run(
+                "--server.port=" + URI.create(url).getPort(),
+                "--spring.main.banner-mode=off",
+                "--bowling.cluster.enabled=true",
+                "--bowling.cluster.self-url=" + url,
+                "--bowling.cluster.node-id=" + nodeId,
+                "--bowling.cluster.nodes=" + node1 + "," + node2,
+                "--bowling.ids.secret=cluster secret"));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
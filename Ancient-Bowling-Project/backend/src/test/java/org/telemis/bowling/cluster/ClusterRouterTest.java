@@ -0,0 +1,178 @@
+package org.telemis.bowling.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.model.GameEvent;
+import org.telemis.bowling.service.GameIdAllocator;
+import org.telemis.bowling.service.GameService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for a cluster of nodes in a single JVM, each with its own games, calling each other directly.
+ */
+class ClusterRouterTest {
+    private static final String NODE_1 = "http://localhost:8081";
+    private static final String NODE_2 = "http://localhost:8082";
+    private static final String NODE_3 = "http://localhost:8083";
+
+    private final Map<String, ClusterRouter> routers = new HashMap<>();
+    private final Map<String, GameService> services = new HashMap<>();
+
+    /**
+     * Client delivering the calls to the router of the node, through the JSON form of the events.
+     */
+    private final ClusterClient client = new ClusterClient() {
+        @Override
+        public void sendMembers(String node, List<String> members) {
+            reach(node).applyMembers(members);
+        }
+
+        @Override
+        public void sendGame(String node, String gameId, List<GameEvent> events) {
+            List<GameEvent> received = new ArrayList<>();
+            for (GameEvent event : events) {
+                received.add(TransferredEvent.of(event).toEvent());
+            }
+            reach(node).importGame(gameId, received);
+        }
+
+        private ClusterRouter reach(String node) {
+            ClusterRouter router = routers.get(node);
+            if (router == null) {
+                throw new IllegalStateException("Connection refused: " + node);
+            }
+            return router;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        startNode(NODE_1, 1, NODE_1, NODE_2);
+        startNode(NODE_2, 2, NODE_1, NODE_2);
+    }
+
+    @Test
+    void createsGamesOwnedByTheCreatingNode() {
+        Set<String> gameIds = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            for (String node : List.of(NODE_1, NODE_2)) {
+                String gameId = routers.get(node).createGame();
+                assertTrue(gameIds.add(gameId), "Duplicate game ID " + gameId);
+                assertEquals(node, routers.get(NODE_1).ownerOf(gameId));
+                assertEquals(node, routers.get(NODE_2).ownerOf(gameId));
+                assertTrue(routers.get(node).isLocal(gameId));
+            }
+        }
+        assertEquals(100, services.get(NODE_1).getGameIds().size());
+        assertEquals(100, services.get(NODE_2).getGameIds().size());
+    }
+
+    @Test
+    void movesGamesToJoiningNode() {
+        Map<String, Integer> scores = playGames(200);
+        startNode(NODE_3, 3, NODE_1, NODE_2, NODE_3);
+
+        routers.get(NODE_1).join(NODE_3);
+        rebalanceAll();
+
+        for (ClusterRouter router : routers.values()) {
+            assertEquals(List.of(NODE_1, NODE_2, NODE_3), router.members());
+        }
+        assertFalse(services.get(NODE_3).getGameIds().isEmpty());
+        assertGamesOnOwners(scores);
+    }
+
+    @Test
+    void movesGamesAwayFromLeavingNode() {
+        Map<String, Integer> scores = playGames(200);
+
+        routers.get(NODE_1).leave(NODE_2);
+        rebalanceAll();
+
+        assertEquals(List.of(NODE_1), routers.get(NODE_2).members());
+        assertTrue(services.get(NODE_2).getGameIds().isEmpty());
+        assertEquals(scores.keySet(), services.get(NODE_1).getGameIds());
+        assertGamesOnOwners(scores);
+        assertThrows(IllegalStateException.class, () -> routers.get(NODE_2).createGame());
+        assertThrows(IllegalArgumentException.class, () -> routers.get(NODE_1).leave(NODE_1));
+    }
+
+    @Test
+    void keepsGameWhenMoveFails() {
+        String gameId = routers.get(NODE_1).createGame();
+        routers.get(NODE_1).applyMembers(List.of(NODE_3)); // Never started, so moves fail
+
+        routers.get(NODE_1).rebalance();
+
+        assertTrue(services.get(NODE_1).getGameIds().contains(gameId));
+    }
+
+    @Test
+    void rejectsNodeWithoutSharedSecret() {
+        GameIdAllocator randomKey = new GameIdAllocator(4, "");
+        GameService gameService = new GameService(List.of(), randomKey);
+
+        assertThrows(IllegalArgumentException.class, () -> new ClusterRouter(gameService, client, randomKey,
+                "http://node4", 4, new String[] {"http://node4"}, HashRing.DEFAULT_VIRTUAL_NODES));
+    }
+
+    private void startNode(String self, int nodeId, String... nodes) {
+        GameIdAllocator gameIdAllocator = new GameIdAllocator(nodeId, "cluster secret");
+        GameService gameService = new GameService(List.of(), gameIdAllocator);
+        services.put(self, gameService);
+        routers.put(self, new ClusterRouter(gameService, client, gameIdAllocator, self, nodeId, nodes,
+                HashRing.DEFAULT_VIRTUAL_NODES));
+    }
+
+    /**
+     * Creates games on both nodes, each with a different number of throws, and returns their scores.
+     */
+    private Map<String, Integer> playGames(int count) {
+        Map<String, Integer> scores = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String node = i % 2 == 0 ? NODE_1 : NODE_2;
+            String gameId = routers.get(node).createGame();
+            GameService gameService = services.get(node);
+            gameService.addPlayer(gameId, "Player");
+            gameService.addPlayer(gameId, "Other");
+            gameService.startGame(gameId);
+            for (int t = 0; t < i % 5; t++) {
+                gameService.addThrow(gameId, 15); // Strike of Player
+                gameService.addThrow(gameId, 15); // Strike of Other
+            }
+            scores.put(gameId, gameService.getGame(gameId).getPlayer("Player").calculateScore());
+        }
+        return scores;
+    }
+
+    /**
+     * Rebalances every node, waiting for the background moves triggered by membership changes.
+     */
+    private void rebalanceAll() {
+        for (ClusterRouter router : routers.values()) {
+            router.rebalance();
+        }
+    }
+
+    private void assertGamesOnOwners(Map<String, Integer> scores) {
+        int total = 0;
+        for (Map.Entry<String, GameService> node : services.entrySet()) {
+            for (String gameId : node.getValue().getGameIds()) {
+                assertEquals(node.getKey(), routers.get(node.getKey()).ownerOf(gameId));
+                Game game = node.getValue().getGame(gameId);
+                assertEquals((int) scores.get(gameId), game.getPlayer("Player").calculateScore());
+                total++;
+            }
+        }
+        assertEquals(scores.size(), total);
+    }
+}
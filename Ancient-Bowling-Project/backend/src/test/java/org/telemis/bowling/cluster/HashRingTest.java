@@ -0,0 +1,85 @@
+package org.telemis.bowling.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the consistent hash ring, checking the spread of games and how few of them move.
+ */
+class HashRingTest {
+    private static final int GAMES = 100_000;
+    private static final List<String> NODES = List.of(
+            "http://localhost:8081", "http://localhost:8082", "http://localhost:8083", "http://localhost:8084");
+
+    @Test
+    void ownerDoesNotDependOnNodeOrder() {
+        HashRing ring = new HashRing(NODES, HashRing.DEFAULT_VIRTUAL_NODES);
+        HashRing reversed = new HashRing(List.of(NODES.get(3), NODES.get(2), NODES.get(1), NODES.get(0)),
+                HashRing.DEFAULT_VIRTUAL_NODES);
+
+        assertEquals(NODES, reversed.nodes());
+        for (int game = 0; game < 1000; game++) {
+            assertEquals(ring.ownerOf(String.valueOf(game)), reversed.ownerOf(String.valueOf(game)));
+        }
+    }
+
+    @Test
+    void spreadsGamesEvenly() {
+        HashRing ring = new HashRing(NODES, HashRing.DEFAULT_VIRTUAL_NODES);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int game = 1; game <= GAMES; game++) {
+            counts.merge(ring.ownerOf(String.valueOf(game)), 1, Integer::sum);
+        }
+
+        assertEquals(NODES.size(), counts.size());
+        for (int count : counts.values()) {
+            // 25% each, within a few percent with 128 virtual nodes
+            assertTrue(count > GAMES * 0.20 && count < GAMES * 0.30, "Unbalanced ring: " + counts);
+        }
+    }
+
+    @Test
+    void joiningNodeOnlyTakesGamesFromOthers() {
+        HashRing ring = new HashRing(NODES.subList(0, 3), HashRing.DEFAULT_VIRTUAL_NODES);
+        HashRing joined = ring.withNode(NODES.get(3));
+
+        int moved = 0;
+        for (int game = 1; game <= GAMES; game++) {
+            String before = ring.ownerOf(String.valueOf(game));
+            String after = joined.ownerOf(String.valueOf(game));
+            if (!before.equals(after)) {
+                assertEquals(NODES.get(3), after);
+                moved++;
+            }
+        }
+        assertTrue(moved > GAMES * 0.20 && moved < GAMES * 0.30, "Moved " + moved + " games");
+    }
+
+    @Test
+    void leavingNodeOnlyGivesAwayItsGames() {
+        HashRing ring = new HashRing(NODES, HashRing.DEFAULT_VIRTUAL_NODES);
+        HashRing left = ring.withoutNode(NODES.get(1));
+
+        for (int game = 1; game <= GAMES; game++) {
+            String before = ring.ownerOf(String.valueOf(game));
+            String after = left.ownerOf(String.valueOf(game));
+            if (!before.equals(NODES.get(1))) {
+                assertEquals(before, after);
+            } else {
+                assertNotEquals(NODES.get(1), after);
+            }
+        }
+    }
+
+    @Test
+    void rejectsEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(List.of(), 16));
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(NODES, 0));
+    }
+}
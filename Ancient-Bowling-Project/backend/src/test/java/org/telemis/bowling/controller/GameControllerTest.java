@@ -5,11 +5,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.telemis.bowling.model.Game;
+import org.telemis.bowling.service.GameIndex;
 import org.telemis.bowling.service.GameService;
+import org.telemis.bowling.service.ThrowSequenceGapException;
+import org.telemis.bowling.service.WinProbabilityEngine;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -24,6 +35,12 @@ class GameControllerTest {
     @MockBean
     private GameService gameService;
 
+    @MockBean
+    private WinProbabilityEngine winProbabilityEngine;
+
+    @MockBean
+    private GameIndex gameIndex;
+
     @Test
     void shouldCreateGame() throws Exception {
         String gameId = "test-game-id";
@@ -63,8 +80,47 @@ class GameControllerTest {
         
         doNothing().when(gameService).addThrow(anyString(), anyInt());
 
-        mockMvc.perform(post("/api/games/{gameId}/throw", gameId)
+        MvcResult result = mockMvc.perform(post("/api/games/{gameId}/throw", gameId)
                         .param("pins", String.valueOf(pins)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldAcknowledgeResentThrow() throws Exception {
+        when(gameService.addThrow("test-game-id", 5, 3L)).thenReturn(false);
+
+        MvcResult result = mockMvc.perform(post("/api/games/{gameId}/throw", "test-game-id")
+                        .param("pins", "5")
+                        .param("sequence", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(GameController.DUPLICATE_THROW_HEADER, "true"));
+    }
+
+    @Test
+    void shouldReportGapInThrowSequence() throws Exception {
+        when(gameService.addThrow("test-game-id", 5, 4L))
+                .thenThrow(new ThrowSequenceGapException("test-game-id", 2, 4));
+
+        mockMvc.perform(post("/api/games/{gameId}/throw", "test-game-id")
+                        .param("pins", "5")
+                        .param("sequence", "4"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.expectedSequence").value(2));
+    }
+
+    @Test
+    void shouldCorrectThrow() throws Exception {
+        doNothing().when(gameService).correctThrow("test-game-id", "Alice", 2, 1, 7);
+
+        mockMvc.perform(put("/api/games/{gameId}/players/{playerName}/frames/{frameNumber}/throws/{throwNumber}",
+                        "test-game-id", "Alice", 2, 1)
+                        .param("pins", "7"))
                 .andExpect(status().isOk());
     }
 
@@ -75,12 +131,25 @@ class GameControllerTest {
         game.addPlayer("Player1");
         game.addPlayer("Player2");
         
-        when(gameService.getGame(anyString())).thenReturn(game);
+        when(gameService.forkGame(anyString())).thenReturn(game);
 
         mockMvc.perform(get("/api/games/{gameId}", gameId))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldGetGameAtPastVersion() throws Exception {
+        Game game = new Game();
+        game.addPlayer("Player1");
+
+        when(gameService.getGameAt("test-game-id", 1L)).thenReturn(game);
+
+        mockMvc.perform(get("/api/games/{gameId}", "test-game-id").param("version", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.players.length()").value(1));
+    }
+
     @Test
     void shouldGetScoreboard() throws Exception {
         String gameId = "test-game-id";
@@ -89,9 +158,67 @@ class GameControllerTest {
         game.addPlayer("Player2");
         game.start();
         
-        when(gameService.getGame(anyString())).thenReturn(game);
+        when(gameService.forkGame(anyString())).thenReturn(game);
 
         mockMvc.perform(get("/api/games/{gameId}/scoreboard", gameId))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void shouldGetProjections() throws Exception {
+        String gameId = "test-game-id";
+        Game game = new Game();
+        game.addPlayer("Player1");
+        game.addPlayer("Player2");
+        game.start();
+
+        when(gameService.projectNextThrows(anyString())).thenReturn(game.projectNextThrows());
+
+        mockMvc.perform(get("/api/games/{gameId}/projections", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(16));
+    }
+
+    @Test
+    void shouldGetWinProbabilities() throws Exception {
+        String gameId = "test-game-id";
+        var probabilities = new WinProbabilityEngine.WinProbabilities(gameId, 3, 0, 1000, 42, List.of(
+                new WinProbabilityEngine.PlayerProbability("Player1", 0.75, 0.72, 0.78),
+                new WinProbabilityEngine.PlayerProbability("Player2", 0.25, 0.22, 0.28)));
+
+        when(winProbabilityEngine.estimateAsync(anyString(), anyInt(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(probabilities));
+
+        MvcResult result = mockMvc.perform(get("/api/games/{gameId}/win-probabilities", gameId)
+                        .param("simulations", "1000")
+                        .param("seed", "42"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players[0].probability").value(0.75));
+    }
+
+    @Test
+    void shouldListGames() throws Exception {
+        var query = new GameIndex.GameQuery(GameIndex.State.IN_PROGRESS, "Alice", null, null);
+        var page = new GameIndex.GamePage(List.of(new GameIndex.GameSummary("1", GameIndex.State.IN_PROGRESS,
+                Instant.parse("2024-01-01T20:00:00Z"), List.of("Alice", "Bob"))), "next");
+
+        when(gameIndex.list(eq(query), isNull(), eq(10))).thenReturn(page);
+
+        mockMvc.perform(get("/api/games")
+                        .param("state", "in_progress")
+                        .param("player", "Alice")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games[0].gameId").value("1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void shouldRejectInvalidGameState() throws Exception {
+        mockMvc.perform(get("/api/games").param("state", "paused"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,25 @@
+package org.telemis.bowling.ingest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput of the throw ingest listener on loopback, sensors and listener sharing the machine.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ThrowIngestBenchmark {
+    private static final int RUNS = 3;
+
+    @Test
+    void ingestThrowsOnLoopback() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int connections = Math.max(2, cores);
+        ThrowIngestLoadGenerator.run(connections, 2_000, cores); // warm-up
+        for (int run = 0; run < RUNS; run++) {
+            ThrowIngestLoadGenerator.Result result = ThrowIngestLoadGenerator.run(connections, 20_000, cores);
+            System.out.printf("BENCHMARK: %d connections, %d event loops: %,d throws in %.2fs (%,.0f throws/s)%n",
+                    connections, cores, result.throwCount(), result.seconds(), result.throughput());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.telemis.bowling.ingest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.admission.AdmissionControl;
+import org.telemis.bowling.service.GameService;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThrowIngestServerTest {
+    private static final int FAILING_PINS = 13;
+
+    private GameService gameService;
+    private ThrowIngestServer server;
+    private SocketChannel sensor;
+    private String gameId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gameService = new GameService() {
+            @Override
+            public boolean addThrow(String gameId, int pins, long sequence) {
+                if (pins == FAILING_PINS) {
+                    throw new UnsupportedOperationException("Unexpected failure");
+                }
+                return super.addThrow(gameId, pins, sequence);
+            }
+        };
+        gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+
+        server = new ThrowIngestServer(gameService, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1);
+        server.start();
+        sensor = SocketChannel.open(server.address());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sensor.close();
+        server.close();
+    }
+
+    @Test
+    void shouldApplyAndAcknowledgeBatchOfThrows() throws IOException {
+        ByteBuffer frames = ByteBuffer.allocate(3 * ThrowFrames.FRAME_SIZE);
+        ThrowFrames.putThrow(frames, Long.parseLong(gameId), 1, 15); // John strike
+        ThrowFrames.putThrow(frames, Long.parseLong(gameId), 2, 10); // Jane
+        ThrowFrames.putThrow(frames, Long.parseLong(gameId), 3, 5);  // Jane spare
+        send(frames);
+
+        int acknowledged = 0;
+        while (acknowledged < 3) {
+            ByteBuffer response = receive();
+            assertEquals(ThrowFrames.ACK, response.getInt());
+            int sequence = response.getInt();
+            acknowledged += response.getInt();
+            assertTrue(sequence <= 3);
+        }
+        assertEquals(15, gameService.getGame(gameId).getPlayers().get(0).calculateScore());
+        assertEquals(15, gameService.getGame(gameId).getPlayers().get(1).calculateScore());
+    }
+
+    @Test
+    void shouldRejectUnknownGameAndInvalidThrow() throws IOException {
+        ByteBuffer frames = ByteBuffer.allocate(2 * ThrowFrames.FRAME_SIZE);
+        ThrowFrames.putThrow(frames, 999, 7, 5);
+        send(frames);
+        assertResponse(ThrowFrames.REJECT, 7, ThrowFrames.UNKNOWN_GAME);
+        assertResponse(ThrowFrames.ACK, 7, 1);
+
+        frames.clear();
+        ThrowFrames.putThrow(frames, Long.parseLong(gameId), 8, 16);
+        send(frames);
+        assertResponse(ThrowFrames.REJECT, 8, ThrowFrames.INVALID_THROW);
+        assertResponse(ThrowFrames.ACK, 8, 1);
+
+        assertEquals(0, gameService.getGame(gameId).getPlayers().get(0).calculateScore());
+    }
+
+    @Test
+    void shouldAcknowledgeResentThrowsOnceAndRejectGaps() throws IOException {
+        ByteBuffer frames = ByteBuffer.allocate(3 * ThrowFrames.FRAME_SIZE);
+        ThrowFrames.putThrow(frames, Long.parseLong(gameId), 1, 15);
+        send(frames);
+        assertResponse(ThrowFrames.ACK, 1, 1);
+
+        frames.clear();
+        ThrowFrames.putThrow(frames, Long.parseLong(gameId), 1, 15); // Resent after a lost acknowledgement
+        ThrowFrames.putThrow(frames, Long.parseLong(gameId), 3, 5);  // Throw 2 lost
+        send(frames);
+        assertResponse(ThrowFrames.REJECT, 3, ThrowFrames.SEQUENCE_GAP);
+        assertResponse(ThrowFrames.ACK, 3, 2);
+
+        assertEquals(1, gameService.getGame(gameId).getThrowCount());
+        assertEquals(15, gameService.getGame(gameId).getPlayers().get(0).calculateScore());
+    }
+
+    @Test
+    void shouldRejectThrowsOfAGameBeyondItsRate() throws IOException {
+        AdmissionControl admissionControl = new AdmissionControl(gameService, 0, 1, 2, 1, 1);
+        try (ThrowIngestServer limited = new ThrowIngestServer(gameService, admissionControl,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1)) {
+            limited.start();
+            sensor.close();
+            sensor = SocketChannel.open(limited.address());
+
+            ByteBuffer frames = ByteBuffer.allocate(3 * ThrowFrames.FRAME_SIZE);
+            for (int sequence = 1; sequence <= 3; sequence++) {
+                ThrowFrames.putThrow(frames, Long.parseLong(gameId), sequence, 0);
+            }
+            send(frames);
+            int rejected = 0;
+            int acknowledged = 0;
+            while (acknowledged < 3) {
+                ByteBuffer response = receive();
+                if (response.getInt() == ThrowFrames.REJECT) {
+                    assertEquals(3, response.getInt());
+                    assertEquals(ThrowFrames.RATE_LIMITED, response.getInt());
+                    rejected++;
+                } else {
+                    response.getInt();
+                    acknowledged += response.getInt();
+                }
+            }
+            assertEquals(1, rejected);
+            assertEquals(2, gameService.getGame(gameId).getThrowCount());
+        }
+    }
+
+    @Test
+    void shouldOnlyCloseConnectionWhoseThrowFailed() throws IOException {
+        try (SocketChannel otherSensor = SocketChannel.open(server.address())) {
+            ByteBuffer frames = ByteBuffer.allocate(ThrowFrames.FRAME_SIZE);
+            ThrowFrames.putThrow(frames, Long.parseLong(gameId), 1, FAILING_PINS);
+            send(frames);
+            assertEquals(-1, sensor.read(ByteBuffer.allocate(ThrowFrames.RESPONSE_SIZE)));
+
+            sensor = otherSensor;
+            frames.clear();
+            ThrowFrames.putThrow(frames, Long.parseLong(gameId), 1, 0);
+            send(frames);
+            assertResponse(ThrowFrames.ACK, 1, 1);
+        }
+    }
+
+    @Test
+    void shouldCarryHeavyLoad() throws Exception {
+        ThrowIngestLoadGenerator.Result result = ThrowIngestLoadGenerator.run(2, 1_000, 2);
+
+        assertEquals(60_000, result.throwCount());
+        assertEquals(0, result.rejected());
+    }
+
+    private void send(ByteBuffer frames) throws IOException {
+        frames.flip();
+        while (frames.hasRemaining()) {
+            sensor.write(frames);
+        }
+    }
+
+    private ByteBuffer receive() throws IOException {
+        ByteBuffer response = ByteBuffer.allocate(ThrowFrames.RESPONSE_SIZE);
+        while (response.hasRemaining()) {
+            if (sensor.read(response) < 0) {
+                fail("Connection closed by the server");
+            }
+        }
+        return response.flip();
+    }
+
+    private void assertResponse(int type, int sequence, int value) throws IOException {
+        ByteBuffer response = receive();
+        assertEquals(type, response.getInt());
+        assertEquals(sequence, response.getInt());
+        assertEquals(value, response.getInt());
+    }
+}
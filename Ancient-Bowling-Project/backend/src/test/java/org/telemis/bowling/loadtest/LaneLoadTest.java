@@ -0,0 +1,60 @@
+package org.telemis.bowling.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.telemis.bowling.TelemisAncientBowlingApplication;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test of the whole HTTP API: lanes play games through {@code GameController} at a fixed request rate,
+ * see {@link LaneSimulator}, and the throughput and latency percentiles are printed and written as JSON
+ * to {@code target/loadtest}. Run with {@code mvn test -Ploadtest}, settings being given by
+ * {@link LoadTestSettings}.
+ * <p>
+ * The application is booted on a random port, with admission control disabled since the lanes all share
+ * one client address, unless {@code loadtest.target} names a server already running. Its requests are served
+ * by Tomcat's pool of platform threads, or by virtual threads with {@code loadtest.virtual-threads}, so that
+ * both can be compared on the same lanes.
+ * </p>
+ */
+@Tag("loadtest")
+class LaneLoadTest {
+
+    @Test
+    void lanesPlayGames() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        if (settings.target() != null) {
+            baseUri = URI.create(settings.target());
+        } else {
+            // Arguments rather than default properties, which application.yml overrides
+            context = new SpringApplicationBuilder(TelemisAncientBowlingApplication.class)
+                    .run("--server.port=0", "--bowling.admission.enabled=false", "--spring.main.banner-mode=off",
+                            "--spring.threads.virtual.enabled=" + settings.virtualThreads());
+            baseUri = URI.create("http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort());
+        }
+        try {
+            LaneSimulator.Recording recording = new LaneSimulator(settings, baseUri).run();
+            LoadTestReport report = LoadTestReport.of(settings, recording);
+            Path file = report.write(Path.of(settings.output()));
+            System.out.print(report.summary());
+            System.out.println("LOADTEST: results written to " + file.toAbsolutePath());
+
+            assertTrue(report.requests() > 0, "No request sent during the measurement");
+            assertEquals(0, report.errors(), "Requests failed");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+}
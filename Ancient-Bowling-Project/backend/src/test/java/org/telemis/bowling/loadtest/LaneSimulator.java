@@ -0,0 +1,247 @@
+package org.telemis.bowling.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.model.Player;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulates lanes playing games through the HTTP API, each lane creating a game, adding its players,
+ * starting it and throwing until the game is complete, polling the scoreboard between throws and reading
+ * the final game, then starting another game.
+ * <p>
+ * Each lane sends its requests on a fixed schedule, one every {@code 1 / laneRate} seconds, and a late response
+ * delays the following requests without cancelling them. The response time of a request is measured from the
+ * time it was due rather than from the time it was sent, so the requests that would have been sent while
+ * the server stalled are accounted for (coordinated omission). The time from sending to receiving the response,
+ * the service time, is recorded too: the gap between both shows how far the server fell behind the schedule.
+ * </p>
+ */
+final class LaneSimulator {
+    private static final int MAX_PINS = 15;
+    private static final double STRIKE_RATE = 0.2;
+
+    /**
+     * Requests of a game, in the order a lane sends them.
+     */
+    enum Operation {
+        CREATE_GAME, ADD_PLAYER, START_GAME, THROW, GET_SCOREBOARD, GET_GAME
+    }
+
+    private final LoadTestSettings settings;
+    private final URI baseUri;
+    private final HttpClient client;
+
+    LaneSimulator(LoadTestSettings settings, URI baseUri) {
+        this.settings = settings;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Runs the lanes through the warm-up and the measurement, recording into one shared recording.
+     */
+    Recording run() throws Exception {
+        long intervalNanos = Math.round(1e9 / settings.laneRate());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmUp().toNanos();
+        long measureUntil = measureFrom + settings.duration().toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.lanes());
+        try {
+            Recording recording = new Recording();
+            List<Future<?>> lanes = new ArrayList<>(settings.lanes());
+            for (int lane = 0; lane < settings.lanes(); lane++) {
+                // Lanes are spread over an interval, rather than all sending at once
+                Lane simulated = new Lane(lane, start + intervalNanos * lane / settings.lanes(), intervalNanos,
+                        measureFrom, measureUntil, recording);
+                lanes.add(executor.submit(simulated::play));
+            }
+            for (Future<?> lane : lanes) {
+                lane.get(settings.warmUp().plus(settings.duration()).toMillis() + 60_000, TimeUnit.MILLISECONDS);
+            }
+            return recording;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private final class Lane {
+        private final int number;
+        private final long intervalNanos;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Random random;
+        private final Recording recording;
+        private long due;
+
+        Lane(int number, long firstDue, long intervalNanos, long measureFrom, long measureUntil, Recording recording) {
+            this.number = number;
+            this.due = firstDue;
+            this.intervalNanos = intervalNanos;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            this.random = new Random(number); // Same games from one run to the next
+            this.recording = recording;
+        }
+
+        void play() {
+            while (due < measureUntil) {
+                playGame();
+            }
+        }
+
+        /**
+         * Plays a game until it is complete or the measurement ends. A failed request ends the game,
+         * whose state is then unknown.
+         */
+        private void playGame() {
+            String gameId = send(Operation.CREATE_GAME, "POST", "/api/games");
+            if (gameId == null) {
+                return;
+            }
+            String game = "/api/games/" + gameId;
+            // Game played locally, to only send legal throws
+            Game mirror = new Game();
+            for (int p = 1; p <= settings.players(); p++) {
+                String name = "Lane" + number + "-Player" + p;
+                if (send(Operation.ADD_PLAYER, "POST", game + "/players?playerName=" + name) == null) {
+                    return;
+                }
+                mirror.addPlayer(name);
+            }
+            if (send(Operation.START_GAME, "POST", game + "/start") == null) {
+                return;
+            }
+            mirror.start();
+            while (!mirror.isGameComplete()) {
+                int pins = nextPins(mirror);
+                if (send(Operation.THROW, "POST", game + "/throw?pins=" + pins) == null) {
+                    return;
+                }
+                mirror.addThrow(pins);
+                if (random.nextDouble() < settings.scoreboardsPerThrow()
+                        && send(Operation.GET_SCOREBOARD, "GET", game + "/scoreboard") == null) {
+                    return;
+                }
+            }
+            send(Operation.GET_GAME, "GET", game);
+        }
+
+        private int nextPins(Game mirror) {
+            Player player = mirror.fork().getCurrentPlayer();
+            player.ensureFreshFrame();
+            int remaining = player.getCurrentFrame().getRemainingPins();
+            return remaining == MAX_PINS && random.nextDouble() < STRIKE_RATE ? MAX_PINS : random.nextInt(remaining + 1);
+        }
+
+        /**
+         * Sends a request once it is due, and records its latency if it was due during the measurement.
+         *
+         * @return the body of the response, or null if the request failed or the measurement is over
+         */
+        private String send(Operation operation, String method, String path) {
+            long scheduled = due;
+            if (scheduled >= measureUntil) {
+                return null;
+            }
+            due += intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .method(method, HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long sent = System.nanoTime();
+            String body;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                body = response.statusCode() / 100 == 2 ? response.body() : null;
+            } catch (IOException e) {
+                body = null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending a request", e);
+            }
+            long received = System.nanoTime();
+            if (scheduled >= measureFrom) {
+                recording.record(operation, received - scheduled, received - sent, body != null);
+            }
+            if (received >= measureFrom && received < measureUntil) {
+                recording.complete(operation); // Throughput counts the responses received during the measurement
+            }
+            return body;
+        }
+    }
+
+    /**
+     * Latencies recorded per operation, in nanoseconds, of the requests due during the measurement,
+     * and counts of the responses received during the measurement. Shared by all the lanes: a histogram
+     * per lane would take gigabytes with thousands of lanes.
+     */
+    static final class Recording {
+        private final Map<Operation, Histogram> responseTimes = new EnumMap<>(Operation.class);
+        private final Map<Operation, Histogram> serviceTimes = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> completed = new EnumMap<>(Operation.class);
+
+        Recording() {
+            for (Operation operation : Operation.values()) {
+                responseTimes.put(operation, new ConcurrentHistogram(3));
+                serviceTimes.put(operation, new ConcurrentHistogram(3));
+                errors.put(operation, new LongAdder());
+                completed.put(operation, new LongAdder());
+            }
+        }
+
+        void record(Operation operation, long responseTime, long serviceTime, boolean succeeded) {
+            responseTimes.get(operation).recordValue(responseTime);
+            serviceTimes.get(operation).recordValue(serviceTime);
+            if (!succeeded) {
+                errors.get(operation).increment();
+            }
+        }
+
+        void complete(Operation operation) {
+            completed.get(operation).increment();
+        }
+
+        Histogram responseTimes(Operation operation) {
+            return responseTimes.get(operation);
+        }
+
+        Histogram serviceTimes(Operation operation) {
+            return serviceTimes.get(operation);
+        }
+
+        long errors(Operation operation) {
+            return errors.get(operation).sum();
+        }
+
+        long completed(Operation operation) {
+            return completed.get(operation).sum();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.telemis.bowling.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.telemis.bowling.loadtest.LaneSimulator.Operation;
+import org.telemis.bowling.loadtest.LaneSimulator.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of a load test, written as JSON so that runs can be compared over time.
+ *
+ * @param timestamp     the end of the run
+ * @param environment   the JVM and machine of the run
+ * @param settings      the settings of the run
+ * @param requests      the requests due during the measurement
+ * @param errors        the requests that failed or were answered with an error
+ * @param throughput    the responses per second received during the measurement
+ * @param responseTime  the latencies from the time requests were due, corrected for coordinated omission
+ * @param serviceTime   the latencies from the time requests were sent, as seen by an uncorrected client
+ * @param operations    the same figures per operation
+ */
+record LoadTestReport(Instant timestamp, Environment environment, LoadTestSettings settings, long requests,
+                      long errors, double throughput, Latency responseTime, Latency serviceTime,
+                      Map<Operation, OperationReport> operations) {
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    static LoadTestReport of(LoadTestSettings settings, Recording recording) {
+        double seconds = settings.duration().toNanos() / 1e9;
+        Map<Operation, OperationReport> operations = new LinkedHashMap<>();
+        Histogram allResponseTimes = new Histogram(3);
+        Histogram allServiceTimes = new Histogram(3);
+        long errors = 0;
+        long completed = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram responseTimes = recording.responseTimes(operation);
+            allResponseTimes.add(responseTimes);
+            allServiceTimes.add(recording.serviceTimes(operation));
+            errors += recording.errors(operation);
+            completed += recording.completed(operation);
+            operations.put(operation, new OperationReport(responseTimes.getTotalCount(), recording.errors(operation),
+                    recording.completed(operation) / seconds, Latency.of(responseTimes),
+                    Latency.of(recording.serviceTimes(operation))));
+        }
+        return new LoadTestReport(Instant.now(), Environment.current(), settings, allResponseTimes.getTotalCount(),
+                errors, completed / seconds, Latency.of(allResponseTimes),
+                Latency.of(allServiceTimes), operations);
+    }
+
+    /**
+     * Writes this report to a file named after its timestamp, and to {@code latest.json}.
+     *
+     * @return the file named after the timestamp
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+        Path file = directory.resolve("loadtest-" + FILE_TIMESTAMP.format(timestamp) + ".json");
+        mapper.writeValue(file.toFile(), this);
+        Files.copy(file, directory.resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "LOADTEST: %d lanes at %.0f requests/s, %s threads: %,.0f requests/s, %d errors, response time %s, service time %s%n",
+                settings.lanes(), settings.targetRate(), settings.virtualThreads() ? "virtual" : "platform",
+                throughput, errors, responseTime, serviceTime));
+        operations.forEach((operation, report) -> summary.append(String.format(
+                "LOADTEST:   %-14s %,9.1f requests/s, %d errors, response time %s%n",
+                operation, report.throughput(), report.errors(), report.responseTime())));
+        return summary.toString();
+    }
+
+    /**
+     * @param requests     the requests due during the measurement
+     * @param errors       the requests that failed or were answered with an error
+     * @param throughput   the responses per second received during the measurement
+     * @param responseTime the latencies from the time requests were due
+     * @param serviceTime  the latencies from the time requests were sent
+     */
+    record OperationReport(long requests, long errors, double throughput, Latency responseTime, Latency serviceTime) {}
+
+    /**
+     * Latency percentiles, in milliseconds.
+     */
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+        static Latency of(Histogram nanos) {
+            if (nanos.getTotalCount() == 0) {
+                return new Latency(0, 0, 0, 0, 0, 0);
+            }
+            return new Latency(nanos.getMean() / 1e6, millis(nanos, 50), millis(nanos, 90), millis(nanos, 99),
+                    millis(nanos, 99.9), nanos.getMaxValue() / 1e6);
+        }
+
+        private static double millis(Histogram nanos, double percentile) {
+            return nanos.getValueAtPercentile(percentile) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("p50 %.2fms, p99 %.2fms, p999 %.2fms, max %.2fms", p50, p99, p999, max);
+        }
+    }
+
+    /**
+     * @param javaVersion the version of the JVM running the load test
+     * @param processors  the processors available to it
+     */
+    record Environment(String javaVersion, int processors) {
+        static Environment current() {
+            return new Environment(Runtime.version().toString(), Runtime.getRuntime().availableProcessors());
+        }
+    }
+}
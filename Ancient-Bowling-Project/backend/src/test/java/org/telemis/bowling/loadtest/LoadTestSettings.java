@@ -0,0 +1,57 @@
+package org.telemis.bowling.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Settings of a load test, read from {@code loadtest.*} system properties, e.g.
+ * {@code mvn test -Ploadtest -Dloadtest.lanes=64 -Dloadtest.duration=PT2M}.
+ *
+ * @param target              the base URL of a running server, or null to boot the application locally
+ * @param lanes               the number of lanes, each playing one game after the other
+ * @param laneRate            the requests per second sent by each lane
+ * @param players             the players of each game
+ * @param scoreboardsPerThrow the scoreboard polls per throw, as a lane display refreshing after some throws
+ * @param warmUp              the duration of the warm-up, whose requests are not recorded
+ * @param duration            the duration of the measurement, after the warm-up
+ * @param output              the directory where the results are written
+ * @param virtualThreads      whether the server serves requests on virtual threads: set on the local application,
+ *                            or telling how the server at {@code target} was started
+ */
+record LoadTestSettings(String target, int lanes, double laneRate, int players, double scoreboardsPerThrow,
+                        Duration warmUp, Duration duration, String output, boolean virtualThreads) {
+
+    LoadTestSettings {
+        if (lanes < 1 || laneRate <= 0 || players < 2) {
+            throw new IllegalArgumentException("Lanes and rate must be positive, with at least 2 players per game");
+        }
+        if (scoreboardsPerThrow < 0 || scoreboardsPerThrow > 1) {
+            throw new IllegalArgumentException("Scoreboard polls per throw must be between 0 and 1");
+        }
+        if (warmUp.isNegative() || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Warm-up must not be negative and duration must be positive");
+        }
+        if (virtualThreads && target == null && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("Virtual threads require Java 21, the application would use platform threads");
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("loadtest.target"),
+                Integer.getInteger("loadtest.lanes", 16),
+                Double.parseDouble(System.getProperty("loadtest.lane-rate", "20")),
+                Integer.getInteger("loadtest.players", 4),
+                Double.parseDouble(System.getProperty("loadtest.scoreboards-per-throw", "0.5")),
+                Duration.parse(System.getProperty("loadtest.warm-up", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                System.getProperty("loadtest.output", "target/loadtest"),
+                Boolean.getBoolean("loadtest.virtual-threads"));
+    }
+
+    /**
+     * Returns the requests per second sent by all the lanes, whatever the server response times.
+     */
+    double targetRate() {
+        return lanes * laneRate;
+    }
+}
@@ -0,0 +1,97 @@
+package org.telemis.bowling.memory;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.service.GameService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes retained by typical games at their start, middle and end, checked against the budgets
+ * of {@code game-footprint-budgets.properties}, so that memory regressions fail the build.
+ */
+class GameFootprintTest {
+    private static final Properties budgets = new Properties();
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        try (InputStream in = GameFootprintTest.class.getResourceAsStream("/game-footprint-budgets.properties")) {
+            assertNotNull(in, "Missing game-footprint-budgets.properties");
+            budgets.load(in);
+        }
+    }
+
+    @Test
+    void twoPlayerGameShouldStayWithinBudget() {
+        checkBudgets(2);
+    }
+
+    @Test
+    void sixPlayerGameShouldStayWithinBudget() {
+        checkBudgets(6);
+    }
+
+    @Test
+    void twentyPlayerGameShouldStayWithinBudget() {
+        checkBudgets(20);
+    }
+
+    @Test
+    void shouldMeasureLiveGamesFromTheirReplicas() {
+        GameService gameService = new GameService();
+        for (int i = 0; i < 3; i++) {
+            String gameId = gameService.createGame();
+            gameService.addPlayer(gameId, "John");
+            gameService.addPlayer(gameId, "Jane");
+            gameService.startGame(gameId);
+            gameService.addThrow(gameId, 4);
+        }
+        Game game = gameService.sampleGames(1).get(0);
+
+        GameFootprintMeter.GameFootprint footprint = new GameFootprintMeter(gameService).measure(2);
+
+        assertEquals(3, footprint.liveGames());
+        assertEquals(2, footprint.sampledGames());
+        assertEquals(GameFootprintMeter.retainedSize(game), footprint.averageBytes());
+        assertEquals(footprint.averageBytes(), footprint.maxBytes());
+        assertEquals(3 * footprint.averageBytes(), footprint.estimatedTotalBytes());
+        assertThrows(IllegalArgumentException.class, () -> new GameFootprintMeter(gameService).measure(0));
+    }
+
+    private static void checkBudgets(int players) {
+        Game game = new Game();
+        for (int p = 1; p <= players; p++) {
+            game.addPlayer("Player " + p);
+        }
+        game.start();
+        check(players, "start", game);
+
+        int throwsPerGame = players * 15; // 5 frames of 3 throws knocking down 13 pins
+        int pins = 0;
+        while (game.getThrowCount() < throwsPerGame / 2) {
+            game.addThrow(4 + pins++ % 2);
+        }
+        check(players, "middle", game);
+
+        while (!game.isGameComplete()) {
+            game.addThrow(4 + pins++ % 2);
+        }
+        assertEquals(throwsPerGame, game.getThrowCount());
+        check(players, "end", game);
+    }
+
+    private static void check(int players, String phase, Game game) {
+        String key = players + "-players." + phase;
+        String budget = System.getProperty("game-footprint." + key, budgets.getProperty(key));
+        assertNotNull(budget, "No budget for " + key);
+        long bytes = GameFootprintMeter.retainedSize(game);
+        System.out.printf("FOOTPRINT: %d players, %s: %,d bytes (budget %,d)%n", players, phase, bytes, Long.parseLong(budget));
+        assertTrue(bytes <= Long.parseLong(budget),
+                "Game of " + players + " players at its " + phase + " retains " + bytes + " bytes, over its budget of " + budget);
+    }
+}
@@ -0,0 +1,134 @@
+package org.telemis.bowling.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the event history of a game and the rebuilding of its past versions.
+ */
+class GameHistoryTest {
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+    }
+
+    /**
+     * Plays a full game, keeping a fork of every version, then checks that each version is rebuilt identically.
+     */
+    @Test
+    void rebuildsEveryPastVersion() {
+        List<Game> forks = new ArrayList<>();
+        forks.add(game.fork());
+        game.addPlayer("Player 1");
+        forks.add(game.fork());
+        game.addPlayer("Player 2");
+        forks.add(game.fork());
+        game.addPlayer("Player 3");
+        forks.add(game.fork());
+        game.start();
+        forks.add(game.fork());
+        int[] throwsOfGame = { // Player 1, then Player 2, then Player 3
+            8, 1, 1,         15,      0, 0, 0, // Frame 1
+            7, 8,            1, 2, 1, 0, 0, 0, // Frame 2
+            15,              3, 3, 3, 0, 0, 0, // Frame 3
+            5, 5, 5,         1, 1, 1, 0, 0, 0, // Frame 4
+            15, 15, 15, 15,  4, 4, 4, 0, 0, 0  // Frame 5
+        };
+        for (int pins : throwsOfGame) {
+            game.addThrow(pins);
+            forks.add(game.fork());
+        }
+        game.correctThrow("Player 1", 1, 1, 7);
+        forks.add(game.fork());
+        assertTrue(game.isGameComplete());
+        assertTrue(forks.size() > GameHistory.SNAPSHOT_INTERVAL + 1); // Rebuilt from more than one snapshot
+
+        for (int version = 0; version < forks.size(); version++) {
+            Game expected = forks.get(version);
+            Game rebuilt = game.atVersion(version);
+            assertEquals(version, rebuilt.getVersion());
+            assertSameState(expected, rebuilt);
+        }
+    }
+
+    /**
+     * Tests that a game is the fold of its events.
+     */
+    @Test
+    void replaysEventsIntoSameGame() {
+        game.addPlayer("Player 1");
+        game.addPlayer("Player 2");
+        game.start();
+        game.addThrow(15);
+        game.addThrow(5);
+
+        List<GameEvent> events = game.eventsSince(0);
+
+        assertEquals(List.of(new GameEvent.Created(), new GameEvent.PlayerAdded("Player 1"),
+                new GameEvent.PlayerAdded("Player 2"), new GameEvent.Started(),
+                new GameEvent.ThrowMade(15), new GameEvent.ThrowMade(5)), events);
+        Game replayed = Game.replay(events);
+        assertSameState(game, replayed);
+        assertEquals(events, replayed.eventsSince(0));
+        assertEquals(List.of(new GameEvent.ThrowMade(5)), game.eventsSince(5));
+        assertThrows(IllegalArgumentException.class, () -> Game.replay(events.subList(1, events.size())));
+    }
+
+    /**
+     * Tests that versions never reached are rejected and that forks keep no history.
+     */
+    @Test
+    void rejectsUnknownVersionsAndForks() {
+        game.addPlayer("Player 1");
+
+        assertThrows(IllegalArgumentException.class, () -> game.atVersion(-1));
+        assertThrows(IllegalArgumentException.class, () -> game.atVersion(2));
+        assertThrows(IllegalStateException.class, () -> game.fork().atVersion(0));
+        assertTrue(game.atVersion(0).getPlayers().isEmpty());
+    }
+
+    /**
+     * Tests that changing a rebuilt game leaves the history and the live game untouched.
+     */
+    @Test
+    void rebuiltGameIsDetached() {
+        game.addPlayer("Player 1");
+        game.addPlayer("Player 2");
+        game.start();
+        game.addThrow(8);
+
+        Game past = game.atVersion(3);
+        past.addThrow(2);
+
+        assertEquals(8, game.getPlayer("Player 1").calculateScore());
+        assertEquals(0, game.atVersion(3).getPlayer("Player 1").calculateScore());
+        assertEquals(4, game.getVersion());
+    }
+
+    private static void assertSameState(Game expected, Game actual) {
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.isStarted(), actual.isStarted());
+        assertEquals(expected.getThrowCount(), actual.getThrowCount());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (int i = 0; i < expected.getPlayers().size(); i++) {
+            Player expectedPlayer = expected.getPlayers().get(i);
+            Player actualPlayer = actual.getPlayers().get(i);
+            assertEquals(expectedPlayer.getName(), actualPlayer.getName());
+            assertEquals(expectedPlayer.calculateScore(), actualPlayer.calculateScore());
+            assertEquals(expectedPlayer.frameCount(), actualPlayer.frameCount());
+            for (int frame = 0; frame < expectedPlayer.frameCount(); frame++) {
+                assertEquals(expectedPlayer.getFrames().get(frame).getThrows(), actualPlayer.getFrames().get(frame).getThrows());
+            }
+        }
+        if (expected.isStarted() && !expected.isGameComplete()) {
+            assertEquals(expected.getCurrentPlayer().getName(), actual.getCurrentPlayer().getName());
+        }
+    }
+}
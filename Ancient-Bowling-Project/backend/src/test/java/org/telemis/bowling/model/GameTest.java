@@ -242,4 +242,99 @@ class GameTest {
             () -> game.addPlayer("   "));
         assertEquals("Player name cannot be null or empty", whitespaceException.getMessage());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Test that throws added to a fork leave the original game untouched, and vice versa.
+     */
+    @Test
+    void forkIsIndependentFromOriginalGame() {
+        game.addPlayer("Player 1");
+        game.addPlayer("Player 2");
+        game.start();
+        game.addThrow(15); // Player 1 strike
+        game.addThrow(5);  // Player 2 first throw
+
+        Game fork = game.fork();
+        fork.addThrow(10); // Player 2 spare in the fork only
+
+        assertEquals("Player 2", game.getCurrentPlayer().getName());
+        assertEquals(10, game.getCurrentPlayer().getCurrentFrame().getRemainingPins());
+        assertEquals("Player 1", fork.getCurrentPlayer().getName());
+
+        game.addThrow(2);
+        assertEquals(7, game.getScoreboard().get(1).score());
+        assertEquals(15, fork.getScoreboard().get(0).score());
+    }
+
+    /**
+     * Test that correcting a throw only replays the frames of its player and leaves earlier forks untouched.
+     */
+    @Test
+    void correctThrowOnlyChangesItsPlayer() {
+        game.addPlayer("Player 1");
+        game.addPlayer("Player 2");
+        assertThrows(IllegalStateException.class, () -> game.correctThrow("Player 1", 1, 1, 5));
+        game.start();
+        game.addThrow(8); game.addThrow(1); game.addThrow(1); // Player 1: 10
+        game.addThrow(3); game.addThrow(3); game.addThrow(3); // Player 2: 9
+        Game fork = game.fork();
+        long version = game.getVersion();
+
+        assertEquals(1, game.correctThrow("Player 1", 1, 3, 6)); // Spare in three throws
+
+        assertEquals(15, game.getPlayer("Player 1").calculateScore());
+        assertEquals(9, game.getPlayer("Player 2").calculateScore());
+        assertEquals("Player 1", game.getCurrentPlayer().getName());
+        assertEquals(version + 1, game.getVersion());
+        assertEquals(10, fork.getPlayer("Player 1").calculateScore());
+        assertThrows(IllegalArgumentException.class, () -> game.correctThrow("Player 3", 1, 1, 5));
+    }
+
+    /**
+     * Test that a projection is computed for every legal next throw without mutating the game.
+     */
+    @Test
+    void projectNextThrowsCoversEveryLegalThrow() {
+        game.addPlayer("Player 1");
+        game.addPlayer("Player 2");
+        assertThrows(IllegalStateException.class, () -> game.projectNextThrows());
+        game.start();
+        game.addThrow(6);
+
+        var projections = game.projectNextThrows();
+        assertEquals(10, projections.size()); // 0 to 9 remaining pins
+        for (int pins = 0; pins < projections.size(); pins++) {
+            Game.ThrowProjection projection = projections.get(pins);
+            assertEquals(pins, projection.pins());
+            assertEquals("Player 1", projection.playerName());
+            assertEquals(6 + pins, projection.scoreboard().get(0).score());
+        }
+        // The live game has not moved
+        assertEquals(9, game.getCurrentPlayer().getCurrentFrame().getRemainingPins());
+        assertEquals(6, game.getScoreboard().get(0).score());
+    }
+
+    /**
+     * Test that a player who can no longer catch up is marked as eliminated on the scoreboard.
+     */
+    @Test
+    void scoreboardMarksEliminatedPlayers() {
+        game.addPlayer("Player 1");
+        game.addPlayer("Player 2");
+        game.start();
+        assertFalse(game.getScoreboard().get(0).eliminated());
+        // Player 1 strikes every frame, Player 2 misses every throw
+        for (int frame = 0; frame < 4; frame++) {
+            game.addThrow(15);
+            game.addThrow(0);
+            game.addThrow(0);
+            game.addThrow(0);
+        }
+        var scoreboard = game.getScoreboard();
+        assertEquals("Player 1", scoreboard.get(0).name());
+        assertEquals(300, scoreboard.get(0).maxScore());
+        assertFalse(scoreboard.get(0).eliminated());
+        assertEquals(60, scoreboard.get(1).maxScore()); // Only the last frame is left
+        assertTrue(scoreboard.get(1).eliminated());
+    }
+}
@@ -338,5 +338,53 @@ class PlayerTest {
 
         System.out.println("DEBUG: End testPlayer2ScoreChart");
     }
-}
 
+    /**
+     * Tests that correcting a throw rescores the bonus of the frame before it and the following frames.
+     */
+    @Test
+    void testCorrectThrowRescoresFrames() {
+        player.addThrow(8); player.addThrow(1); player.addThrow(1); // Frame 1: 10
+        player.addThrow(8); player.addThrow(7);                     // Frame 2: spare
+        player.addThrow(1); player.addThrow(2); player.addThrow(1); // Frame 3
+        assertEquals(32, player.calculateScore());
+
+        int previousPins = player.correctThrow(3, 1, 2);
+
+        assertEquals(1, previousPins);
+        assertEquals(29, player.calculateScore(2)); // Spare bonus 2 + 2
+        assertEquals(34, player.calculateScore());
+        assertEquals(3, player.frameCount());
+        assertTrue(player.getCurrentFrame().isCompleted());
+    }
+
+    /**
+     * Tests that a correction making a later throw of the frame illegal is rejected, leaving the player unchanged.
+     */
+    @Test
+    void testCorrectThrowRejectsIllegalLaterThrow() {
+        player.addThrow(5); player.addThrow(6); player.addThrow(2);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> player.correctThrow(1, 1, 8)); // 8 + 6 leaves a single pin for the third throw
+
+        assertTrue(exception.getMessage().contains("throw 3 of frame 1 (2 pins) would be illegal"));
+        assertEquals(13, player.calculateScore());
+    }
+
+    /**
+     * Tests that a correction changing the number of throws of a frame is rejected,
+     * since the other players have played in between.
+     */
+    @Test
+    void testCorrectThrowRejectsTurnOrderChange() {
+        player.addThrow(15);                    // Frame 1: strike
+        player.addThrow(5); player.addThrow(5); // Frame 2 in progress
+
+        assertThrows(IllegalStateException.class, () -> player.correctThrow(1, 1, 14)); // No longer ends the frame
+        assertThrows(IllegalStateException.class, () -> player.correctThrow(2, 1, 15)); // Would end frame 2 early
+        assertThrows(IllegalArgumentException.class, () -> player.correctThrow(2, 3, 1));
+        assertThrows(IllegalArgumentException.class, () -> player.correctThrow(3, 1, 1));
+        assertEquals(35, player.calculateScore());
+    }
+}
@@ -0,0 +1,87 @@
+package org.telemis.bowling.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the ScoreBounds class.
+ * Tests the minimum and maximum final scores a player can still reach.
+ */
+class ScoreBoundsTest {
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        player = new Player("Test Player");
+    }
+
+    /**
+     * Tests that a new player can score anything from 0 to a perfect game.
+     */
+    @Test
+    void newPlayerRangesFromZeroToPerfectGame() {
+        assertEquals(0, ScoreBounds.minFinalScore(player));
+        assertEquals(300, ScoreBounds.maxFinalScore(player));
+    }
+
+    /**
+     * Tests that the minimum is the current score and the maximum completes the frame with a spare.
+     */
+    @Test
+    void partialFrameIsCompletedWithSpare() {
+        player.addThrow(5);
+        assertEquals(5, ScoreBounds.minFinalScore(player));
+        assertEquals(285, ScoreBounds.maxFinalScore(player)); // 5 + 10 as a spare, then strikes only
+    }
+
+    /**
+     * Tests that open bonuses count in the maximum:
+     * a strike followed by strikes scores a perfect game.
+     */
+    @Test
+    void openStrikeBonusIsCountedOnce() {
+        player.addThrow(15);
+        assertEquals(15, ScoreBounds.minFinalScore(player));
+        assertEquals(300, ScoreBounds.maxFinalScore(player));
+    }
+
+    /**
+     * Tests that missed frames cannot be caught up: only the last frame is left to play.
+     */
+    @Test
+    void onlyLastFrameLeft() {
+        for (int i = 0; i < 12; i++) {
+            player.addThrow(0);
+        }
+        assertEquals(0, ScoreBounds.minFinalScore(player));
+        assertEquals(60, ScoreBounds.maxFinalScore(player)); // strike followed by three strikes
+    }
+
+    /**
+     * Tests that both bounds are the final score once the player is done.
+     */
+    @Test
+    void completedGameHasFixedScore() {
+        for (int i = 0; i < 15; i++) {
+            player.addThrow(1);
+        }
+        assertTrue(player.isGameComplete());
+        assertEquals(player.calculateScore(), ScoreBounds.minFinalScore(player));
+        assertEquals(player.calculateScore(), ScoreBounds.maxFinalScore(player));
+    }
+
+    /**
+     * Tests that the minimum always matches the regular score calculation.
+     */
+    @Test
+    void minFinalScoreMatchesCalculatedScore() {
+        int[] throwsSequence = {8, 1, 1, 8, 7, 1, 2, 1, 15, 1, 2, 0};
+        for (int pins : throwsSequence) {
+            player.addThrow(pins);
+            assertEquals(player.calculateScore(), ScoreBounds.minFinalScore(player));
+            assertTrue(ScoreBounds.maxFinalScore(player) >= player.calculateScore());
+        }
+    }
+}
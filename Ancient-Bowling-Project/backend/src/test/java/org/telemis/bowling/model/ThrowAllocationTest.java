@@ -0,0 +1,195 @@
+package org.telemis.bowling.model;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes allocated by {@link Game#addThrow(int)} and {@link Game#getScoreboard()}, measured with the allocation
+ * counter of the current thread, so that allocations creeping back into the hot path fail the build.
+ * <p>
+ * A throw may only allocate the frame it opens: every scenario is played by two players, and the bytes
+ * allocated beyond those frames must stay within the budget of the scenario. Games are played on forks,
+ * which keep no history; the history of a real game has its own budget. Each measure is the lowest of a few
+ * batches, so that a one-off allocation of the JVM (compilation, class loading) does not fail the test,
+ * while an allocation of the hot path shows in every batch.
+ * </p>
+ */
+class ThrowAllocationTest {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int WARM_UP_ROUNDS = 2_000;
+    private static final int ROUNDS = 200;
+    private static final int BATCHES = 5;
+    private static final int PLAYERS = 2;
+
+    private static final int[][] OPEN_FRAMES = {{4, 5, 4}, {4, 5, 4}, {4, 5, 4}, {4, 5, 4}, {4, 5, 4}};
+    private static final int[][] STRIKES = {{15}, {15}, {15}, {15}, {15, 15, 15, 15}};
+    private static final int[][] SPARES = {{7, 8}, {7, 8}, {5, 5, 5}, {5, 5, 5}, {5, 5, 5, 6, 9}};
+    private static final int[][] LAST_FRAME_BONUS = {{4, 5, 4}, {15}, {7, 8}, {4, 5, 4}, {15, 7, 8, 15}};
+
+    private static long regularFrameBytes;
+    private static long lastFrameBytes;
+
+    @BeforeAll
+    static void measureFrames() {
+        Frame[] frames = new Frame[1];
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            frames[0] = new Frame();
+            frames[0] = new Frame(true);
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        frames[0] = new Frame();
+        regularFrameBytes = THREADS.getCurrentThreadAllocatedBytes() - before;
+        before = THREADS.getCurrentThreadAllocatedBytes();
+        frames[0] = new Frame(true);
+        lastFrameBytes = THREADS.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(regularFrameBytes > 0 && lastFrameBytes > 0, "Allocation counter of the thread is not supported");
+    }
+
+    @Test
+    void openFramesShouldOnlyAllocateTheirFrames() {
+        assertThrowsWithinBudget("open frames", OPEN_FRAMES, 0);
+    }
+
+    @Test
+    void strikesShouldOnlyAllocateTheirFrames() {
+        assertThrowsWithinBudget("strikes", STRIKES, 0);
+    }
+
+    @Test
+    void sparesShouldOnlyAllocateTheirFrames() {
+        assertThrowsWithinBudget("spares", SPARES, 0);
+    }
+
+    @Test
+    void lastFrameBonusThrowsShouldOnlyAllocateTheirFrames() {
+        assertThrowsWithinBudget("last frame bonus", LAST_FRAME_BONUS, 0);
+    }
+
+    @Test
+    void historyShouldStayWithinBudget() {
+        // The event list grows by half its size, and a snapshot is forked every 32 events
+        int[] order = throwOrder(OPEN_FRAMES);
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            play(newGame(), order);
+        }
+        long bytes = Long.MAX_VALUE;
+        for (int b = 0; b < BATCHES; b++) {
+            long batch = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                Game game = newGame();
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                play(game, order);
+                batch += THREADS.getCurrentThreadAllocatedBytes() - before;
+            }
+            bytes = Math.min(bytes, batch);
+        }
+        check("history", bytes - ROUNDS * framesOpenedBytes(), order.length, 64);
+    }
+
+    @Test
+    void scoreboardShouldOnlyAllocateItsEntries() {
+        for (int[][] scenario : new int[][][]{OPEN_FRAMES, STRIKES, SPARES, LAST_FRAME_BONUS}) {
+            int[] order = throwOrder(scenario);
+            Game game = newGame().fork();
+            for (int i = 0; i < order.length; i++) {
+                game.addThrow(order[i]);
+                for (int w = 0; w < WARM_UP_ROUNDS / 10; w++) {
+                    game.getScoreboard();
+                }
+                long bytes = Long.MAX_VALUE;
+                for (int b = 0; b < BATCHES; b++) {
+                    long before = THREADS.getCurrentThreadAllocatedBytes();
+                    for (int r = 0; r < ROUNDS; r++) {
+                        game.getScoreboard();
+                    }
+                    bytes = Math.min(bytes, THREADS.getCurrentThreadAllocatedBytes() - before);
+                }
+                // The list, its array and one entry per player
+                assertTrue(bytes <= (long) ROUNDS * PLAYERS * 64,
+                        "Scoreboard after throw " + (i + 1) + " allocates " + bytes / ROUNDS + " bytes per call");
+            }
+            assertTrue(game.isGameComplete());
+        }
+    }
+
+    /**
+     * Plays a scenario on forks of a started game and checks the bytes allocated per throw
+     * beyond the frames opened.
+     */
+    private static void assertThrowsWithinBudget(String scenario, int[][] frames, long budgetPerThrow) {
+        int[] order = throwOrder(frames);
+        Game started = newGame();
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            play(started.fork(), order);
+        }
+        long bytes = Long.MAX_VALUE;
+        for (int b = 0; b < BATCHES; b++) {
+            long batch = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                Game game = started.fork();
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                play(game, order);
+                batch += THREADS.getCurrentThreadAllocatedBytes() - before;
+            }
+            bytes = Math.min(bytes, batch);
+        }
+        check(scenario, bytes - ROUNDS * framesOpenedBytes(), order.length, budgetPerThrow);
+    }
+
+    private static void check(String scenario, long bytes, int throwsPerRound, long budgetPerThrow) {
+        double perThrow = (double) bytes / ROUNDS / throwsPerRound;
+        System.out.printf("ALLOCATION: %s: %.1f bytes per throw beyond frames (budget %d)%n", scenario, perThrow, budgetPerThrow);
+        assertTrue(perThrow <= budgetPerThrow, "A throw with " + scenario + " allocates " + perThrow
+                + " bytes beyond its frames, over its budget of " + budgetPerThrow);
+    }
+
+    /**
+     * The first frame of each player is created with the player, the others by its throws.
+     */
+    private static long framesOpenedBytes() {
+        return PLAYERS * (3 * regularFrameBytes + lastFrameBytes);
+    }
+
+    private static Game newGame() {
+        Game game = new Game();
+        for (int p = 1; p <= PLAYERS; p++) {
+            game.addPlayer("Player " + p);
+        }
+        game.start();
+        return game;
+    }
+
+    private static void play(Game game, int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            game.addThrow(order[i]);
+        }
+        if (!game.isGameComplete()) {
+            throw new IllegalStateException("Scenario does not complete the game");
+        }
+    }
+
+    /**
+     * Orders the throws of the game, each player playing the same frames in turn.
+     */
+    private static int[] throwOrder(int[][] frames) {
+        int count = 0;
+        for (int[] frame : frames) {
+            count += PLAYERS * frame.length;
+        }
+        int[] order = new int[count];
+        int index = 0;
+        for (int[] frame : frames) {
+            for (int p = 0; p < PLAYERS; p++) {
+                for (int pins : frame) {
+                    order[index++] = pins;
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,99 @@
+package org.telemis.bowling.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.telemis.bowling.TelemisAncientBowlingApplication;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A primary and a standby booted on local ports, the games being streamed over HTTP
+ * by {@link HttpReplicationClient} to {@link StandbyController}.
+ */
+class ReplicationNodesTest {
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private String primary;
+    private String standby;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primary = "http://localhost:" + freePort();
+        standby = "http://localhost:" + freePort();
+        startNode(standby, "--bowling.replication.standby=true");
+        startNode(primary, "--bowling.replication.standbys=" + standby);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            nodes.get(i).close();
+        }
+    }
+
+    @Test
+    void streamsGamesToStandbyWhichOnlyAcceptsChangesOncePromoted() throws Exception {
+        String gameId = send("POST", primary + "/api/games").body();
+        send("POST", primary + "/api/games/" + gameId + "/players?playerName=John");
+        send("POST", primary + "/api/games/" + gameId + "/players?playerName=Jane");
+        send("POST", primary + "/api/games/" + gameId + "/start");
+        for (int pins : new int[] {15, 10, 5}) {
+            assertEquals(200, send("POST", primary + "/api/games/" + gameId + "/throw?pins=" + pins).statusCode());
+        }
+        String game = send("GET", primary + "/api/games/" + gameId).body();
+        awaitBody(standby + "/api/games/" + gameId, game);
+
+        assertEquals(503, send("POST", standby + "/api/games/" + gameId + "/throw?pins=3").statusCode());
+        assertEquals(503, send("POST", standby + "/api/games").statusCode());
+        assertEquals(503, send("PUT", standby + "/api/games/" + gameId + "/players/John/frames/1/throws/1?pins=14")
+                .statusCode());
+        assertEquals(game, send("GET", standby + "/api/games/" + gameId).body());
+
+        assertEquals(200, send("POST", standby + "/api/replication/standby/promote").statusCode());
+        assertEquals(200, send("POST", standby + "/api/games/" + gameId + "/throw?pins=3").statusCode());
+        assertEquals(200, send("POST", standby + "/api/games").statusCode());
+    }
+
+    private void awaitBody(String url, String expected) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (true) {
+            HttpResponse<String> response = send("GET", url);
+            if (expected.equals(response.body()) || System.nanoTime() > deadline) {
+                assertEquals(expected, response.body(), "Not replicated: " + url);
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private HttpResponse<String> send(String method, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void startNode(String url, String role) {
+        // Arguments rather than default properties, which application.yml overrides
+        nodes.add(new SpringApplicationBuilder(TelemisAncientBowlingApplication.class).run(
+                "--server.port=" + URI.create(url).getPort(),
+                "--spring.main.banner-mode=off",
+                role));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.telemis.bowling.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.cluster.TransferredEvent;
+import org.telemis.bowling.model.Game;
+import org.telemis.bowling.model.GameEvent;
+import org.telemis.bowling.model.Player;
+import org.telemis.bowling.service.GameService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the replication of the games of a primary to a standby in the same JVM,
+ * batches being delivered on other threads and out of order, as over several HTTP connections.
+ */
+class ReplicationTest {
+    private static final String STANDBY = "http://localhost:8082";
+
+    private final ExecutorService network = Executors.newFixedThreadPool(4);
+    private final AtomicInteger failingBatches = new AtomicInteger();
+    private volatile boolean reachable = true;
+    private GameService primaryGames;
+    private GameService standbyGames;
+    private ReplicationStandby standby;
+    private ReplicationPrimary primary;
+
+    private final ReplicationClient client = new ReplicationClient() {
+        @Override
+        public CompletableFuture<Long> sendBatch(String node, ReplicationBatch batch) {
+            return CompletableFuture.supplyAsync(() -> {
+                sleepMicros(ThreadLocalRandom.current().nextInt(200)); // Reorders the batches in flight
+                if (!reachable || failingBatches.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    throw new IllegalStateException("Connection refused: " + node);
+                }
+                return standby.receive(batch);
+            }, network);
+        }
+
+        @Override
+        public void sendSnapshot(String node, ReplicationSnapshot snapshot) {
+            if (!reachable) {
+                throw new IllegalStateException("Connection refused: " + node);
+            }
+            standby.receive(snapshot);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        standbyGames = new GameService();
+        standby = new ReplicationStandby(standbyGames);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        network.shutdownNow();
+    }
+
+    private void startPrimary(ReplicationPrimary.AckMode ackMode, int capacity) {
+        primary = new ReplicationPrimary(() -> primaryGames, client, new String[] {STANDBY}, ackMode,
+                Duration.ofMillis(200), 16, 4, capacity);
+        primaryGames = new GameService(List.of(primary));
+    }
+
+    @Test
+    void streamsEveryChangeToStandby() throws InterruptedException {
+        startPrimary(ReplicationPrimary.AckMode.ASYNC, 1 << 16);
+        primary.start();
+
+        List<String> gameIds = playGames(50);
+        primaryGames.correctThrow(gameIds.get(2), "John", 1, 1, 3);
+        primaryGames.deleteGame(gameIds.get(1));
+
+        awaitCaughtUp();
+        assertSameGames();
+        assertFalse(standbyGames.getGameIds().contains(gameIds.get(1)));
+        ReplicationPrimary.StandbyStatus status = primary.status().standbys().get(0);
+        assertEquals(0, status.lagEvents());
+        assertEquals("streaming", status.state());
+    }
+
+    @Test
+    void sendsSnapshotOfExistingGamesThenStreams() throws InterruptedException {
+        startPrimary(ReplicationPrimary.AckMode.ASYNC, 1 << 16);
+        playGames(20);
+        // Left by an earlier primary, removed by the snapshot
+        standby.receive(new ReplicationSnapshot("earlier log", 0, true, true,
+                Map.of("42", List.of(TransferredEvent.of(new GameEvent.Created())))));
+
+        primary.start();
+        playGames(20);
+
+        awaitCaughtUp();
+        assertSameGames();
+        assertFalse(standbyGames.hasGame("42"));
+    }
+
+    @Test
+    void catchesUpAfterFailuresAndLogOverflow() throws InterruptedException {
+        startPrimary(ReplicationPrimary.AckMode.ASYNC, 64);
+        primary.start();
+        playGames(5);
+        awaitCaughtUp();
+
+        failingBatches.set(3);
+        playGames(10);
+        reachable = false;
+        playGames(20); // More entries than the log holds: a snapshot is needed
+        assertTrue(primary.status().standbys().get(0).lagEvents() > 0);
+        reachable = true;
+
+        awaitCaughtUp();
+        assertSameGames();
+    }
+
+    @Test
+    void synchronousChangesWaitForStandby() throws InterruptedException {
+        startPrimary(ReplicationPrimary.AckMode.SYNC, 1 << 16);
+        primary.start();
+        awaitCaughtUp(); // Initial snapshot
+
+        String gameId = playGames(1).get(0);
+
+        // Acknowledged before returning, so nothing is left to catch up
+        assertEquals(primaryGames.getGame(gameId).getVersion(), standbyGames.getGame(gameId).getVersion());
+        assertEquals(0, primary.status().syncTimeouts());
+
+        reachable = false;
+        primaryGames.addThrow(gameId, 1);
+        assertEquals(1, primary.status().syncTimeouts()); // Committed on the primary alone
+    }
+
+    @Test
+    void standbyHoldsBatchesAheadAndStopsOncePromoted() {
+        startPrimary(ReplicationPrimary.AckMode.ASYNC, 16); // Not started
+        standby.receive(new ReplicationSnapshot("log", 0, true, true, Map.of()));
+        ReplicationBatch created = new ReplicationBatch("log", 1, List.of(
+                new ReplicatedEvent("7", 0, TransferredEvent.of(new GameEvent.Created()))));
+        ReplicationBatch player = new ReplicationBatch("log", 2, List.of(
+                new ReplicatedEvent("7", 1, TransferredEvent.of(new GameEvent.PlayerAdded("John")))));
+
+        assertEquals(0, standby.receive(player));
+        assertEquals(1, standby.status().pendingBatches());
+        assertEquals(2, standby.receive(created));
+        assertEquals(2, standby.receive(created)); // Resent: already applied
+        assertEquals(List.of("John"), names(standbyGames.getGame("7")));
+        assertEquals(ReplicationStandby.SNAPSHOT_NEEDED, standby.receive(new ReplicationBatch("other", 1, List.of())));
+
+        assertThrows(StandbyNotPromotedException.class, () -> standbyGames.addPlayer("7", "Jane"));
+        assertThrows(StandbyNotPromotedException.class, () -> standbyGames.createGame());
+
+        assertEquals(2, standby.promote());
+        assertThrows(IllegalStateException.class, () -> standby.receive(player));
+        standbyGames.addPlayer("7", "Jane");
+        assertEquals(List.of("John", "Jane"), names(standbyGames.getGame("7")));
+    }
+
+    /**
+     * Plays games on the primary, each with a different number of throws.
+     */
+    private List<String> playGames(int count) {
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String gameId = primaryGames.createGame();
+            primaryGames.addPlayer(gameId, "John");
+            primaryGames.addPlayer(gameId, "Jane");
+            primaryGames.startGame(gameId);
+            for (int t = 0; t < i % 7; t++) {
+                primaryGames.addThrow(gameId, 4 + (i + t) % 2); // At most 14 pins per frame
+            }
+            gameIds.add(gameId);
+        }
+        return gameIds;
+    }
+
+    private void awaitCaughtUp() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            ReplicationPrimary.ReplicationStatus status = primary.status();
+            ReplicationPrimary.StandbyStatus standbyStatus = status.standbys().get(0);
+            if (standbyStatus.state().equals("streaming") && standbyStatus.ackedLsn() == status.lastLsn()) {
+                return;
+            }
+            assertTrue(System.nanoTime() < deadline, "Standby did not catch up: " + status);
+            Thread.sleep(5);
+        }
+    }
+
+    private void assertSameGames() {
+        assertEquals(primaryGames.getGameIds(), standbyGames.getGameIds());
+        for (String gameId : primaryGames.getGameIds()) {
+            Game expected = primaryGames.getGame(gameId);
+            Game actual = standbyGames.getGame(gameId);
+            assertEquals(expected.getVersion(), actual.getVersion());
+            assertEquals(expected.getThrowCount(), actual.getThrowCount());
+            assertEquals(names(expected), names(actual));
+            for (Player player : expected.getPlayers()) {
+                assertEquals(player.calculateScore(), actual.getPlayer(player.getName()).calculateScore());
+            }
+        }
+    }
+
+    private static List<String> names(Game game) {
+        List<String> names = new ArrayList<>();
+        for (Player player : game.getPlayers()) {
+            names.add(player.getName());
+        }
+        return names;
+    }
+
+    private static void sleepMicros(int micros) {
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
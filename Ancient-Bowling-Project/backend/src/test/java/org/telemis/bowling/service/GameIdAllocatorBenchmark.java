@@ -0,0 +1,69 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of game ID allocation by 64 threads opening games at once: a shared {@link AtomicLong},
+ * as {@code GameService} used to, against {@link GameIdAllocator}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class GameIdAllocatorBenchmark {
+    private static final int THREADS = 64;
+    private static final int IDS_PER_THREAD = 2_000_000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    void sharedCounter() throws InterruptedException {
+        AtomicLong counter = new AtomicLong();
+        run("AtomicLong", counter::incrementAndGet);
+    }
+
+    @Test
+    void blockAllocator() throws InterruptedException {
+        GameIdAllocator allocator = new GameIdAllocator(1, "benchmark");
+        run("GameIdAllocator", allocator::next);
+    }
+
+    private static void run(String name, LongSupplier ids) throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) { // The first rounds warm up
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(THREADS);
+            long[] checksums = new long[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                new Thread(() -> {
+                    try {
+                        start.await();
+                        long checksum = 0;
+                        for (int i = 0; i < IDS_PER_THREAD; i++) {
+                            checksum += ids.getAsLong();
+                        }
+                        checksums[thread] = checksum;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }).start();
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            assertTrue(done.await(5, TimeUnit.MINUTES), "IDs not allocated in time");
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            if (round == ROUNDS - 1) {
+                System.out.printf("BENCHMARK: %s, %d threads: %,.0f IDs/s (%.1f ns per ID per thread)%n",
+                        name, THREADS, THREADS * (double) IDS_PER_THREAD / seconds,
+                        seconds * 1e9 / IDS_PER_THREAD);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameIdAllocatorTest {
+
+    @Test
+    void shouldAllocateDistinctIdsAcrossThreads() throws InterruptedException {
+        GameIdAllocator allocator = new GameIdAllocator(3, "secret");
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    long id = allocator.next();
+                    assertTrue(id >= 0 && id < 1L << GameIdAllocator.ID_BITS, "Out of range: " + id);
+                    assertTrue(ids.add(id), "Duplicate: " + id);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(160_000, ids.size());
+        for (long id : ids) {
+            assertEquals(3, allocator.unscramble(id) >>> GameIdAllocator.SEQUENCE_BITS);
+        }
+    }
+
+    @Test
+    void shouldNotCollideBetweenNodesSharingSecret() {
+        GameIdAllocator node1 = new GameIdAllocator(1, "secret");
+        GameIdAllocator node2 = new GameIdAllocator(2, "secret");
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 3 * GameIdAllocator.BLOCK_SIZE; i++) {
+            assertTrue(ids.add(node1.next()));
+            assertTrue(ids.add(node2.next()));
+        }
+    }
+
+    @Test
+    void shouldScrambleConsecutiveIds() {
+        GameIdAllocator allocator = new GameIdAllocator(0, "secret");
+        long previous = allocator.next();
+        int close = 0;
+        for (int i = 0; i < 1000; i++) {
+            long id = allocator.next();
+            if (Math.abs(id - previous) < 1_000_000) {
+                close++;
+            }
+            previous = id;
+        }
+        assertTrue(close < 5, close + " consecutive IDs are close");
+
+        for (long value : new long[] {0, 1, 42, (1L << GameIdAllocator.ID_BITS) - 1}) {
+            assertEquals(value, allocator.unscramble(allocator.scramble(value)));
+        }
+        assertNotEquals(new GameIdAllocator(0, "other").scramble(1), allocator.scramble(1));
+    }
+
+    @Test
+    void shouldTellWhetherSecretIsShared() {
+        assertTrue(new GameIdAllocator(1, "secret").hasSharedSecret());
+        assertFalse(new GameIdAllocator(1, " ").hasSharedSecret());
+        assertFalse(new GameIdAllocator().hasSharedSecret());
+    }
+
+    @Test
+    void shouldRejectInvalidNode() {
+        assertThrows(IllegalArgumentException.class, () -> new GameIdAllocator(-1, ""));
+        assertThrows(IllegalArgumentException.class, () -> new GameIdAllocator(GameIdAllocator.MAX_NODE + 1, ""));
+    }
+}
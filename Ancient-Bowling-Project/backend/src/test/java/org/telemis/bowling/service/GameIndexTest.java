@@ -0,0 +1,105 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameIndexTest {
+    private GameIndex gameIndex;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        gameIndex = new GameIndex();
+        gameService = new GameService(List.of(gameIndex));
+    }
+
+    @Test
+    void shouldTrackStateTransitions() {
+        String gameId = gameService.createGame();
+        assertEquals(GameIndex.State.LOBBY, onlyGame(GameIndex.GameQuery.all()).state());
+
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        assertEquals(List.of("John", "Jane"), onlyGame(GameIndex.GameQuery.all()).players());
+        assertEquals(gameId, onlyGame(new GameIndex.GameQuery(GameIndex.State.IN_PROGRESS, null, null, null)).gameId());
+        assertTrue(list(new GameIndex.GameQuery(GameIndex.State.LOBBY, null, null, null)).isEmpty());
+
+        for (int i = 0; i < 10; i++) {
+            gameService.addThrow(gameId, 0);
+            gameService.addThrow(gameId, 0);
+            gameService.addThrow(gameId, 0);
+        }
+        assertEquals(gameId, onlyGame(new GameIndex.GameQuery(GameIndex.State.COMPLETE, null, null, null)).gameId());
+
+        gameService.deleteGame(gameId);
+        assertTrue(list(GameIndex.GameQuery.all()).isEmpty());
+        assertTrue(list(new GameIndex.GameQuery(null, "John", null, null)).isEmpty());
+    }
+
+    @Test
+    void shouldPageThroughMatchingGamesNewestFirst() {
+        List<String> johnGames = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String gameId = gameService.createGame();
+            gameService.addPlayer(gameId, i % 2 == 0 ? "John" : "Jane");
+            if (i % 2 == 0) {
+                johnGames.add(gameId);
+            }
+        }
+
+        List<GameIndex.GameSummary> games = new ArrayList<>();
+        String cursor = null;
+        do {
+            GameIndex.GamePage page = gameIndex.list(new GameIndex.GameQuery(null, "John", null, null), cursor, 2);
+            games.addAll(page.games());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Game IDs are not sequential: games created at the same instant come in any order, but only once
+        assertEquals(Set.copyOf(johnGames), games.stream().map(GameIndex.GameSummary::gameId).collect(Collectors.toSet()));
+        assertEquals(johnGames.size(), games.size());
+        for (int i = 1; i < games.size(); i++) {
+            assertFalse(games.get(i).createdAt().isAfter(games.get(i - 1).createdAt()));
+        }
+    }
+
+    @Test
+    void shouldFilterByCreationTime() {
+        Instant start = Instant.parse("2024-01-01T20:00:00Z");
+        for (int i = 0; i < 5; i++) {
+            gameIndex.onGameCreated(String.valueOf(i), start.plusSeconds(i * 60L));
+        }
+
+        var query = new GameIndex.GameQuery(null, null, start.plusSeconds(60), start.plusSeconds(240));
+        List<String> gameIds = list(query).stream().map(GameIndex.GameSummary::gameId).toList();
+
+        assertEquals(List.of("3", "2", "1"), gameIds);
+    }
+
+    @Test
+    void shouldRejectInvalidCursorAndLimit() {
+        assertThrows(IllegalArgumentException.class, () -> gameIndex.list(GameIndex.GameQuery.all(), "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> gameIndex.list(GameIndex.GameQuery.all(), null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> gameIndex.list(GameIndex.GameQuery.all(), null, GameIndex.MAX_LIMIT + 1));
+    }
+
+    private List<GameIndex.GameSummary> list(GameIndex.GameQuery query) {
+        return gameIndex.list(query, null, GameIndex.MAX_LIMIT).games();
+    }
+
+    private GameIndex.GameSummary onlyGame(GameIndex.GameQuery query) {
+        List<GameIndex.GameSummary> games = list(query);
+        assertEquals(1, games.size());
+        return games.get(0);
+    }
+}
@@ -0,0 +1,83 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.model.Game;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Heap per game and lookup latency of the game map with 1M games: a {@code ConcurrentHashMap<String, Game>},
+ * as {@code GameService} used to, against {@link GameMap}. Every entry maps to the same game, so only
+ * the overhead of the map and its keys is measured. Lookups take a fresh ID string, as parsed from a request path.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class GameMapBenchmark {
+    private static final int GAMES = 1_000_000;
+    private static final int LOOKUPS = 2_000_000;
+    private static final int ROUNDS = 5;
+    private static final Game GAME = new Game();
+
+    @Test
+    void stringKeyedMap() {
+        long[] ids = ids();
+        long before = usedHeap();
+        Map<String, Game> map = new ConcurrentHashMap<>();
+        for (long id : ids) {
+            map.put(String.valueOf(id), GAME);
+        }
+        report("ConcurrentHashMap<String, Game>", usedHeap() - before, ids, map::get);
+    }
+
+    @Test
+    void primitiveMap() {
+        long[] ids = ids();
+        long before = usedHeap();
+        GameMap map = new GameMap();
+        for (long id : ids) {
+            map.putIfAbsent(id, GAME);
+        }
+        report("GameMap", usedHeap() - before, ids, gameId -> map.get(GameService.parseGameId(gameId)));
+    }
+
+    private static long[] ids() {
+        GameIdAllocator allocator = new GameIdAllocator(1, "benchmark");
+        long[] ids = new long[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            ids[i] = allocator.next();
+        }
+        return ids;
+    }
+
+    private static void report(String name, long bytes, long[] ids, Function<String, Game> lookup) {
+        Random random = new Random(42);
+        double nanos = 0;
+        for (int round = 0; round < ROUNDS; round++) { // The first rounds warm up
+            String[] gameIds = new String[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                gameIds[i] = String.valueOf(ids[random.nextInt(GAMES)]);
+            }
+            long begin = System.nanoTime();
+            for (String gameId : gameIds) {
+                assertSame(GAME, lookup.apply(gameId));
+            }
+            nanos = (System.nanoTime() - begin) / (double) LOOKUPS;
+        }
+        System.out.printf("BENCHMARK: %s, %,d games: %.1f bytes per game, %.1f ns per lookup%n",
+                name, GAMES, bytes / (double) GAMES, nanos);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
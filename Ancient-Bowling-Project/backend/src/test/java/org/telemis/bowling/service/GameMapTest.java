@@ -0,0 +1,150 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.model.Game;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMapTest {
+
+    @Test
+    void shouldAddFindAndRemoveGames() {
+        GameMap map = new GameMap(4);
+        Game game = new Game();
+
+        assertNull(map.putIfAbsent(7, game));
+        assertSame(game, map.putIfAbsent(7, new Game()));
+        assertSame(game, map.get(7));
+        assertTrue(map.containsKey(7));
+        assertNull(map.get(8));
+        assertEquals(1, map.size());
+
+        assertSame(game, map.remove(7));
+        assertNull(map.remove(7));
+        assertNull(map.get(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void shouldKeepEveryGameThroughResizesAndRemovals() {
+        GameMap map = new GameMap(2);
+        Map<Long, Game> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long id = random.nextInt(20_000); // Dense keys, so that runs of slots form and get shifted back
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(id), map.remove(id));
+            } else {
+                Game game = new Game();
+                Game previous = expected.putIfAbsent(id, game);
+                assertSame(previous, map.putIfAbsent(id, game));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long id = 0; id < 20_000; id++) {
+            assertSame(expected.get(id), map.get(id), "Game " + id);
+        }
+        assertEquals(expected.keySet(), new HashSet<>(map.keys()));
+        assertEquals(expected.size(), map.values().size());
+    }
+
+    @Test
+    void shouldFindGamesWhileOthersAreAddedAndRemoved() throws Exception {
+        GameMap map = new GameMap(4);
+        Game stable = new Game();
+        for (long id = 0; id < 1000; id += 2) {
+            map.putIfAbsent(id, stable);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = List.of(
+                    executor.submit(() -> churn(map, 1)),
+                    executor.submit(() -> churn(map, 3)),
+                    executor.submit(() -> {
+                        for (int round = 0; round < 200; round++) {
+                            for (long id = 0; id < 1000; id += 2) {
+                                assertSame(stable, map.get(id), "Game " + id);
+                            }
+                        }
+                    }));
+            for (Future<?> task : tasks) {
+                task.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(500, map.size());
+    }
+
+    /**
+     * Adds and removes odd IDs, so that even ones keep moving between slots and tables.
+     */
+    private static void churn(GameMap map, long first) {
+        for (int round = 0; round < 50; round++) {
+            for (long id = first; id < 100_000; id += 4) {
+                map.putIfAbsent(id, new Game());
+            }
+            for (long id = first; id < 100_000; id += 4) {
+                assertNotNull(map.remove(id));
+            }
+        }
+    }
+
+    @Test
+    void shouldLookUpGamesWhileTheirStripeIsResized() throws Exception {
+        AtomicReference<GameMap> current = new AtomicReference<>(new GameMap(1));
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Runnable reader = () -> {
+                Random random = new Random();
+                while (!done.get()) {
+                    GameMap map = current.get();
+                    long id = random.nextInt(8192);
+                    Game game = map.get(id);
+                    assertTrue(game == null || map.containsKey(id) || current.get() != map, "Game " + id);
+                }
+            };
+            List<Future<?>> readers = List.of(executor.submit(reader), executor.submit(reader));
+            Future<?> writer = executor.submit(() -> {
+                try {
+                    // A single stripe, grown from its initial capacity again and again
+                    for (int round = 0; round < 200; round++) {
+                        GameMap map = new GameMap(1);
+                        current.set(map);
+                        for (long id = 0; id < 4096; id++) {
+                            map.putIfAbsent(id, new Game());
+                        }
+                    }
+                } finally {
+                    done.set(true);
+                }
+            });
+            writer.get(1, TimeUnit.MINUTES);
+            for (Future<?> task : readers) {
+                task.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRejectStripeCountNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new GameMap(3));
+        assertThrows(IllegalArgumentException.class, () -> new GameMap(0));
+    }
+}
@@ -0,0 +1,218 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of {@link GameService} called directly, without HTTP, by 1 to 32 threads, to see how it scales
+ * with cores. Threads run a mix of game creations, throws, game reads and scoreboards on a pool of games,
+ * either picked uniformly or with half of the operations on a single hot game.
+ * <p>
+ * Each point prints its throughput and the contention counters of the service, see
+ * {@link GameService.ContentionStatistics}, and is flagged when threads waited for a game lock on a share above
+ * {@value #CONTENDED_LOCK_THRESHOLD} of the acquisitions or when the throughput per processor in use fell below
+ * half of the single-thread one. The curves are plotted as text and written as CSV to
+ * {@code target/benchmarks/game-service-scalability.csv}. Run with {@code mvn test -Pbenchmark}; the duration
+ * of a point is set by {@code -Dbenchmark.scalability.seconds}. Beyond the available processors, threads
+ * share cores and the curve shows oversubscription rather than contention.
+ * </p>
+ */
+@Tag("benchmark")
+class GameServiceScalabilityBenchmark {
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+    private static final int GAMES = 1024;
+    private static final int PLAYERS = 4;
+    private static final double HOT_GAME_SHARE = 0.5;
+    private static final double CONTENDED_LOCK_THRESHOLD = 0.01;
+    private static final long WARM_UP_MILLIS = 1_000;
+
+    // Operation mix, in percent
+    private static final int CREATE_GAME = 5;
+    private static final int ADD_THROW = 45;
+    private static final int GET_GAME = 25; // The rest are scoreboards
+
+    enum Distribution {
+        UNIFORM, SKEWED
+    }
+
+    @Test
+    void scalabilityCurve() throws Exception {
+        long measureMillis = TimeUnit.SECONDS.toMillis(Long.getLong("benchmark.scalability.seconds", 3));
+        System.out.printf("BENCHMARK: %d available processors%n", Runtime.getRuntime().availableProcessors());
+        run(Distribution.UNIFORM, THREADS[THREADS.length - 1], measureMillis); // Compiles the code before the first point
+        List<Point> points = new ArrayList<>();
+        for (Distribution distribution : Distribution.values()) {
+            double singleThread = 0;
+            for (int threads : THREADS) {
+                Point point = run(distribution, threads, measureMillis);
+                if (threads == 1) {
+                    singleThread = point.throughput();
+                }
+                points.add(point);
+                System.out.printf("BENCHMARK: %-7s %2d threads: %,12.0f ops/s, %4.2fx, locks contended %6.3f%%, "
+                                + "lookups retried %,d, map writes contended %,d%s%n",
+                        distribution, threads, point.throughput(), point.throughput() / singleThread,
+                        100 * point.contention().contendedLockRatio(), point.contention().optimisticReadRetries(),
+                        point.contention().contendedMapWrites(), flag(point, singleThread));
+            }
+        }
+        System.out.print(plot(points));
+        Path csv = writeCsv(points);
+        System.out.println("BENCHMARK: results written to " + csv.toAbsolutePath());
+        assertTrue(points.stream().allMatch(point -> point.throughput() > 0), "No operation completed");
+    }
+
+    private static Point run(Distribution distribution, int threads, long measureMillis) throws InterruptedException {
+        GameService gameService = new GameService();
+        AtomicReferenceArray<String> games = new AtomicReferenceArray<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            games.set(i, newGame(gameService));
+        }
+
+        long[] operations = new long[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(WARM_UP_MILLIS);
+        long measureUntil = measureFrom + TimeUnit.MILLISECONDS.toNanos(measureMillis);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            new Thread(() -> {
+                try {
+                    operations[thread] = work(gameService, games, distribution, measureFrom, measureUntil);
+                } finally {
+                    done.countDown();
+                }
+            }, "scalability-" + t).start();
+        }
+        TimeUnit.NANOSECONDS.sleep(measureFrom - System.nanoTime());
+        GameService.ContentionStatistics atMeasureStart = gameService.getContentionStatistics();
+        assertTrue(done.await(measureMillis + 60_000, TimeUnit.MILLISECONDS), "Threads not done in time");
+        GameService.ContentionStatistics contention = gameService.getContentionStatistics().since(atMeasureStart);
+
+        long total = 0;
+        for (long count : operations) {
+            total += count;
+        }
+        return new Point(distribution, threads, total * 1e3 / measureMillis, contention);
+    }
+
+    /**
+     * Runs operations until the end of the measurement.
+     *
+     * @return the number of operations completed during the measurement
+     */
+    private static long work(GameService gameService, AtomicReferenceArray<String> games, Distribution distribution,
+                             long measureFrom, long measureUntil) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long operations = 0;
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= measureUntil) {
+                return operations;
+            }
+            int slot = distribution == Distribution.SKEWED && random.nextDouble() < HOT_GAME_SHARE
+                    ? 0
+                    : random.nextInt(GAMES);
+            String gameId = games.get(slot);
+            int operation = random.nextInt(100);
+            try {
+                if (operation < CREATE_GAME) {
+                    int replaced = random.nextInt(1, GAMES); // The hot game stays until complete
+                    replace(gameService, games, replaced, games.get(replaced));
+                } else if (operation < CREATE_GAME + ADD_THROW) {
+                    try {
+                        gameService.addThrow(gameId, random.nextInt(5)); // Three throws never knock down 15 pins
+                    } catch (IllegalStateException e) {
+                        replace(gameService, games, slot, gameId); // Game complete
+                    }
+                } else if (operation < CREATE_GAME + ADD_THROW + GET_GAME) {
+                    gameService.getGame(gameId);
+                } else {
+                    gameService.forkGame(gameId).getScoreboard();
+                }
+            } catch (IllegalArgumentException e) {
+                // Game replaced by another thread in the meantime
+            }
+            if (now >= measureFrom) {
+                operations++;
+            }
+        }
+    }
+
+    /**
+     * Replaces the game of a slot by a new game, unless another thread already did.
+     */
+    private static void replace(GameService gameService, AtomicReferenceArray<String> games, int slot, String expected) {
+        String created = newGame(gameService);
+        if (games.compareAndSet(slot, expected, created)) {
+            gameService.deleteGame(expected);
+        } else {
+            gameService.deleteGame(created);
+        }
+    }
+
+    private static String newGame(GameService gameService) {
+        String gameId = gameService.createGame();
+        for (int p = 1; p <= PLAYERS; p++) {
+            gameService.addPlayer(gameId, "Player " + p);
+        }
+        gameService.startGame(gameId);
+        return gameId;
+    }
+
+    private static String flag(Point point, double singleThread) {
+        List<String> flags = new ArrayList<>();
+        if (point.contention().contendedLockRatio() > CONTENDED_LOCK_THRESHOLD) {
+            flags.add("game locks");
+        }
+        // Threads beyond the processors cannot add throughput, the expected speedup stops there
+        int parallelism = Math.min(point.threads(), Runtime.getRuntime().availableProcessors());
+        if (parallelism > 1 && point.throughput() / parallelism < singleThread / 2) {
+            flags.add("throughput per processor halved");
+        }
+        return flags.isEmpty() ? "" : "  <- CONTENTION: " + String.join(", ", flags);
+    }
+
+    /**
+     * Draws one bar per point, scaled to the highest throughput.
+     */
+    private static String plot(List<Point> points) {
+        double max = points.stream().mapToDouble(Point::throughput).max().orElse(1);
+        StringBuilder plot = new StringBuilder();
+        for (Point point : points) {
+            plot.append(String.format("BENCHMARK: %-7s %2d | %-50s %,.0f ops/s%n", point.distribution(), point.threads(),
+                    "#".repeat((int) Math.round(50 * point.throughput() / max)), point.throughput()));
+        }
+        return plot.toString();
+    }
+
+    private static Path writeCsv(List<Point> points) throws IOException {
+        Path csv = Path.of("target", "benchmarks", "game-service-scalability.csv");
+        Files.createDirectories(csv.getParent());
+        List<String> lines = new ArrayList<>();
+        lines.add("distribution,threads,ops_per_second,lock_acquisitions,contended_locks,optimistic_read_retries,"
+                + "contended_map_writes");
+        for (Point point : points) {
+            GameService.ContentionStatistics contention = point.contention();
+            lines.add(String.format("%s,%d,%.0f,%d,%d,%d,%d", point.distribution(), point.threads(), point.throughput(),
+                    contention.lockAcquisitions(), contention.contendedLocks(), contention.optimisticReadRetries(),
+                    contention.contendedMapWrites()));
+        }
+        return Files.write(csv, lines);
+    }
+
+    private record Point(Distribution distribution, int threads, double throughput,
+                         GameService.ContentionStatistics contention) {}
+}
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.telemis.bowling.model.Game;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameServiceTest {
@@ -56,4 +60,175 @@ class GameServiceTest {
         assertThrows(IllegalArgumentException.class,
             () -> gameService.addPlayer(gameId, "John"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldProjectNextThrowsWithoutChangingGame() {
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        assertThrows(IllegalStateException.class, () -> gameService.projectNextThrows(gameId));
+
+        gameService.startGame(gameId);
+        gameService.addThrow(gameId, 15);
+
+        var projections = gameService.projectNextThrows(gameId);
+        assertEquals(16, projections.size());
+        assertEquals("Jane", projections.get(0).playerName());
+
+        Game game = gameService.getGame(gameId);
+        assertEquals("Jane", game.getCurrentPlayer().getName());
+        assertTrue(game.getCurrentPlayer().getCurrentFrame().getThrows().isEmpty());
+    }
+
+    @Test
+    void shouldAcknowledgeResentThrowWithoutRecordingItTwice() {
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+
+        assertTrue(gameService.addThrow(gameId, 10, 1));
+        assertFalse(gameService.addThrow(gameId, 10, 1)); // Resent after a timeout
+        assertTrue(gameService.addThrow(gameId, 5, 2));
+
+        Game game = gameService.getGame(gameId);
+        assertEquals(2, game.getThrowCount());
+        assertEquals(15, game.getPlayers().get(0).calculateScore());
+    }
+
+    @Test
+    void shouldReportGapInThrowSequence() {
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        gameService.addThrow(gameId, 10, 1);
+
+        ThrowSequenceGapException gap = assertThrows(ThrowSequenceGapException.class,
+                () -> gameService.addThrow(gameId, 5, 3));
+
+        assertEquals(2, gap.getExpectedSequence());
+        assertEquals(3, gap.getReceivedSequence());
+        assertEquals(1, gameService.getGame(gameId).getThrowCount());
+        assertThrows(IllegalArgumentException.class, () -> gameService.addThrow(gameId, 5, 0));
+    }
+
+    @Test
+    void shouldCountContendedGameLocks() throws InterruptedException {
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        GameService.ContentionStatistics before = gameService.getContentionStatistics();
+        assertEquals(0, before.contendedLocks());
+
+        Game game = gameService.getGame(gameId);
+        Thread thrower = new Thread(() -> gameService.addThrow(gameId, 5));
+        game.lock().lock();
+        try {
+            thrower.start();
+            while (!game.lock().hasQueuedThread(thrower)) {
+                Thread.onSpinWait();
+            }
+        } finally {
+            game.lock().unlock();
+        }
+        thrower.join();
+
+        GameService.ContentionStatistics contention = gameService.getContentionStatistics().since(before);
+        assertEquals(1, contention.lockAcquisitions());
+        assertEquals(1, contention.contendedLocks());
+        assertEquals(1.0, contention.contendedLockRatio());
+        assertEquals(1, game.getThrowCount());
+    }
+
+    @Test
+    void shouldCorrectThrowAndPublishIt() {
+        List<GameEventListener.ThrowCorrectedEvent> corrections = new ArrayList<>();
+        gameService = new GameService(List.of(new GameEventListener() {
+            @Override
+            public void onThrowCorrected(ThrowCorrectedEvent event) {
+                corrections.add(event);
+            }
+        }));
+        gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        gameService.addThrow(gameId, 10);
+
+        gameService.correctThrow(gameId, "John", 1, 1, 12);
+
+        assertEquals(List.of(new GameEventListener.ThrowCorrectedEvent(gameId, "John", 1, 1, 10, 12, 12, 10,
+                false, null, null)), corrections);
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> gameService.correctThrow(gameId, "John", 1, 1, 15));
+        assertTrue(exception.getMessage().startsWith("Failed to correct throw: Correction rejected"));
+        assertEquals(12, gameService.getGame(gameId).getPlayer("John").calculateScore());
+    }
+
+    @Test
+    void shouldGetGameAtPastVersion() {
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        gameService.addThrow(gameId, 10);
+        gameService.addThrow(gameId, 5);
+
+        Game past = gameService.getGameAt(gameId, 4);
+
+        assertEquals(4, past.getVersion());
+        assertEquals(10, past.getPlayer("John").calculateScore());
+        assertEquals(15, gameService.getGame(gameId).getPlayer("John").calculateScore());
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGameAt(gameId, 6));
+    }
+
+    @Test
+    void shouldImportGameFromEvents() {
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        gameService.addThrow(gameId, 10);
+        GameService otherNode = new GameService();
+
+        otherNode.importGame(gameId, gameService.getGame(gameId).eventsSince(0));
+
+        Game imported = otherNode.getGame(gameId);
+        assertEquals(4, imported.getVersion());
+        assertEquals(10, imported.getPlayer("John").calculateScore());
+        assertEquals("John", imported.getCurrentPlayer().getName()); // Second throw of the frame
+        assertThrows(IllegalArgumentException.class,
+                () -> otherNode.importGame(gameId, gameService.getGame(gameId).eventsSince(0)));
+        assertThrows(IllegalArgumentException.class, () -> gameService.createGame(gameId));
+    }
+
+    @Test
+    void shouldOnlyPublishCreationOfTheGameRegistered() {
+        List<String> created = new ArrayList<>();
+        gameService = new GameService(List.of(new GameEventListener() {
+            @Override
+            public void onGameCreated(String gameId, Instant createdAt) {
+                created.add(gameId);
+                if (created.size() == 1) {
+                    gameService.createGame(gameId); // Same ID created meanwhile, rejected
+                }
+            }
+        }));
+
+        gameService.createGame("42");
+
+        assertEquals(List.of("42"), created);
+        assertTrue(gameService.hasGame("42"));
+    }
+
+    @Test
+    void shouldOnlyAcceptCanonicalNumericGameIds() {
+        gameService.createGame("42");
+
+        assertTrue(gameService.hasGame("42"));
+        assertTrue(gameService.getGameIds().contains("42"));
+        for (String invalid : List.of("", "abc", "-42", "042", "+42", "4 2", "9223372036854775808")) {
+            assertThrows(IllegalArgumentException.class, () -> gameService.createGame(invalid), invalid);
+            assertFalse(gameService.hasGame(invalid), invalid);
+            assertThrows(IllegalArgumentException.class, () -> gameService.getGame(invalid), invalid);
+        }
+        gameService.deleteGame("42");
+        assertFalse(gameService.hasGame("42"));
+    }
+}
@@ -0,0 +1,153 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.service.LeaderboardService.Window;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardServiceTest {
+    private MutableClock clock;
+    private LeaderboardService leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-03-04T19:00:00Z"));
+        leaderboard = new LeaderboardService(clock);
+    }
+
+    @Test
+    void shouldKeepLatestScoreOfEachPlayer() {
+        score("1", "John", 15);
+        score("1", "Jane", 7);
+        score("1", "John", 30);
+        score("2", "Bob", 20);
+
+        var top = leaderboard.top(Window.TONIGHT, 10);
+        assertEquals(3, top.size());
+        assertEquals("John", top.get(0).playerName());
+        assertEquals(30, top.get(0).score());
+        assertEquals("Bob", top.get(1).playerName());
+        assertEquals("Jane", top.get(2).playerName());
+
+        assertEquals(2, leaderboard.top(Window.TONIGHT, 2).size());
+    }
+
+    @Test
+    void shouldRankBestScoreOfPlayer() {
+        score("1", "John", 40);
+        score("1", "Jane", 25);
+        score("2", "Jane", 10);
+        score("2", "Bob", 25);
+
+        var jane = leaderboard.rank("Jane", Window.TONIGHT).orElseThrow();
+        assertEquals(25, jane.score());
+        assertEquals("1", jane.gameId());
+        assertEquals(2, jane.rank());
+        assertEquals(4, jane.entries());
+
+        assertEquals(2, leaderboard.rank("Bob", Window.TONIGHT).orElseThrow().rank()); // Tie with Jane
+        assertEquals(1, leaderboard.rank("John", Window.TONIGHT).orElseThrow().rank());
+        assertTrue(leaderboard.rank("Nobody", Window.TONIGHT).isEmpty());
+    }
+
+    @Test
+    void shouldSeparateTonightFromWeek() {
+        score("1", "John", 50);
+        clock.advance(Duration.ofDays(1));
+        score("2", "Jane", 20);
+
+        assertEquals(1, leaderboard.top(Window.TONIGHT, 10).size());
+        assertEquals("Jane", leaderboard.top(Window.TONIGHT, 10).get(0).playerName());
+        assertEquals("John", leaderboard.top(Window.WEEK, 10).get(0).playerName());
+        assertEquals(2, leaderboard.rank("Jane", Window.WEEK).orElseThrow().rank());
+
+        clock.advance(Duration.ofDays(7));
+        assertTrue(leaderboard.top(Window.WEEK, 10).isEmpty());
+    }
+
+    @Test
+    void shouldKeepGameAcrossMidnightOnItsFirstDay() {
+        score("1", "John", 15);
+        clock.advance(Duration.ofHours(6)); // 01:00 the next day
+        score("1", "John", 45);
+
+        assertTrue(leaderboard.top(Window.TONIGHT, 10).isEmpty());
+        var week = leaderboard.top(Window.WEEK, 10);
+        assertEquals(1, week.size());
+        assertEquals(45, week.get(0).score());
+    }
+
+    @Test
+    void shouldReplaceScoreOfThrowCorrectedInCompletedGame() {
+        GameService gameService = new GameService(List.of(leaderboard));
+        String gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        // John plays five open frames of 12 pins, Jane only strikes
+        for (int frame = 0; frame < 5; frame++) {
+            gameService.addThrow(gameId, 3);
+            gameService.addThrow(gameId, 4);
+            gameService.addThrow(gameId, 5);
+            gameService.addThrow(gameId, 15);
+        }
+        gameService.addThrow(gameId, 15);
+        gameService.addThrow(gameId, 15);
+        gameService.addThrow(gameId, 15);
+        assertTrue(gameService.getGame(gameId).isGameComplete());
+        assertEquals(60, leaderboard.rank("John", Window.TONIGHT).orElseThrow().score());
+
+        gameService.correctThrow(gameId, "John", 2, 1, 5);
+
+        var top = leaderboard.top(Window.TONIGHT, 10);
+        assertEquals(2, top.size());
+        assertEquals("John", top.get(1).playerName());
+        assertEquals(62, top.get(1).score());
+        assertEquals(62, leaderboard.rank("John", Window.TONIGHT).orElseThrow().score());
+    }
+
+    @Test
+    void shouldRejectInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.top(Window.TONIGHT, 0));
+    }
+
+    private void score(String gameId, String playerName, int score) {
+        leaderboard.onThrow(new GameEventListener.ThrowEvent(gameId, playerName, 1, 0, 15, 0,
+                false, false, false, score));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerLocatorTest {
+    private PlayerLocator playerLocator;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        playerLocator = new PlayerLocator();
+        gameService = new GameService(List.of(playerLocator));
+    }
+
+    @Test
+    void shouldFindActiveGamesIgnoringCaseAndAccents() {
+        String first = startGame("Zoé", "Alice");
+        String second = startGame("Alice", "Bob");
+
+        assertEquals(List.of(new PlayerLocator.PlayerLocation("Zoé", first)), playerLocator.find("  ZOE "));
+        assertEquals(2, playerLocator.find("alice").size());
+        assertTrue(playerLocator.find("Carol").isEmpty());
+
+        gameService.deleteGame(first);
+        assertEquals(List.of(new PlayerLocator.PlayerLocation("Alice", second)), playerLocator.find("Alice"));
+        assertTrue(playerLocator.find("Zoe").isEmpty());
+    }
+
+    @Test
+    void shouldForgetCompletedGames() {
+        String gameId = startGame("Alice", "Bob");
+        for (int i = 0; i < 30; i++) {
+            gameService.addThrow(gameId, 0);
+        }
+
+        assertTrue(gameService.getGame(gameId).isGameComplete());
+        assertTrue(playerLocator.find("Alice").isEmpty());
+    }
+
+    @Test
+    void shouldSearchByPrefixInAlphabeticalOrder() {
+        String first = startGame("Alicia", "Bob");
+        String second = startGame("alfred", "Alice");
+
+        List<PlayerLocator.PlayerLocation> found = playerLocator.search("AL", 10);
+
+        assertEquals(List.of(new PlayerLocator.PlayerLocation("alfred", second),
+                new PlayerLocator.PlayerLocation("Alice", second),
+                new PlayerLocator.PlayerLocation("Alicia", first)), found);
+        assertEquals(2, playerLocator.search("al", 2).size());
+        assertTrue(playerLocator.search("alz", 10).isEmpty());
+    }
+
+    @Test
+    void shouldRejectInvalidSearch() {
+        assertThrows(IllegalArgumentException.class, () -> playerLocator.search(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> playerLocator.search("al", 0));
+    }
+
+    private String startGame(String... playerNames) {
+        String gameId = gameService.createGame();
+        for (String playerName : playerNames) {
+            gameService.addPlayer(gameId, playerName);
+        }
+        gameService.startGame(gameId);
+        return gameId;
+    }
+}
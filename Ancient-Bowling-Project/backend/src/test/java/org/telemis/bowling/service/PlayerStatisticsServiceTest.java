@@ -0,0 +1,116 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerStatisticsServiceTest {
+    private PlayerStatisticsService statisticsService;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService = new PlayerStatisticsService();
+        gameService = new GameService(List.of(statisticsService));
+    }
+
+    @Test
+    void shouldAggregateCompletedGames() {
+        playGame(3, 4, 5);
+        playGame(5, 5, 4);
+
+        var john = statisticsService.getStatistics("John").orElseThrow();
+        assertEquals(2, john.gamesPlayed());
+        assertEquals(60 + 70, john.totalScore());
+        assertEquals(70, john.highGame());
+        assertEquals(65.0, john.getAverage());
+        assertEquals(10, john.frames());
+        assertEquals(13.0, john.getAveragePinsPerFrame());
+        assertEquals(0.0, john.getStrikeRate());
+        assertEquals(0.0, john.getSpareRate());
+
+        var jane = statisticsService.getStatistics("Jane").orElseThrow();
+        assertEquals(2, jane.gamesPlayed());
+        assertEquals(300, jane.highGame());
+        assertEquals(300.0, jane.getAverage());
+        assertEquals(1.0, jane.getStrikeRate());
+        assertEquals(24.0, jane.getAveragePinsPerFrame()); // Bonus throws of the last frame included
+
+        assertTrue(statisticsService.getStatistics("Nobody").isEmpty());
+    }
+
+    @Test
+    void shouldCountFramesBeforeTheGameIsCompleted() {
+        String gameId = startGame();
+        gameService.addThrow(gameId, 10); // John spare
+        gameService.addThrow(gameId, 5);
+        gameService.addThrow(gameId, 15); // Jane strike
+
+        var john = statisticsService.getStatistics("John").orElseThrow();
+        assertEquals(0, john.gamesPlayed());
+        assertEquals(0.0, john.getAverage());
+        assertEquals(1, john.frames());
+        assertEquals(1, john.spares());
+        assertEquals(1.0, john.getSpareRate());
+        assertEquals(1, statisticsService.getStatistics("Jane").orElseThrow().strikes());
+    }
+
+    @Test
+    void shouldReplaceFrameAndFinalScoreOfCorrectedThrow() {
+        String gameId = playGame(3, 4, 5);
+
+        gameService.correctThrow(gameId, "John", 1, 1, 1);
+
+        var john = statisticsService.getStatistics("John").orElseThrow();
+        assertEquals(1, john.gamesPlayed());
+        assertEquals(58, john.totalScore());
+        assertEquals(60, john.highGame()); // Never lowered
+        assertEquals(5, john.frames());
+        assertEquals(58, john.framePins());
+        assertEquals(0, john.spares());
+    }
+
+    @Test
+    void shouldRestoreSnapshot() {
+        playGame(3, 4, 5);
+        var snapshot = statisticsService.snapshot();
+
+        PlayerStatisticsService restored = new PlayerStatisticsService();
+        restored.restore(snapshot);
+        restored.restore(snapshot);
+
+        var john = restored.getStatistics("John").orElseThrow();
+        assertEquals(2, john.gamesPlayed());
+        assertEquals(60, john.highGame());
+        assertEquals(10, john.frames());
+    }
+
+    private String startGame() {
+        String gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        return gameId;
+    }
+
+    /**
+     * John plays the same open frame five times, Jane only strikes.
+     */
+    private String playGame(int first, int second, int third) {
+        String gameId = startGame();
+        for (int frame = 0; frame < 5; frame++) {
+            gameService.addThrow(gameId, first);
+            gameService.addThrow(gameId, second);
+            gameService.addThrow(gameId, third);
+            gameService.addThrow(gameId, 15);
+        }
+        gameService.addThrow(gameId, 15);
+        gameService.addThrow(gameId, 15);
+        gameService.addThrow(gameId, 15);
+        assertTrue(gameService.getGame(gameId).isGameComplete());
+        return gameId;
+    }
+}
@@ -0,0 +1,47 @@
+package org.telemis.bowling.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsCheckpointerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRestoreLastCheckpoint() {
+        PlayerStatisticsService statisticsService = new PlayerStatisticsService();
+        ThrowDistributionEstimator estimator = new ThrowDistributionEstimator();
+        GameService gameService = new GameService(List.of(statisticsService, estimator));
+        String gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        gameService.addThrow(gameId, 15);
+
+        new StatisticsCheckpointer(statisticsService, estimator, new ObjectMapper(), directory).checkpoint();
+        assertTrue(Files.exists(directory.resolve(StatisticsCheckpointer.FILE_NAME)));
+
+        PlayerStatisticsService restoredStatistics = new PlayerStatisticsService();
+        ThrowDistributionEstimator restoredEstimator = new ThrowDistributionEstimator();
+        new StatisticsCheckpointer(restoredStatistics, restoredEstimator, new ObjectMapper(), directory).restore();
+
+        assertEquals(1, restoredStatistics.getStatistics("John").orElseThrow().strikes());
+        assertEquals(1, restoredEstimator.getStatistics("John").orElseThrow().firstThrow()[15]);
+    }
+
+    @Test
+    void shouldStartEmptyWithoutCheckpoint() {
+        PlayerStatisticsService statisticsService = new PlayerStatisticsService();
+        new StatisticsCheckpointer(statisticsService, new ThrowDistributionEstimator(), new ObjectMapper(), directory)
+                .restore();
+
+        assertTrue(statisticsService.snapshot().isEmpty());
+    }
+}
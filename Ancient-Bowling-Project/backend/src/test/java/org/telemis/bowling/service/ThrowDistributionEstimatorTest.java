@@ -0,0 +1,113 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThrowDistributionEstimatorTest {
+    private ThrowDistributionEstimator estimator;
+    private GameService gameService;
+    private String gameId;
+
+    @BeforeEach
+    void setUp() {
+        estimator = new ThrowDistributionEstimator();
+        gameService = new GameService(List.of(estimator));
+        gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+    }
+
+    @Test
+    void shouldRecordEveryThrow() {
+        gameService.addThrow(gameId, 15); // John strike
+        gameService.addThrow(gameId, 5);  // Jane spare
+        gameService.addThrow(gameId, 10);
+        gameService.addThrow(gameId, 3);  // John open frame
+        gameService.addThrow(gameId, 4);
+        gameService.addThrow(gameId, 5);
+
+        var john = estimator.getStatistics("John").orElseThrow();
+        assertEquals(1, john.firstThrow()[15]);
+        assertEquals(1, john.firstThrow()[3]);
+        assertEquals(1, john.secondThrow()[12][4]);
+        assertEquals(1, john.thirdThrow()[8][5]);
+        assertEquals(0.5, john.getStrikeRate());
+        assertEquals(0.0, john.getSpareRate());
+
+        var jane = estimator.getStatistics("Jane").orElseThrow();
+        assertEquals(1, jane.secondThrow()[10][10]);
+        assertEquals(0.0, jane.getStrikeRate());
+        assertEquals(1.0, jane.getSpareRate());
+
+        assertTrue(estimator.getStatistics("Nobody").isEmpty());
+    }
+
+    @Test
+    void shouldNotRecordRejectedThrows() {
+        gameService.addThrow(gameId, 10);
+        assertThrows(IllegalArgumentException.class, () -> gameService.addThrow(gameId, 6));
+
+        var john = estimator.getStatistics("John").orElseThrow();
+        assertEquals(0, john.secondThrow()[5][6]);
+        assertEquals(1, john.strikeChances());
+    }
+
+    @Test
+    void shouldRestoreSnapshot() {
+        gameService.addThrow(gameId, 15);
+        var snapshot = estimator.snapshot();
+
+        ThrowDistributionEstimator restored = new ThrowDistributionEstimator();
+        restored.restore(snapshot);
+        restored.restore(snapshot);
+
+        var john = restored.getStatistics("John").orElseThrow();
+        assertEquals(2, john.firstThrow()[15]);
+        assertEquals(2, john.strikes());
+    }
+
+    @Test
+    void shouldSampleFromHistoryOnceKnown() {
+        SplittableRandom random = new SplittableRandom(1);
+        long[] firstThrow = new long[16];
+        firstThrow[7] = ThrowDistributionEstimator.MIN_SAMPLES;
+        estimator.restore(List.of(new ThrowDistributionEstimator.PlayerThrowStatistics("Bob", 0, 20, 0, 0,
+                firstThrow, new long[16][16], new long[16][16])));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(7, estimator.sample("Bob", 0, 15, random));
+        }
+        // Not enough history for second throws: uniform draw
+        for (int i = 0; i < 100; i++) {
+            int pins = estimator.sample("Bob", 1, 8, random);
+            assertTrue(pins >= 0 && pins <= 8);
+        }
+    }
+
+    @Test
+    void shouldFreezeDistributionOfPlayers() {
+        long[] firstThrow = new long[16];
+        firstThrow[7] = ThrowDistributionEstimator.MIN_SAMPLES;
+        estimator.restore(List.of(new ThrowDistributionEstimator.PlayerThrowStatistics("Bob", 0, 20, 0, 0,
+                firstThrow, new long[16][16], new long[16][16])));
+        ThrowDistribution frozen = estimator.freeze(List.of("Bob", "Nobody"));
+
+        firstThrow[7] = 0;
+        firstThrow[3] = 1000;
+        estimator.restore(List.of(new ThrowDistributionEstimator.PlayerThrowStatistics("Bob", 0, 1000, 0, 0,
+                firstThrow, new long[16][16], new long[16][16])));
+
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(7, frozen.sample("Bob", 0, 15, random));
+        }
+        assertEquals(ThrowDistributionEstimator.MIN_SAMPLES, frozen.version());
+        assertEquals(ThrowDistributionEstimator.MIN_SAMPLES + 1000, estimator.freeze(List.of("Bob")).version());
+    }
+}
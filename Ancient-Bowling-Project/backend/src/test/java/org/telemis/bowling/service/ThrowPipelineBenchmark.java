@@ -0,0 +1,128 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput and latency of throws applied on the calling threads, as by the synchronous
+ * {@code POST /throw}, or through {@link ThrowPipeline}. Several callers throw in the same games,
+ * so the synchronous path competes for their locks while the pipeline serializes each game on its shard.
+ * Pipeline callers keep a window of throws in flight, like request threads released until completion.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ThrowPipelineBenchmark {
+    private static final int CALLERS = 6;
+    private static final int GAMES = 40_000;
+    private static final int THROWS_PER_GAME = 30; // 2 players, 5 frames of 3 misses
+    private static final int ROUNDS = THROWS_PER_GAME / CALLERS;
+    private static final int IN_FLIGHT_PER_CALLER = 16;
+    private static final int SHARDS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    @Test
+    void synchronous() throws InterruptedException {
+        GameService gameService = new GameService();
+        String[] gameIds = startGames(gameService);
+        run("synchronous", gameIds, (throwIndex, gameId, latencies) -> {
+            long start = System.nanoTime();
+            gameService.addThrow(gameId, 0);
+            latencies[throwIndex] = System.nanoTime() - start;
+        }, () -> {});
+        assertTrue(allComplete(gameService, gameIds));
+    }
+
+    @Test
+    void pipeline() throws InterruptedException {
+        GameService gameService = new GameService();
+        String[] gameIds = startGames(gameService);
+        try (ThrowPipeline pipeline = new ThrowPipeline(gameService, SHARDS, 65_536)) {
+            ThreadLocal<Semaphore> window = ThreadLocal.withInitial(() -> new Semaphore(IN_FLIGHT_PER_CALLER));
+            CountDownLatch applied = new CountDownLatch(GAMES * THROWS_PER_GAME);
+            run("pipeline (" + SHARDS + " shards)", gameIds, (throwIndex, gameId, latencies) -> {
+                Semaphore inFlight = window.get();
+                inFlight.acquireUninterruptibly();
+                long start = System.nanoTime();
+                CompletableFuture<Boolean> completion;
+                while ((completion = pipeline.submit(gameId, 0)).isCompletedExceptionally()) {
+                    Thread.onSpinWait(); // Full, retried as a client would
+                }
+                completion.whenComplete((result, rejected) -> {
+                    latencies[throwIndex] = System.nanoTime() - start;
+                    inFlight.release();
+                    applied.countDown();
+                });
+            }, () -> assertTrue(applied.await(1, TimeUnit.MINUTES), "Throws not applied in time"));
+        }
+        assertTrue(allComplete(gameService, gameIds));
+    }
+
+    private static String[] startGames(GameService gameService) {
+        String[] gameIds = new String[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            gameIds[i] = gameService.createGame();
+            gameService.addPlayer(gameIds[i], "Player 1");
+            gameService.addPlayer(gameIds[i], "Player 2");
+            gameService.startGame(gameIds[i]);
+        }
+        return gameIds;
+    }
+
+    private static boolean allComplete(GameService gameService, String[] gameIds) {
+        return Arrays.stream(gameIds).allMatch(gameId -> gameService.getGame(gameId).isGameComplete());
+    }
+
+    /**
+     * Has every caller throw {@link #ROUNDS} times in every game, starting from a different game.
+     */
+    private static void run(String mode, String[] gameIds, ThrowCall call, Completion completion)
+            throws InterruptedException {
+        long[] latencies = new long[CALLERS * ROUNDS * GAMES];
+        CountDownLatch done = new CountDownLatch(CALLERS);
+        long start = System.nanoTime();
+        for (int caller = 0; caller < CALLERS; caller++) {
+            int first = caller * GAMES / CALLERS;
+            int offset = caller * ROUNDS * GAMES;
+            new Thread(() -> {
+                int throwIndex = offset;
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (int i = 0; i < GAMES; i++) {
+                        call.apply(throwIndex++, gameIds[(first + i) % GAMES], latencies);
+                    }
+                }
+                done.countDown();
+            }, "caller-" + caller).start();
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES), "Throws not submitted in time");
+        completion.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(latencies.length, (long) GAMES * THROWS_PER_GAME);
+
+        Arrays.sort(latencies);
+        System.out.printf("BENCHMARK: %s, %d callers: %,.0f throws/s, latency p50 %.1fµs, p99 %.1fµs, p99.9 %.1fµs, max %.1fµs%n",
+                mode, CALLERS, latencies.length / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e3);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        return sortedLatencies[(int) Math.ceil(percentile * sortedLatencies.length) - 1] / 1e3;
+    }
+
+    @FunctionalInterface
+    private interface ThrowCall {
+        void apply(int throwIndex, String gameId, long[] latencies);
+    }
+
+    @FunctionalInterface
+    private interface Completion {
+        void await() throws InterruptedException;
+    }
+}
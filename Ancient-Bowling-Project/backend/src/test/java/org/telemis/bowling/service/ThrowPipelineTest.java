@@ -0,0 +1,163 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThrowPipelineTest {
+    private GameService gameService;
+    private ThrowPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService();
+        pipeline = new ThrowPipeline(gameService, 2, 8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.close();
+    }
+
+    private String startedGame() {
+        String gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        return gameId;
+    }
+
+    @Test
+    void shouldApplyThrowsInSubmissionOrder() {
+        String gameId = startedGame();
+
+        pipeline.submit(gameId, 15);                      // John strike
+        pipeline.submit(gameId, 10);                      // Jane
+        pipeline.submit(gameId, 5).join();                // Jane spare
+
+        assertEquals(15, gameService.getGame(gameId).getPlayers().get(0).calculateScore());
+        assertEquals(15, gameService.getGame(gameId).getPlayers().get(1).calculateScore());
+    }
+
+    @Test
+    void shouldApplyResentThrowOnce() {
+        String gameId = startedGame();
+
+        assertTrue(pipeline.submit(gameId, 10, 1).join());
+        assertFalse(pipeline.submit(gameId, 10, 1).join());
+        CompletionException gap = assertThrows(CompletionException.class, () -> pipeline.submit(gameId, 5, 3).join());
+
+        assertInstanceOf(ThrowSequenceGapException.class, gap.getCause());
+        CompletionException zero = assertThrows(CompletionException.class, () -> pipeline.submit(gameId, 5, 0).join());
+        assertInstanceOf(IllegalArgumentException.class, zero.getCause());
+        assertEquals(1, gameService.getGame(gameId).getThrowCount());
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWhenThrowIsRejected() {
+        String gameId = startedGame();
+
+        CompletionException unknownGame = assertThrows(CompletionException.class,
+                () -> pipeline.submit("unknown", 5).join());
+        CompletionException invalidPins = assertThrows(CompletionException.class,
+                () -> pipeline.submit(gameId, 16).join());
+
+        assertInstanceOf(IllegalArgumentException.class, unknownGame.getCause());
+        assertInstanceOf(IllegalArgumentException.class, invalidPins.getCause());
+        pipeline.submit(gameId, 15).join(); // The game is still usable
+    }
+
+    @Test
+    void shouldPreserveOrderOfEachGameAcrossProducers() throws InterruptedException {
+        int producers = 4;
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            gameIds.add(startedGame());
+        }
+
+        // Every producer throws in every game; wraps the small ring buffer many times
+        CountDownLatch done = new CountDownLatch(producers);
+        List<CompletableFuture<Boolean>> completions = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            new Thread(() -> {
+                List<CompletableFuture<Boolean>> submitted = new ArrayList<>();
+                for (int round = 0; round < 5; round++) {
+                    for (String gameId : gameIds) {
+                        CompletableFuture<Boolean> completion;
+                        do {
+                            completion = pipeline.submit(gameId, 0);
+                        } while (isFull(completion));
+                        submitted.add(completion);
+                    }
+                }
+                synchronized (completions) {
+                    completions.addAll(submitted);
+                }
+                done.countDown();
+            }).start();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        CompletableFuture.allOf(completions.toArray(CompletableFuture[]::new)).join();
+
+        // 20 misses per game: 2 players, 3 frames of 3 throws, then John's 2 first throws
+        for (String gameId : gameIds) {
+            assertEquals(4, gameService.getGame(gameId).getPlayers().get(0).frameCount());
+            assertEquals(3, gameService.getGame(gameId).getPlayers().get(1).frameCount());
+        }
+    }
+
+    private static boolean isFull(CompletableFuture<Boolean> completion) {
+        try {
+            completion.getNow(null);
+            return false;
+        } catch (CompletionException e) {
+            return e.getCause() instanceof IllegalStateException;
+        }
+    }
+
+    @Test
+    void shouldRejectThrowsOnceClosed() throws InterruptedException {
+        String gameId = startedGame();
+        pipeline.close();
+
+        CompletionException stopped = assertThrows(CompletionException.class, () -> pipeline.submit(gameId, 5).join());
+
+        assertInstanceOf(IllegalStateException.class, stopped.getCause());
+    }
+
+    @Test
+    void shouldCompleteEveryThrowSubmittedWhileClosing() throws InterruptedException {
+        String gameId = startedGame();
+        List<CompletableFuture<Boolean>> completions = new ArrayList<>();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100_000; i++) {
+                CompletableFuture<Boolean> completion = pipeline.submit(gameId, 0);
+                synchronized (completions) {
+                    completions.add(completion);
+                }
+            }
+        });
+        producer.start();
+        pipeline.close();
+        producer.join();
+
+        for (CompletableFuture<Boolean> completion : completions) {
+            // Applied, rejected by the game, or rejected as the pipeline stopped, but never left pending
+            assertDoesNotThrow(() -> completion.handle((applied, e) -> null).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void shouldRequirePowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ThrowPipeline(gameService, 1, 100));
+    }
+}
@@ -0,0 +1,44 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Throughput of the win probability engine for 1M simulations per request.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class WinProbabilityEngineBenchmark {
+    private static final int SIMULATIONS = 1_000_000;
+    private static final int RUNS = 5;
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 6})
+    void simulateOneMillionGames(int players) {
+        GameService gameService = new GameService();
+        String gameId = gameService.createGame();
+        for (int i = 0; i < players; i++) {
+            gameService.addPlayer(gameId, "Player " + i);
+        }
+        gameService.startGame(gameId);
+        for (int i = 0; i < players * 3; i++) {
+            gameService.addThrow(gameId, 5); // Everyone has played their first frame
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        WinProbabilityEngine engine = new WinProbabilityEngine(gameService, ThrowDistribution.uniform(), cores);
+        try {
+            engine.estimate(gameId, SIMULATIONS, -1); // warm-up
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                engine.estimate(gameId, SIMULATIONS, run);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("BENCHMARK: %d players, %d cores: %,d simulations in %.2fs (%,.0f simulations/s)%n",
+                        players, cores, SIMULATIONS, seconds, SIMULATIONS / seconds);
+            }
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
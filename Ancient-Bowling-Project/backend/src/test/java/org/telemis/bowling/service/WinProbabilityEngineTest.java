@@ -0,0 +1,165 @@
+package org.telemis.bowling.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WinProbabilityEngineTest {
+    private GameService gameService;
+    private WinProbabilityEngine engine;
+    private String gameId;
+
+    @BeforeEach
+    void setUp() {
+        engine = new WinProbabilityEngine(() -> gameService, ThrowDistribution.uniform(), 4);
+        gameService = new GameService(List.of(engine));
+        gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void shouldRequireStartedGame() {
+        assertThrows(IllegalStateException.class, () -> engine.estimate(gameId, 1000, 0));
+        gameService.startGame(gameId);
+        assertThrows(IllegalArgumentException.class, () -> engine.estimate(gameId, 0, 0));
+    }
+
+    @Test
+    void shouldSplitProbabilitiesBetweenPlayers() {
+        gameService.startGame(gameId);
+        var result = engine.estimate(gameId, 20_000, 1);
+
+        assertEquals(2, result.players().size());
+        double total = result.players().get(0).probability() + result.players().get(1).probability();
+        assertEquals(1.0, total, 1e-9);
+        for (var player : result.players()) {
+            assertTrue(player.lowerBound() <= player.probability());
+            assertTrue(player.upperBound() >= player.probability());
+        }
+    }
+
+    @Test
+    void shouldBeReproducibleFromSeed() {
+        gameService.startGame(gameId);
+        var first = engine.estimate(gameId, 10_000, 42);
+
+        WinProbabilityEngine sequentialEngine = new WinProbabilityEngine(gameService, ThrowDistribution.uniform(), 1);
+        try {
+            assertEquals(first, sequentialEngine.estimate(gameId, 10_000, 42));
+        } finally {
+            sequentialEngine.shutdown();
+        }
+    }
+
+    @Test
+    void shouldDrawFromDistributionFrozenAtStart() {
+        ThrowDistributionEstimator estimator = new ThrowDistributionEstimator();
+        WinProbabilityEngine learningEngine = new WinProbabilityEngine(gameService, estimator, 2);
+        try {
+            gameService.startGame(gameId);
+            var first = learningEngine.estimate(gameId, 10_000, 42);
+            assertEquals(0, first.distributionVersion());
+
+            // Throws of the same players in other games change their distribution, not the game
+            long[] firstThrow = new long[16];
+            firstThrow[15] = 1;
+            estimator.restore(List.of(new ThrowDistributionEstimator.PlayerThrowStatistics("John", 1, 1, 0, 0,
+                    firstThrow, new long[16][16], new long[16][16])));
+            var second = learningEngine.estimate(gameId, 10_000, 42);
+            assertEquals(first.version(), second.version());
+            assertEquals(1, second.distributionVersion());
+        } finally {
+            learningEngine.shutdown();
+        }
+    }
+
+    @Test
+    void shouldFavourPlayerAhead() {
+        gameService.startGame(gameId);
+        // John strikes every frame while Jane misses, until the last frame
+        for (int frame = 0; frame < 4; frame++) {
+            gameService.addThrow(gameId, 15);
+            gameService.addThrow(gameId, 0);
+            gameService.addThrow(gameId, 0);
+            gameService.addThrow(gameId, 0);
+        }
+        var result = engine.estimate(gameId, 1000, 7);
+        assertEquals("John", result.players().get(0).name());
+        assertEquals(1.0, result.players().get(0).probability(), 1e-9);
+    }
+
+    @Test
+    void shouldCacheEstimatePerGameVersion() {
+        gameService.startGame(gameId);
+        var first = engine.estimateAsync(gameId, 5000, 3);
+        assertSame(first, engine.estimateAsync(gameId, 5000, 3));
+        long firstVersion = first.join().version();
+
+        gameService.addThrow(gameId, 5);
+        var second = engine.estimateAsync(gameId, 5000, 3);
+        assertNotSame(first, second);
+        assertEquals(firstVersion + 1, second.join().version());
+    }
+
+    @Test
+    void shouldStopWhenCancelled() {
+        gameService.startGame(gameId);
+        var estimate = engine.estimateAsync(gameId, WinProbabilityEngine.MAX_SIMULATIONS, 5);
+        estimate.cancel(false);
+
+        assertThrows(CancellationException.class, estimate::join);
+        // A cancelled estimate is not served from the cache
+        var retry = engine.estimateAsync(gameId, WinProbabilityEngine.MAX_SIMULATIONS, 5);
+        assertNotSame(estimate, retry);
+        retry.cancel(false);
+    }
+
+    @Test
+    void shouldKeepEstimateOfOlderVersionRunningForItsCallers() {
+        gameService.startGame(gameId);
+        var older = engine.estimateAsync(gameId, WinProbabilityEngine.MAX_SIMULATIONS, 5);
+
+        gameService.addThrow(gameId, 5);
+        var newer = engine.estimateAsync(gameId, WinProbabilityEngine.MAX_SIMULATIONS, 5);
+
+        assertFalse(older.isCancelled());
+        older.cancel(false);
+        newer.cancel(false);
+    }
+
+    @Test
+    void shouldForgetEstimatesOfCompletedAndDeletedGames() {
+        gameService.startGame(gameId);
+        engine.estimate(gameId, 1000, 1);
+        assertEquals(1, engine.cachedEstimates());
+
+        while (!gameService.getGame(gameId).isGameComplete()) {
+            gameService.addThrow(gameId, 0);
+        }
+        assertEquals(0, engine.cachedEstimates());
+        assertEquals(1000, engine.estimate(gameId, 1000, 1).simulations());
+        assertEquals(0, engine.cachedEstimates()); // Complete games are not cached again
+
+        String otherGameId = gameService.createGame();
+        gameService.addPlayer(otherGameId, "John");
+        gameService.addPlayer(otherGameId, "Jane");
+        gameService.startGame(otherGameId);
+        var estimate = engine.estimateAsync(otherGameId, WinProbabilityEngine.MAX_SIMULATIONS, 5);
+        gameService.deleteGame(otherGameId);
+
+        assertEquals(0, engine.cachedEstimates());
+        assertThrows(CancellationException.class, estimate::join);
+        assertThrows(IllegalArgumentException.class, () -> engine.estimate(otherGameId, 1000, 1));
+    }
+}
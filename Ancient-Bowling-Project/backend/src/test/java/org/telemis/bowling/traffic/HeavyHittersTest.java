@@ -0,0 +1,116 @@
+package org.telemis.bowling.traffic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void shouldFindTheHottestKeysAmongManyColdOnes() {
+        HeavyHitters hitters = new HeavyHitters(4, 1000, 256, 4, 16, clock::get);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int draw = random.nextInt(100);
+            if (draw < 20) {
+                hitters.record("hot-1");
+            } else if (draw < 30) {
+                hitters.record("hot-2");
+            } else if (draw < 35) {
+                hitters.record("hot-3");
+            } else {
+                hitters.record("cold-" + random.nextInt(50_000));
+            }
+        }
+
+        HeavyHitters.Ranking ranking = hitters.top(1000, 3);
+
+        assertEquals(100_000, ranking.total());
+        assertEquals(List.of("hot-1", "hot-2", "hot-3"), ranking.top().stream().map(HeavyHitters.KeyCount::key).toList());
+        long hot1 = ranking.top().get(0).count();
+        assertTrue(hot1 >= 19_000 && hot1 <= 21_000 + 100_000 * 4 / 256, "Estimate of hot-1: " + hot1);
+    }
+
+    @Test
+    void shouldCountApartKeysWithTheSameStringHashCode() {
+        HeavyHitters hitters = new HeavyHitters(1, 1000, 64, 3, 8, clock::get);
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        for (int i = 0; i < 100; i++) {
+            hitters.record("Aa");
+        }
+        hitters.record("BB");
+
+        assertEquals(List.of(new HeavyHitters.KeyCount("Aa", 100), new HeavyHitters.KeyCount("BB", 1)),
+                hitters.top(1000, 5).top());
+    }
+
+    @Test
+    void shouldForgetKeysOutsideTheWindow() {
+        HeavyHitters hitters = new HeavyHitters(3, 1000, 64, 3, 8, clock::get);
+        for (int i = 0; i < 100; i++) {
+            hitters.record("old");
+        }
+        clock.addAndGet(1000);
+        for (int i = 0; i < 10; i++) {
+            hitters.record("new");
+        }
+
+        assertEquals(List.of(new HeavyHitters.KeyCount("new", 10)), hitters.top(1000, 5).top());
+        assertEquals(List.of(new HeavyHitters.KeyCount("old", 100), new HeavyHitters.KeyCount("new", 10)),
+                hitters.top(2000, 5).top());
+
+        clock.addAndGet(2000); // The slot of "old" is now out of every window, then reused
+        hitters.record("newer");
+        assertEquals(List.of(new HeavyHitters.KeyCount("new", 10), new HeavyHitters.KeyCount("newer", 1)),
+                hitters.top(3000, 5).top());
+        assertEquals(11, hitters.top(3000, 5).total());
+    }
+
+    @Test
+    void shouldNeverUnderestimateUnderContention() throws Exception {
+        HeavyHitters hitters = new HeavyHitters(2, 60_000, 128, 4, 8, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        hitters.record("hot");
+                        hitters.record("cold-" + thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        HeavyHitters.Ranking ranking = hitters.top(60_000, 1);
+        assertEquals(80_000, ranking.total());
+        assertEquals("hot", ranking.top().get(0).key());
+        assertTrue(ranking.top().get(0).count() >= 40_000);
+    }
+
+    @Test
+    void shouldRejectInvalidWindows() {
+        HeavyHitters hitters = new HeavyHitters(3, 1000, 64, 3, 8, clock::get);
+
+        assertThrows(IllegalArgumentException.class, () -> hitters.top(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> hitters.top(3001, 5));
+        assertThrows(IllegalArgumentException.class, () -> hitters.top(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(3, 1000, 100, 3, 8, clock::get));
+    }
+}
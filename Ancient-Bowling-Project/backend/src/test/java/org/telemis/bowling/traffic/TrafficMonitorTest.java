@@ -0,0 +1,53 @@
+package org.telemis.bowling.traffic;
+
+import org.junit.jupiter.api.Test;
+import org.telemis.bowling.service.GameService;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrafficMonitorTest {
+
+    @Test
+    void shouldRankGamesByThrowsAppliedByTheService() {
+        TrafficMonitor trafficMonitor = new TrafficMonitor(4, Duration.ofMinutes(1), 64, 3, 8, () -> 0);
+        GameService gameService = new GameService(List.of(trafficMonitor));
+        String quiet = startGame(gameService);
+        String busy = startGame(gameService);
+
+        gameService.addThrow(quiet, 3);
+        for (int i = 0; i < 5; i++) {
+            gameService.addThrow(busy, 1);
+        }
+
+        HeavyHitters.Ranking ranking = trafficMonitor.hottest(Duration.ofMinutes(1), 5).gameThrows();
+        assertEquals(List.of(new HeavyHitters.KeyCount(busy, 5), new HeavyHitters.KeyCount(quiet, 1)), ranking.top());
+        assertEquals(6, ranking.total());
+    }
+
+    @Test
+    void shouldRankRequestsByGameClientAndEndpoint() {
+        TrafficMonitor trafficMonitor = new TrafficMonitor(4, Duration.ofMinutes(1), 64, 3, 8, () -> 0);
+
+        trafficMonitor.recordRequest("10.0.0.1", "7", "POST /api/games/{gameId}/throw");
+        trafficMonitor.recordRequest("10.0.0.1", "7", "POST /api/games/{gameId}/throw");
+        trafficMonitor.recordRequest("10.0.0.2", null, "GET /api/games");
+
+        TrafficMonitor.TrafficReport report = trafficMonitor.hottest(Duration.ofMinutes(1), 1);
+        assertEquals(List.of(new HeavyHitters.KeyCount("7", 2)), report.gameRequests().top());
+        assertEquals(List.of(new HeavyHitters.KeyCount("10.0.0.1", 2)), report.clientRequests().top());
+        assertEquals(List.of(new HeavyHitters.KeyCount("POST /api/games/{gameId}/throw", 2)),
+                report.endpointRequests().top());
+        assertEquals(3, report.clientRequests().total());
+    }
+
+    private static String startGame(GameService gameService) {
+        String gameId = gameService.createGame();
+        gameService.addPlayer(gameId, "John");
+        gameService.addPlayer(gameId, "Jane");
+        gameService.startGame(gameId);
+        return gameId;
+    }
+}
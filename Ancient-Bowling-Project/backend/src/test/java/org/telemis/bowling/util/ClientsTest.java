@@ -0,0 +1,21 @@
+package org.telemis.bowling.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientsTest {
+
+    @Test
+    void shouldIdentifyClientByHeaderThenAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        assertEquals("10.0.0.1", Clients.of(request, "X-Lane"));
+        assertEquals("10.0.0.1", Clients.of(request, ""));
+
+        request.addHeader("X-Lane", "lane-7");
+        assertEquals("lane-7", Clients.of(request, "X-Lane"));
+        assertEquals("10.0.0.1", Clients.of(request, null));
+    }
+}
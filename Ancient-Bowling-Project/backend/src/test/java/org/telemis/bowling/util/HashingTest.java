@@ -0,0 +1,27 @@
+package org.telemis.bowling.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashingTest {
+
+    @Test
+    void shouldSpreadConsecutiveValuesOverTheHighBits() {
+        Set<Long> buckets = new HashSet<>();
+        for (long value = 0; value < 1024; value++) {
+            buckets.add(Hashing.mix(value) >>> 56);
+        }
+        assertTrue(buckets.size() > 200, "Only " + buckets.size() + " of 256 buckets used");
+    }
+
+    @Test
+    void shouldHashKeysWithTheSameStringHashCodeApart() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(Hashing.hash("Aa"), Hashing.hash("BB"));
+        assertEquals(Hashing.hash("Aa"), Hashing.hash(new String("Aa")));
+    }
+}